@@ -25,7 +25,7 @@ import java.util.concurrent.TimeUnit
 import com.island.ohara.common.annotations.Optional
 import com.island.ohara.common.util.{CommonUtils, Releasable}
 import com.typesafe.scalalogging.Logger
-import org.apache.commons.net.ftp.{FTP, FTPClient}
+import org.apache.commons.net.ftp.{FTP, FTPClient, FTPFile, FTPReply}
 
 import scala.concurrent.duration._
 
@@ -37,12 +37,30 @@ import scala.concurrent.duration._
 trait FtpClient extends Releasable {
   def listFileNames(dir: String): Seq[String]
 
+  /**
+    * list the files and folders with their size and last modified time. MLSD is used if the server supports it since
+    * it offers the machine-readable facts in one round trip. Otherwise, LIST is used.
+    * @param dir folder path
+    * @return files and folders under the folder
+    */
+  def listFiles(dir: String): Seq[FtpFile]
+
   /**
     * open an input stream from a existent file. If file doesn't exist, an IllegalArgumentException will be thrown.
     * @param path file path
     * @return input stream
     */
-  def open(path: String): InputStream
+  def open(path: String): InputStream = open(path, 0)
+
+  /**
+    * open an input stream from a existent file and then start to read from the offset. The offset is sent by REST
+    * command so the bytes before the offset are not transferred. If file doesn't exist, an IllegalArgumentException
+    * will be thrown.
+    * @param path file path
+    * @param offset the offset of first byte to read
+    * @return input stream
+    */
+  def open(path: String, offset: Long): InputStream
 
   /**
     * create an new file. If file already exists, an IllegalArgumentException will be thrown.
@@ -155,6 +173,13 @@ trait FtpClient extends Releasable {
     */
   def fileType(path: String): FileType
 
+  /**
+    * get the size of an existent file. If file doesn't exist, an IllegalArgumentException will be thrown.
+    * @param path file path
+    * @return the number of bytes of file
+    */
+  def fileSize(path: String): Long
+
   /**
     * @return ftp server's status
     */
@@ -289,7 +314,8 @@ object FtpClient {
           else throw new IllegalArgumentException("still fail...but there is no root cause ...")
         }
         override def listFileNames(dir: String): Seq[String] = retry(() => client().listFileNames(dir))
-        override def open(path: String): InputStream = retry(() => client().open(path))
+        override def listFiles(dir: String): Seq[FtpFile] = retry(() => client().listFiles(dir))
+        override def open(path: String, offset: Long): InputStream = retry(() => client().open(path, offset))
         override def create(path: String): OutputStream = retry(() => client().create(path))
         override def append(path: String): OutputStream = retry(() => client().append(path))
         override def moveFile(from: String, to: String): Unit = retry(() => client().moveFile(from, to))
@@ -298,6 +324,7 @@ object FtpClient {
         override def tmpFolder(): String = client().tmpFolder()
         override def exist(path: String): Boolean = retry(() => client().exist(path))
         override def fileType(path: String): FileType = retry(() => client().fileType(path))
+        override def fileSize(path: String): Long = retry(() => client().fileSize(path))
         override def status(): String = retry(() => client().status())
         override def workingFolder(): String = retry(() => client().workingFolder())
         override def close(): Unit = client().close()
@@ -321,11 +348,34 @@ object FtpClient {
 
       override def listFileNames(dir: String): Seq[String] = connectIfNeeded().listFiles(dir).map(_.getName).toSeq
 
-      override def open(path: String): InputStream = {
+      override def listFiles(dir: String): Seq[FtpFile] = {
+        val client = connectIfNeeded()
+        val mlsdFiles = client.mlistDir(dir)
+        // the server which doesn't support MLSD replies an error code
+        val files: Array[FTPFile] =
+          if (FTPReply.isPositiveCompletion(client.getReplyCode)) mlsdFiles else client.listFiles(dir)
+        files
+          .filter(file => file != null && file.getName != "." && file.getName != "..")
+          .filter(file => file.isFile || file.isDirectory)
+          .map(
+            file =>
+              FtpFile(
+                name = file.getName,
+                size = file.getSize,
+                lastModified = Option(file.getTimestamp).map(_.getTimeInMillis).getOrElse(-1L),
+                fileType = if (file.isDirectory) FileType.FOLDER else FileType.FILE
+            ))
+          .toSeq
+      }
+
+      override def open(path: String, offset: Long): InputStream = {
+        CommonUtils.requireNonNegativeLong(offset)
         val client = connectIfNeeded()
         client.setFileType(FTP.BINARY_FILE_TYPE)
         if (nonExist(path)) throw new IllegalArgumentException(s"$path doesn't exist")
-        val inputStream = client.retrieveFileStream(path)
+        client.setRestartOffset(offset)
+        val inputStream = try client.retrieveFileStream(path)
+        finally client.setRestartOffset(0)
         if (inputStream == null)
           throw new IllegalStateException(s"Failed to open $path because from ${client.getReplyCode}")
         new InputStream {
@@ -473,6 +523,14 @@ object FtpClient {
         } finally client.cwd(current)
       } else FileType.NONEXISTENT
 
+      override def fileSize(path: String): Long = {
+        // the listing of a file path returns the file itself
+        val files = connectIfNeeded().listFiles(path)
+        if (files == null || files.length != 1 || !files.head.isFile)
+          throw new IllegalArgumentException(s"$path is not a file")
+        files.head.getSize
+      }
+
       override def status(): String = connectIfNeeded().getStatus
 
       override def workingFolder(): String = Option(connectIfNeeded().printWorkingDirectory())
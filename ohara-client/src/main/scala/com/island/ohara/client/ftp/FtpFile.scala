@@ -0,0 +1,26 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.client.ftp
+
+/**
+  * the status of a file (or folder) listed from ftp server.
+  * @param name file name
+  * @param size the number of bytes of file
+  * @param lastModified the last modified time (in milliseconds). -1 if the server doesn't offer it
+  * @param fileType either FILE or FOLDER
+  */
+final case class FtpFile(name: String, size: Long, lastModified: Long, fileType: FileType)
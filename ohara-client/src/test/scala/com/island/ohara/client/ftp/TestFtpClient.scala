@@ -126,6 +126,41 @@ class TestFtpClient extends MediumTest with Matchers {
     client.fileType(path) shouldBe FileType.FOLDER
   }
 
+  @Test
+  def testFileSize(): Unit = {
+    val path = methodName
+    if (client.exist(path)) client.delete(path)
+    an[IllegalArgumentException] should be thrownBy client.fileSize(path)
+
+    client.upload(path, ByteUtils.toBytes(methodName))
+    client.fileSize(path) shouldBe ByteUtils.toBytes(methodName).length
+    client.delete(path)
+
+    client.mkdir(path)
+    an[IllegalArgumentException] should be thrownBy client.fileSize(path)
+  }
+
+  @Test
+  def testListFiles(): Unit = {
+    val data = ByteUtils.toBytes(methodName)
+    val folder = s"/$methodName"
+    if (client.exist(s"$folder/file")) client.delete(s"$folder/file")
+    if (client.exist(s"$folder/folder")) client.delete(s"$folder/folder")
+    if (client.nonExist(folder)) client.mkdir(folder)
+    client.listFiles(folder).size shouldBe 0
+    client.upload(s"$folder/file", data)
+    client.mkdir(s"$folder/folder")
+
+    val files = client.listFiles(folder)
+    files.size shouldBe 2
+    val file = files.find(_.name == "file").get
+    file.fileType shouldBe FileType.FILE
+    file.size shouldBe data.length
+    file.lastModified should be > 0L
+    files.find(_.name == "folder").get.fileType shouldBe FileType.FOLDER
+    files.map(_.name).toSet shouldBe client.listFileNames(folder).toSet
+  }
+
   @Test
   def testDeleteFolder(): Unit = {
     val data = ByteUtils.toBytes(methodName)
@@ -21,6 +21,7 @@ import java.util
 import com.island.ohara.client.ftp.FtpClient
 import com.island.ohara.common.data.Column
 import com.island.ohara.common.setting.SettingDef
+import com.island.ohara.kafka.connector.text.TextConnector
 import com.island.ohara.kafka.connector.{ConnectorVersion, RowSourceConnector, RowSourceTask, TaskSetting}
 import org.slf4j.{Logger, LoggerFactory}
 
@@ -48,7 +49,8 @@ class FtpSource extends RowSourceConnector {
               hostname = props.hostname,
               port = props.port,
               user = props.user,
-              password = props.password
+              password = props.password,
+              processingFolder = props.processingFolder
             ).toMap.asJava)
       )
       .asJava
@@ -59,6 +61,7 @@ class FtpSource extends RowSourceConnector {
     this.props = FtpSourceProps(settings)
     this.schema = settings.columns.asScala
     if (schema.exists(_.order == 0)) throw new IllegalArgumentException("column order must be bigger than zero")
+    TextConnector.checkSourceSettings(settings)
 
     val ftpClient =
       FtpClient.builder().hostname(props.hostname).port(props.port).user(props.user).password(props.password).build()
@@ -67,6 +70,7 @@ class FtpSource extends RowSourceConnector {
         throw new IllegalArgumentException(s"${props.inputFolder} doesn't exist")
       if (ftpClient.nonExist(props.errorFolder)) ftpClient.mkdir(props.errorFolder)
       props.completedFolder.foreach(folder => if (ftpClient.nonExist(folder)) ftpClient.mkdir(folder))
+      props.processingFolder.foreach(folder => if (ftpClient.nonExist(folder)) ftpClient.mkdir(folder))
     } finally ftpClient.close()
   }
 
@@ -76,7 +80,7 @@ class FtpSource extends RowSourceConnector {
 
   override protected def _version: ConnectorVersion = ConnectorVersion.DEFAULT
 
-  override protected def _definitions(): util.List[SettingDef] = Seq(
+  override protected def _definitions(): util.List[SettingDef] = (Seq(
     SettingDef
       .builder()
       .displayName("input folder")
@@ -93,6 +97,16 @@ class FtpSource extends RowSourceConnector {
       .optional()
       .key(FTP_COMPLETED_FOLDER)
       .build(),
+    SettingDef
+      .builder()
+      .displayName("processing folder")
+      .documentation("If this folder is defined, the tasks claim the input files by moving them to their own folders" +
+        " under this folder. Hence, the idle task can take more files. Otherwise, the input files are assigned to" +
+        " tasks by the hash of file name")
+      .valueType(SettingDef.Type.STRING)
+      .optional()
+      .key(FTP_PROCESSING_FOLDER)
+      .build(),
     SettingDef
       .builder()
       .displayName("error folder")
@@ -136,8 +150,8 @@ class FtpSource extends RowSourceConnector {
       .documentation("password of ftp server")
       .valueType(SettingDef.Type.PASSWORD)
       .key(FTP_PASSWORD)
-      .build(),
-  ).asJava
+      .build()
+  ) ++ TextConnector.SOURCE_DEFINITIONS_DEFAULT.asScala).asJava
 }
 
 object FtpSource {
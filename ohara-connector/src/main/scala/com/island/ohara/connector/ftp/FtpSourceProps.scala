@@ -26,7 +26,8 @@ case class FtpSourceProps(inputFolder: String,
                           hostname: String,
                           port: Int,
                           user: String,
-                          password: String) {
+                          password: String,
+                          processingFolder: Option[String] = None) {
   def toMap: Map[String, String] = Map(
     FTP_INPUT -> inputFolder,
     FTP_COMPLETED_FOLDER -> completedFolder.getOrElse(""),
@@ -35,7 +36,8 @@ case class FtpSourceProps(inputFolder: String,
     FTP_HOSTNAME -> hostname,
     FTP_PORT -> port.toString,
     FTP_USER_NAME -> user,
-    FTP_PASSWORD -> password
+    FTP_PASSWORD -> password,
+    FTP_PROCESSING_FOLDER -> processingFolder.getOrElse("")
   ).filter(_._2.nonEmpty)
 }
 
@@ -48,6 +50,8 @@ object FtpSourceProps {
     hostname = settings.stringValue(FTP_HOSTNAME),
     port = settings.intValue(FTP_PORT),
     user = settings.stringValue(FTP_USER_NAME),
-    password = settings.stringValue(FTP_PASSWORD)
+    password = settings.stringValue(FTP_PASSWORD),
+    processingFolder =
+      Option(settings.stringOption(FTP_PROCESSING_FOLDER).orElse(null)).filterNot(CommonUtils.isEmpty)
   )
 }
@@ -18,15 +18,21 @@ package com.island.ohara.connector.ftp
 
 import java.io.InputStreamReader
 import java.nio.charset.Charset
-import java.util.Collections
+import java.nio.file.Paths
 import java.util
+import java.util.Optional
 
-import com.island.ohara.client.ftp.FtpClient
+import com.island.ohara.client.ftp.{FileType, FtpClient}
 import com.island.ohara.common.util.{CommonUtils, Releasable}
 import com.island.ohara.connector.ftp.FtpSource.LOG
 import com.island.ohara.kafka.connector._
-import com.island.ohara.kafka.connector.text.{TextFileSystem, TextSourceConverterFactory, TextSourceTask}
-import TextSourceConverterFactory.TextType
+import com.island.ohara.kafka.connector.text.{
+  FileInfo,
+  TextCompression,
+  TextFileSystem,
+  TextSourceConverterFactory,
+  TextSourceTask
+}
 
 import scala.collection.JavaConverters._
 
@@ -38,7 +44,7 @@ import scala.collection.JavaConverters._
 class FtpSourceTask extends TextSourceTask {
 
   override def getConverterFactory(config: TaskSetting): TextSourceConverterFactory =
-    TextSourceConverterFactory.of(config, TextType.CSV)
+    TextSourceConverterFactory.of(config)
 
   override def getFileSystem(config: TaskSetting): TextFileSystem = new TextFileSystem {
     private[this] val props: FtpSourceTaskProps = FtpSourceTaskProps(config)
@@ -48,19 +54,81 @@ class FtpSourceTask extends TextSourceTask {
     if (props.inputFolder.isEmpty)
       throw new IllegalArgumentException(s"invalid input:${props.inputFolder.mkString(",")}")
 
-    override def listInputFiles(): util.Collection[String] = try ftpClient
-      .listFileNames(props.inputFolder)
-      .map(CommonUtils.path(props.inputFolder, _))
-      .filter(_.hashCode % props.total == props.hash)
-      .asJava
-    catch {
-      case e: Throwable =>
-        LOG.error(s"failed to list ${props.inputFolder}", e)
-        Collections.emptyList()
+    /**
+      * the folder storing the files claimed by this task. The input files are assigned by hash if it is not defined.
+      */
+    private[this] val claimedFolder: Option[String] =
+      props.processingFolder.map(folder => CommonUtils.path(folder, props.hash.toString))
+    claimedFolder.foreach(folder => if (ftpClient.nonExist(folder)) ftpClient.mkdir(folder))
+
+    /**
+      * the files claimed by this task. The first task also takes over the claimed files of the removed tasks.
+      */
+    private[this] def claimedFiles(): Seq[FileInfo] = props.processingFolder
+      .map { processingFolder =>
+        val folders =
+          if (props.hash == 0)
+            ftpClient
+              .listFileNames(processingFolder)
+              .filter(name => name.nonEmpty && name.forall(Character.isDigit) && name.toInt >= props.total)
+              .map(CommonUtils.path(processingFolder, _)) :+ claimedFolder.get
+          else Seq(claimedFolder.get)
+        folders.flatMap(listFiles)
+      }
+      .getOrElse(Seq.empty)
+
+    /**
+      * list the files by a single MLSD so the size and last modified time are offered with the names.
+      */
+    private[this] def listFiles(folder: String): Seq[FileInfo] =
+      ftpClient
+        .listFiles(folder)
+        .filter(_.fileType == FileType.FILE)
+        .map(file => FileInfo.of(CommonUtils.path(folder, file.name), file.size, file.lastModified))
+
+    /**
+      * NOTED: the listing error is thrown so the caller can keep the files listed previously.
+      */
+    override def listInputFileInfos(): util.Collection[FileInfo] = {
+      val inputFiles = listFiles(props.inputFolder)
+      // the claimed files are processed first
+      if (props.processingFolder.isDefined) (claimedFiles() ++ inputFiles).asJava
+      else inputFiles.filter(_.path.hashCode % props.total == props.hash).asJava
     }
 
-    override def createReader(path: String): InputStreamReader =
-      new InputStreamReader(ftpClient.open(path), Charset.forName(props.encode))
+    override def listInputFiles(): util.Collection[String] = listInputFileInfos().asScala.map(_.path).toSeq.asJava
+
+    /**
+      * claim the input file by renaming it into the folder of this task. The rename is atomic so only one task can
+      * claim the file.
+      */
+    override def claim(path: String): Optional[String] = props.processingFolder
+      .map { processingFolder =>
+        if (Paths.get(path).startsWith(processingFolder)) Optional.of(path)
+        else {
+          val claimedPath = CommonUtils.replaceParent(claimedFolder.get, path)
+          try {
+            ftpClient.moveFile(path, claimedPath)
+            Optional.of(claimedPath)
+          } catch {
+            case e: Throwable =>
+              LOG.debug(s"failed to claim $path. It may be claimed by another task", e)
+              Optional.empty[String]()
+          }
+        }
+      }
+      .getOrElse(Optional.of(path))
+
+    override def createReader(path: String): InputStreamReader = {
+      val input = ftpClient.open(path)
+      // the pending transfer must be completed. Otherwise, the ftp client is unable to handle other commands
+      try new InputStreamReader(TextCompression.decompress(path, input), Charset.forName(props.encode))
+      catch {
+        case e: Throwable =>
+          Releasable.close(input)
+          throw e
+      }
+    }
 
     override def handleErrorFile(path: String): Unit = try {
       val outputPath = CommonUtils.replaceParent(props.errorFolder, path)
@@ -28,7 +28,8 @@ case class FtpSourceTaskProps(hash: Int,
                               hostname: String,
                               port: Int,
                               user: String,
-                              password: String) {
+                              password: String,
+                              processingFolder: Option[String] = None) {
   def toMap: Map[String, String] = Map(
     FTP_HASH -> hash.toString,
     FTP_TOTAL -> total.toString,
@@ -39,7 +40,8 @@ case class FtpSourceTaskProps(hash: Int,
     FTP_HOSTNAME -> hostname,
     FTP_PORT -> port.toString,
     FTP_USER_NAME -> user,
-    FTP_PASSWORD -> password
+    FTP_PASSWORD -> password,
+    FTP_PROCESSING_FOLDER -> processingFolder.getOrElse("")
   ).filter(_._2.nonEmpty)
 }
 
@@ -54,6 +56,8 @@ object FtpSourceTaskProps {
     hostname = settings.stringValue(FTP_HOSTNAME),
     port = settings.intValue(FTP_PORT),
     user = settings.stringValue(FTP_USER_NAME),
-    password = settings.stringValue(FTP_PASSWORD)
+    password = settings.stringValue(FTP_PASSWORD),
+    processingFolder =
+      Option(settings.stringOption(FTP_PROCESSING_FOLDER).orElse(null)).filterNot(CommonUtils.isEmpty)
   )
 }
@@ -91,6 +91,25 @@ class FtpStorage(ftpClient: FtpClient) extends Storage {
     */
   override def open(path: String): InputStream = ftpClient.open(path)
 
+  /**
+    * Open for reading an file at the given path from the given offset. The offset is sent by REST command so the
+    * bytes before the offset are not transferred.
+    *
+    * <p>NOTED: ftp storage does not support multipart writes since a ftp connection can't transfer many files at
+    * the same time.
+    *
+    * @param path the path of the file to be read.
+    * @param offset the offset of first byte to be read.
+    * @throws OharaException if the offset is bigger than the size of file.
+    * @return an input stream with the requested file.
+    */
+  override def open(path: String, offset: Long): InputStream = {
+    // the ftp server accepts the offset past the end of file and then returns nothing
+    val size = ftpClient.fileSize(path)
+    if (offset > size) throw new OharaException(s"$offset is out of $path (size: $size)")
+    ftpClient.open(path, offset)
+  }
+
   /**
     * Delete the given file or folder.
     *
@@ -23,6 +23,7 @@ package object ftp {
   val FTP_INPUT = "ftp.input.folder"
   val FTP_COMPLETED_FOLDER = "ftp.completed.folder"
   val FTP_ERROR = "ftp.error.folder"
+  val FTP_PROCESSING_FOLDER = "ftp.processing.folder"
   val FTP_HASH = "ftp.task.hash"
   val FTP_TOTAL = "ftp.task.count"
   val FTP_HOSTNAME = "ftp.hostname"
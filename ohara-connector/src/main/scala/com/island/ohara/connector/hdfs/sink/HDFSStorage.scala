@@ -23,7 +23,8 @@ import java.util
 import java.util.Collections
 
 import com.island.ohara.common.exception.{OharaException, OharaFileAlreadyExistsException}
-import com.island.ohara.kafka.connector.storage.Storage
+import com.island.ohara.common.util.{CommonUtils, Releasable}
+import com.island.ohara.kafka.connector.storage.{MultipartWriter, StagedMultipartWriter, Storage}
 import com.typesafe.scalalogging.Logger
 import org.apache.hadoop.fs.{FileAlreadyExistsException, FileSystem, Path, PathFilter, RemoteIterator}
 
@@ -75,6 +76,42 @@ class HDFSStorage(fileSystem: FileSystem) extends Storage {
 
   override def open(path: String): InputStream = fileSystem.open(new Path(path))
 
+  /**
+    * Open the file and seek to the offset. The blocks before the offset are not read.
+    */
+  override def open(path: String, offset: Long): InputStream = {
+    CommonUtils.requireNonNegativeLong(offset)
+    val input = fileSystem.open(new Path(path))
+    try {
+      if (offset > 0) input.seek(offset)
+      input
+    } catch {
+      case e: Throwable =>
+        Releasable.close(input)
+        throw new OharaException(e)
+    }
+  }
+
+  /**
+    * The parts are written to the same folder of target file, and then they are composed by hdfs concat. The concat
+    * is a metadata operation so the data is not copied. If the file system does not support concat (for example,
+    * the local file system), the parts are copied to the target file.
+    */
+  override def createMultipart(path: String): MultipartWriter = new StagedMultipartWriter(this, path) {
+    override protected def compose(partPaths: util.List[String], target: String): Unit = {
+      val parts = partPaths.asScala.map(new Path(_))
+      val concatenated = try {
+        if (parts.size > 1) fileSystem.concat(parts.head, parts.tail.toArray)
+        true
+      } catch {
+        case _: UnsupportedOperationException => false
+      }
+      if (!concatenated) super.compose(partPaths, target)
+      else if (!fileSystem.rename(parts.head, new Path(target)))
+        throw new OharaException(s"failed to rename ${parts.head} to $target")
+    }
+  }
+
   override def delete(path: String): Unit = if (exists(path)) fileSystem.delete(new Path(path), true)
 
   override def move(sourcePath: String, targetPath: String): Boolean = {
@@ -102,5 +139,10 @@ class HDFSStorage(fileSystem: FileSystem) extends Storage {
 
   override def mkdirs(path: String): Unit = fileSystem.mkdirs(new Path(path))
 
+  /**
+    * the hdfs FileSystem is thread-safe so the files can be written and committed concurrently.
+    */
+  override def threadSafe(): Boolean = true
+
   override def close(): Unit = fileSystem.close()
 }
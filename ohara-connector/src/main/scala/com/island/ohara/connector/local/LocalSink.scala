@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.connector.local
+
+import java.util
+
+import com.island.ohara.kafka.connector.csv.CsvSinkConnector
+import com.island.ohara.kafka.connector.{ConnectorVersion, RowSinkTask, TaskSetting}
+
+import scala.collection.JavaConverters._
+
+/**
+  * Write the data of topics to the local disk (or a mounted storage, for example, NFS) as csv files. The files are
+  * stored in the topics folder. It is similar to hdfs sink but it doesn't need any external service, so it is useful
+  * to archive the data at disk speed and to test the sink connectors.
+  */
+class LocalSink extends CsvSinkConnector {
+  private[this] var settings: TaskSetting = _
+
+  override protected[local] def _start(settings: TaskSetting): Unit = {
+    this.settings = settings
+  }
+
+  override protected def _stop(): Unit = {
+    //    do nothing
+  }
+
+  override protected def _taskClass(): Class[_ <: RowSinkTask] = classOf[LocalSinkTask]
+
+  override protected def _taskSettings(maxTasks: Int): util.List[TaskSetting] = Seq.fill(maxTasks) { settings }.asJava
+
+  override protected def _version: ConnectorVersion = ConnectorVersion.DEFAULT
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.connector.local
+
+import java.nio.file.{Files, Paths}
+import java.util
+
+import com.island.ohara.common.setting.SettingDef
+import com.island.ohara.kafka.connector.text.TextConnector
+import com.island.ohara.kafka.connector.{ConnectorVersion, RowSourceConnector, RowSourceTask, TaskSetting}
+
+import scala.collection.JavaConverters._
+
+/**
+  * Move files from local disk (or a mounted storage) to Kafka topics. The file format must be csv file. It is similar to
+  * ftp source but it doesn't need a ftp server.
+  */
+class LocalSource extends RowSourceConnector {
+  private[this] var settings: TaskSetting = _
+
+  override protected def _taskClass(): Class[_ <: RowSourceTask] = classOf[LocalSourceTask]
+
+  override protected def _taskSettings(maxTasks: Int): util.List[TaskSetting] =
+    (0 until maxTasks)
+      .map(index => settings.append(Map(LOCAL_HASH -> index.toString, LOCAL_TOTAL -> maxTasks.toString).asJava))
+      .asJava
+
+  override protected[local] def _start(settings: TaskSetting): Unit = {
+    this.settings = settings
+    if (settings.columns.asScala.exists(_.order == 0))
+      throw new IllegalArgumentException("column order must be bigger than zero")
+    TextConnector.checkSourceSettings(settings)
+    val inputFolder = settings.stringValue(LOCAL_INPUT)
+    if (!Files.isDirectory(Paths.get(inputFolder))) throw new IllegalArgumentException(s"$inputFolder doesn't exist")
+  }
+
+  override protected def _stop(): Unit = {
+    //    do nothing
+  }
+
+  override protected def _version: ConnectorVersion = ConnectorVersion.DEFAULT
+
+  override protected def _definitions(): util.List[SettingDef] = (Seq(
+    SettingDef
+      .builder()
+      .displayName("input folder")
+      .documentation("local source connector will load csv file from this folder")
+      .valueType(SettingDef.Type.STRING)
+      .key(LOCAL_INPUT)
+      .build(),
+    SettingDef
+      .builder()
+      .displayName("completed folder")
+      .documentation("this folder is used to store the completed files. If you don't define a folder," +
+        " all completed files will be deleted")
+      .valueType(SettingDef.Type.STRING)
+      .optional()
+      .key(LOCAL_COMPLETED_FOLDER)
+      .build(),
+    SettingDef
+      .builder()
+      .displayName("error folder")
+      .documentation("this folder is used to keep the invalid file. For example, non-csv file")
+      .valueType(SettingDef.Type.STRING)
+      .key(LOCAL_ERROR)
+      .build(),
+    SettingDef
+      .builder()
+      .displayName("csv file encode")
+      .documentation("The encode is used to parse input csv files")
+      .valueType(SettingDef.Type.STRING)
+      .key(LOCAL_ENCODE)
+      .optional(LOCAL_ENCODE_DEFAULT)
+      .build()
+  ) ++ TextConnector.SOURCE_DEFINITIONS_DEFAULT.asScala).asJava
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.connector.local
+
+import java.nio.charset.Charset
+
+import com.island.ohara.common.util.CommonUtils
+import com.island.ohara.kafka.connector.TaskSetting
+import com.island.ohara.kafka.connector.text.{
+  LocalTextFileSystem,
+  TextFileSystem,
+  TextSourceConverterFactory,
+  TextSourceTask
+}
+
+/**
+  * Move files from local folder to Kafka topics. The files are assigned to tasks by the hash of path.
+  */
+class LocalSourceTask extends TextSourceTask {
+
+  override def getConverterFactory(config: TaskSetting): TextSourceConverterFactory =
+    TextSourceConverterFactory.of(config)
+
+  override def getFileSystem(config: TaskSetting): TextFileSystem = {
+    val hash = config.intValue(LOCAL_HASH)
+    val total = config.intValue(LOCAL_TOTAL)
+    val builder = LocalTextFileSystem
+      .builder()
+      .inputFolder(config.stringValue(LOCAL_INPUT))
+      .errorFolder(config.stringValue(LOCAL_ERROR))
+      .encode(Charset.forName(config.stringOption(LOCAL_ENCODE).orElse(LOCAL_ENCODE_DEFAULT)))
+      .filter(path => Math.abs(path.hashCode % total) == hash)
+    val completedFolder = config.stringOption(LOCAL_COMPLETED_FOLDER).orElse(null)
+    if (!CommonUtils.isEmpty(completedFolder)) builder.completedFolder(completedFolder)
+    builder.build()
+  }
+}
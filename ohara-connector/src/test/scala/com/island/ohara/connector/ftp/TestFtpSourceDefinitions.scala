@@ -19,6 +19,7 @@ package com.island.ohara.connector.ftp
 import com.island.ohara.common.rule.SmallTest
 import com.island.ohara.common.setting.SettingDef
 import com.island.ohara.common.setting.SettingDef.Reference
+import com.island.ohara.kafka.connector.text.TextConnector
 import org.junit.Test
 import org.scalatest.Matchers
 
@@ -113,4 +114,37 @@ class TestFtpSourceDefinitions extends SmallTest with Matchers {
     definition.reference() shouldBe Reference.NONE
     definition.valueType() shouldBe SettingDef.Type.PASSWORD
   }
+
+  @Test
+  def checkWorkers(): Unit = {
+    val definition = ftpSource.definitions().asScala.find(_.key() == TextConnector.WORKERS_CONFIG).get
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe TextConnector.WORKERS_DEFAULT.toString
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.INT
+  }
+
+  @Test
+  def checkListingTtl(): Unit = {
+    val definition = ftpSource.definitions().asScala.find(_.key() == TextConnector.LISTING_TTL_CONFIG).get
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe null
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.DURATION
+  }
+
+  @Test
+  def checkType(): Unit = {
+    val definition = ftpSource.definitions().asScala.find(_.key() == TextConnector.TYPE_CONFIG).get
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe TextConnector.TYPE_DEFAULT
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.STRING
+  }
 }
@@ -175,6 +175,26 @@ class TestFtpSourceTask extends SmallTest with Matchers {
     fileSystem.listInputFiles().size() shouldBe 3
   }
 
+  @Test
+  def testListInputFileInfos(): Unit = {
+    val data = (0 to 100).map(_.toString)
+    val ftpClient = createFtpClient()
+    try {
+      ftpClient.attach(CommonUtils.path(props.inputFolder, "file"), data)
+      // the folder is not an input file
+      ftpClient.mkdir(CommonUtils.path(props.inputFolder, "folder"))
+    } finally ftpClient.close()
+
+    val fileSystem = createFileSystem()
+    val files = fileSystem.listInputFileInfos().asScala.toSeq
+    files.size shouldBe 1
+    files.head.path shouldBe CommonUtils.path(props.inputFolder, "file")
+    // each line is followed by a line separator
+    files.head.size shouldBe data.map(_.length + System.lineSeparator().length).sum
+    files.head.lastModified should be > 0L
+    fileSystem.listInputFiles().asScala.toSeq shouldBe files.map(_.path)
+  }
+
   @Test
   def testHandleCompletedFile(): Unit = {
     val path = CommonUtils.path(props.inputFolder, methodName)
@@ -18,9 +18,12 @@ package com.island.ohara.connector.ftp
 
 import com.island.ohara.common.rule.SmallTest
 import com.island.ohara.common.util.CommonUtils
+import com.island.ohara.kafka.connector.TaskSetting
 import org.junit.Test
 import org.scalatest.Matchers
 
+import scala.collection.JavaConverters._
+
 class TestFtpSourceTaskProps extends SmallTest with Matchers {
 
   @Test
@@ -75,4 +78,24 @@ class TestFtpSourceTaskProps extends SmallTest with Matchers {
     ).toMap
     props.contains(FTP_COMPLETED_FOLDER) shouldBe false
   }
+
+  @Test
+  def testProcessingFolder(): Unit = {
+    val processingFolder = CommonUtils.randomString()
+    val props = FtpSourceTaskProps(
+      hash = 22,
+      total = 33,
+      inputFolder = CommonUtils.randomString(),
+      completedFolder = None,
+      errorFolder = CommonUtils.randomString(),
+      encode = CommonUtils.randomString(),
+      hostname = CommonUtils.randomString(),
+      port = 22,
+      user = CommonUtils.randomString(),
+      password = CommonUtils.randomString(),
+      processingFolder = Some(processingFolder)
+    ).toMap
+    props(FTP_PROCESSING_FOLDER) shouldBe processingFolder
+    FtpSourceTaskProps(TaskSetting.of(props.asJava)).processingFolder shouldBe Some(processingFolder)
+  }
 }
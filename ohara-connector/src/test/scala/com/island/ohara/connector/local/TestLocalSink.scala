@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.connector.local
+
+import java.io.{BufferedReader, File, InputStream, InputStreamReader}
+import java.nio.charset.StandardCharsets
+import java.nio.file.{Files, Path, Paths}
+import java.time.Duration
+import java.util.zip.GZIPInputStream
+
+import com.island.ohara.client.kafka.WorkerClient
+import com.island.ohara.common.data.{Cell, Column, DataType, Row, Serializer}
+import com.island.ohara.common.setting.{ConnectorKey, TopicKey}
+import com.island.ohara.common.util.CommonUtils
+import com.island.ohara.connector.ftp.FtpUtils
+import com.island.ohara.kafka.connector.csv.CsvConnector
+import com.island.ohara.kafka.{BrokerClient, Producer}
+import com.island.ohara.testing.With3Brokers3Workers
+import org.junit.{After, BeforeClass, Test}
+import org.scalatest.Matchers
+
+import scala.collection.JavaConverters._
+import scala.concurrent.ExecutionContext.Implicits.global
+import scala.concurrent.duration._
+import scala.concurrent.{Await, Future}
+
+object TestLocalSink extends With3Brokers3Workers with Matchers {
+
+  private val TOPIC = TopicKey.of(CommonUtils.randomString(5), CommonUtils.randomString(5))
+
+  private val data = Row.of(Cell.of("a", "abc"), Cell.of("b", 123), Cell.of("c", true))
+
+  private val dataCount = 1000
+
+  @BeforeClass
+  def init(): Unit = {
+    val client = BrokerClient.of(testUtil.brokersConnProps)
+    val topicName = TOPIC.topicNameOnKafka
+    try {
+      if (client.exist(topicName)) client.deleteTopic(topicName)
+      client.topicCreator().numberOfPartitions(1).numberOfReplications(1).topicName(topicName).create()
+    } finally client.close()
+
+    val producer = Producer
+      .builder[Row, Array[Byte]]()
+      .connectionProps(testUtil.brokersConnProps)
+      .keySerializer(Serializer.ROW)
+      .valueSerializer(Serializer.BYTES)
+      .build()
+    try {
+      0 until dataCount foreach (_ => producer.sender().key(data).topicName(topicName).send())
+      producer.flush()
+    } finally producer.close()
+  }
+}
+
+class TestLocalSink extends With3Brokers3Workers with Matchers {
+
+  private[this] val workerClient = WorkerClient(testUtil.workersConnProps)
+
+  private[this] val TOPIC = TestLocalSink.TOPIC
+
+  private[this] val data = TestLocalSink.data
+
+  private[this] val schema: Seq[Column] = Seq(
+    Column.builder().name("a").dataType(DataType.STRING).order(1).build(),
+    Column.builder().name("b").dataType(DataType.INT).order(2).build(),
+    Column.builder().name("c").dataType(DataType.BOOLEAN).order(3).build()
+  )
+
+  private[this] val topicsDir: File = CommonUtils.createTempFolder(CommonUtils.randomString(5))
+
+  private[this] val props: Map[String, String] = Map(
+    CsvConnector.TOPICS_DIR_CONFIG -> topicsDir.getPath,
+    CsvConnector.FILE_NEED_HEADER_CONFIG -> "false"
+  )
+
+  private[this] def result[T](f: Future[T]): T = Await.result(f, 10 seconds)
+
+  private[this] def randomConnectorKey() = ConnectorKey.of(CommonUtils.randomString(5), CommonUtils.randomString(5))
+
+  private[this] def createConnector(connectorKey: ConnectorKey, settings: Map[String, String]): Unit = result(
+    workerClient
+      .connectorCreator()
+      .topicKey(TOPIC)
+      .connectorClass(classOf[LocalSink])
+      .numberOfTasks(1)
+      .connectorKey(connectorKey)
+      .columns(schema)
+      .settings(settings)
+      .create())
+
+  private[this] def committedFolder: Path = Paths.get(topicsDir.getPath, TOPIC.topicNameOnKafka(), "partition0")
+
+  private[this] def listCommittedFiles(folder: Path): Seq[Path] =
+    if (Files.isDirectory(folder))
+      Files.list(folder).iterator().asScala.filter(file => !file.toString.contains("_tmp")).toSeq
+    else Seq.empty
+
+  private[this] def checkCommittedFileSize(folder: Path, expectedSize: Int): Unit =
+    CommonUtils.await(() => listCommittedFiles(folder).size == expectedSize, Duration.ofSeconds(20))
+
+  private[this] def readLines(input: InputStream): Seq[String] = {
+    val reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))
+    try Iterator.continually(reader.readLine()).takeWhile(_ != null).toList
+    finally reader.close()
+  }
+
+  private[this] def checkLines(lines: Seq[String]): Unit = {
+    lines.length shouldBe TestLocalSink.dataCount
+    val items = lines.head.split(",")
+    items.length shouldBe data.size
+    items(0) shouldBe data.cell(0).value.toString
+    items(1) shouldBe data.cell(1).value.toString
+    items(2) shouldBe data.cell(2).value.toString
+  }
+
+  @Test
+  def testNormalCase(): Unit = {
+    val connectorKey = randomConnectorKey()
+    createConnector(connectorKey, props)
+    try {
+      FtpUtils.checkConnector(testUtil, connectorKey)
+      checkCommittedFileSize(committedFolder, 1)
+      val committedFile = listCommittedFiles(committedFolder).head
+      committedFile.toString should endWith(".csv")
+      checkLines(readLines(Files.newInputStream(committedFile)))
+    } finally result(workerClient.delete(connectorKey))
+  }
+
+  @Test
+  def testHeader(): Unit = {
+    val connectorKey = randomConnectorKey()
+    createConnector(connectorKey, props + (CsvConnector.FILE_NEED_HEADER_CONFIG -> "true"))
+    try {
+      FtpUtils.checkConnector(testUtil, connectorKey)
+      checkCommittedFileSize(committedFolder, 1)
+      val lines = readLines(Files.newInputStream(listCommittedFiles(committedFolder).head))
+      lines.head shouldBe schema.sortBy(_.order).map(_.name).mkString(",")
+      checkLines(lines.tail)
+    } finally result(workerClient.delete(connectorKey))
+  }
+
+  @Test
+  def testBackgroundCommitAndConcurrentWriters(): Unit = {
+    val connectorKey = randomConnectorKey()
+    // the local storage is thread-safe so the threads are not ignored
+    createConnector(connectorKey,
+                    props ++ Map(
+                      CsvConnector.COMMIT_THREADS_CONFIG -> "2",
+                      CsvConnector.WRITER_THREADS_CONFIG -> "2"
+                    ))
+    try {
+      FtpUtils.checkConnector(testUtil, connectorKey)
+      checkCommittedFileSize(committedFolder, 1)
+      checkLines(readLines(Files.newInputStream(listCommittedFiles(committedFolder).head)))
+    } finally result(workerClient.delete(connectorKey))
+  }
+
+  @Test
+  def testCompression(): Unit = {
+    val connectorKey = randomConnectorKey()
+    createConnector(connectorKey, props + (CsvConnector.FILE_COMPRESSION_CONFIG -> "gzip"))
+    try {
+      FtpUtils.checkConnector(testUtil, connectorKey)
+      checkCommittedFileSize(committedFolder, 1)
+      val committedFile = listCommittedFiles(committedFolder).head
+      committedFile.toString should endWith(".csv.gz")
+      checkLines(readLines(new GZIPInputStream(Files.newInputStream(committedFile))))
+    } finally result(workerClient.delete(connectorKey))
+  }
+
+  @After
+  def tearDown(): Unit = CommonUtils.deleteFiles(topicsDir)
+}
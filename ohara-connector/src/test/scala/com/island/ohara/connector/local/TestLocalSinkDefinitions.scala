@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.connector.local
+
+import com.island.ohara.common.rule.SmallTest
+import com.island.ohara.common.setting.SettingDef
+import com.island.ohara.common.setting.SettingDef.Reference
+import com.island.ohara.kafka.connector.csv.CsvConnector
+import org.junit.Test
+import org.scalatest.Matchers
+
+import scala.collection.JavaConverters._
+
+class TestLocalSinkDefinitions extends SmallTest with Matchers {
+
+  private[this] val localSink = new LocalSink
+
+  private[this] def definition(key: String): SettingDef = localSink.definitions().asScala.find(_.key() == key).get
+
+  @Test
+  def checkOutputFolder(): Unit = {
+    val definition = this.definition(CsvConnector.TOPICS_DIR_CONFIG)
+    definition.required() shouldBe true
+    definition.defaultValue() shouldBe null
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.STRING
+  }
+
+  @Test
+  def checkNeedHeader(): Unit = {
+    val definition = this.definition(CsvConnector.FILE_NEED_HEADER_CONFIG)
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe "true"
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.BOOLEAN
+  }
+
+  @Test
+  def checkEncode(): Unit = {
+    val definition = this.definition(CsvConnector.FILE_ENCODE_CONFIG)
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe "UTF-8"
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.STRING
+  }
+
+  @Test
+  def checkCommitThreads(): Unit = {
+    val definition = this.definition(CsvConnector.COMMIT_THREADS_CONFIG)
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe "0"
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.INT
+  }
+
+  @Test
+  def checkWriterThreads(): Unit = {
+    val definition = this.definition(CsvConnector.WRITER_THREADS_CONFIG)
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe "1"
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.INT
+  }
+
+  @Test
+  def checkFileFormat(): Unit = {
+    val definition = this.definition(CsvConnector.FILE_FORMAT_CONFIG)
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe CsvConnector.FILE_FORMAT_CSV
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.STRING
+  }
+}
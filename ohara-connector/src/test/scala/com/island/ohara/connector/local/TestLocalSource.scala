@@ -0,0 +1,236 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.connector.local
+
+import java.io.File
+import java.nio.charset.StandardCharsets
+import java.nio.file.{Files, Path, Paths}
+import java.time.Duration
+
+import com.island.ohara.client.kafka.WorkerClient
+import com.island.ohara.common.data.{Cell, Column, DataType, Row, Serializer}
+import com.island.ohara.common.setting.{ConnectorKey, TopicKey}
+import com.island.ohara.common.util.CommonUtils
+import com.island.ohara.connector.ftp.FtpUtils
+import com.island.ohara.kafka.Consumer
+import com.island.ohara.kafka.Consumer.Record
+import com.island.ohara.kafka.connector.text.TextConnector
+import com.island.ohara.testing.With3Brokers3Workers
+import org.junit.{After, Test}
+import org.scalatest.Matchers
+
+import scala.collection.JavaConverters._
+import scala.concurrent.ExecutionContext.Implicits.global
+import scala.concurrent.duration._
+import scala.concurrent.{Await, Future}
+
+class TestLocalSource extends With3Brokers3Workers with Matchers {
+
+  private[this] val schema: Seq[Column] = Seq(
+    Column.builder().name("name").dataType(DataType.STRING).order(1).build(),
+    Column.builder().name("ranking").dataType(DataType.INT).order(2).build(),
+    Column.builder().name("single").dataType(DataType.BOOLEAN).order(3).build()
+  )
+  private[this] val rows: Seq[Row] = Seq(
+    Row.of(Cell.of("name", "chia"), Cell.of("ranking", 1), Cell.of("single", false)),
+    Row.of(Cell.of("name", "jack"), Cell.of("ranking", 99), Cell.of("single", true))
+  )
+  private[this] val header: String = rows.head.cells().asScala.map(_.name).mkString(",")
+  private[this] val data: Seq[String] = rows.map(row => {
+    row.cells().asScala.map(_.value.toString).mkString(",")
+  })
+
+  private[this] val workerClient = WorkerClient(testUtil.workersConnProps)
+
+  private[this] val root: File = CommonUtils.createTempFolder(CommonUtils.randomString(5))
+  private[this] val inputFolder: Path = Files.createDirectories(Paths.get(root.getPath, "input"))
+  private[this] val completedFolder: Path = Paths.get(root.getPath, "completed")
+  private[this] val errorFolder: Path = Paths.get(root.getPath, "error")
+
+  private[this] val props: Map[String, String] = Map(
+    LOCAL_INPUT -> inputFolder.toString,
+    LOCAL_COMPLETED_FOLDER -> completedFolder.toString,
+    LOCAL_ERROR -> errorFolder.toString,
+    LOCAL_ENCODE -> "UTF-8"
+  )
+
+  /**
+    * the file is written to the root folder and then moved to the input folder. Otherwise, the source may read a file
+    * which is being written.
+    */
+  private[this] def setupInput(): Unit = {
+    val name = CommonUtils.randomString(10)
+    val file = Paths.get(root.getPath, name)
+    Files.write(file, (header +: data).asJava, StandardCharsets.UTF_8)
+    Files.move(file, inputFolder.resolve(name))
+  }
+
+  private[this] def fileCount(folder: Path): Int = if (Files.isDirectory(folder)) folder.toFile.list().length else 0
+
+  private[this] def checkFileCount(inputCount: Int, completedCount: Int, errorCount: Int): Unit =
+    CommonUtils.await(
+      () => {
+        fileCount(inputFolder) == inputCount &&
+        fileCount(completedFolder) == completedCount &&
+        fileCount(errorFolder) == errorCount
+      },
+      Duration.ofSeconds(30)
+    )
+
+  private[this] def result[T](f: Future[T]): T = Await.result(f, 10 seconds)
+
+  private[this] def createConnector(topicKey: TopicKey,
+                                    connectorKey: ConnectorKey,
+                                    settings: Map[String, String],
+                                    numberOfTasks: Int = 1): Unit = result(
+    workerClient
+      .connectorCreator()
+      .topicKey(topicKey)
+      .connectorClass(classOf[LocalSource])
+      .numberOfTasks(numberOfTasks)
+      .connectorKey(connectorKey)
+      .columns(schema)
+      .settings(settings)
+      .create())
+
+  private[this] def pollData(topicKey: TopicKey,
+                             timeout: scala.concurrent.duration.Duration = 100 seconds,
+                             size: Int = data.length): Seq[Record[Row, Array[Byte]]] = {
+    val consumer = Consumer
+      .builder[Row, Array[Byte]]()
+      .topicName(topicKey.topicNameOnKafka)
+      .offsetFromBegin()
+      .connectionProps(testUtil.brokersConnProps)
+      .keySerializer(Serializer.ROW)
+      .valueSerializer(Serializer.BYTES)
+      .build()
+    try consumer.poll(java.time.Duration.ofNanos(timeout.toNanos), size).asScala
+    finally consumer.close()
+  }
+
+  private[this] def randomTopicKey(): TopicKey = TopicKey.of(CommonUtils.randomString(5), CommonUtils.randomString(5))
+
+  private[this] def randomConnectorKey(): ConnectorKey =
+    ConnectorKey.of(CommonUtils.randomString(5), CommonUtils.randomString(5))
+
+  @Test
+  def testNormalCase(): Unit = {
+    setupInput()
+    val topicKey = randomTopicKey()
+    val connectorKey = randomConnectorKey()
+    createConnector(topicKey, connectorKey, props)
+    try {
+      FtpUtils.checkConnector(testUtil, connectorKey)
+      checkFileCount(0, 1, 0)
+
+      val records = pollData(topicKey)
+      records.size shouldBe data.length
+      val row0 = records.head.key.get
+      row0.size shouldBe 3
+      row0.cell(0) shouldBe rows.head.cell(0)
+      row0.cell(1) shouldBe rows.head.cell(1)
+      row0.cell(2) shouldBe rows.head.cell(2)
+      val row1 = records(1).key.get
+      row1.size shouldBe 3
+      row1.cell(0) shouldBe rows(1).cell(0)
+      row1.cell(1) shouldBe rows(1).cell(1)
+      row1.cell(2) shouldBe rows(1).cell(2)
+
+      // the new file is found by the watch service
+      setupInput()
+      checkFileCount(0, 2, 0)
+      pollData(topicKey, size = data.length * 2).size shouldBe data.length * 2
+    } finally result(workerClient.delete(connectorKey))
+  }
+
+  @Test
+  def testMultipleTasks(): Unit = {
+    val numberOfFiles = 5
+    (0 until numberOfFiles).foreach(_ => setupInput())
+    val topicKey = randomTopicKey()
+    val connectorKey = randomConnectorKey()
+    createConnector(topicKey, connectorKey, props, 3)
+    try {
+      FtpUtils.checkConnector(testUtil, connectorKey)
+      // each file is processed by only one task
+      checkFileCount(0, numberOfFiles, 0)
+      val records = pollData(topicKey, size = data.length * numberOfFiles)
+      records.size shouldBe data.length * numberOfFiles
+      pollData(topicKey, 10 seconds, data.length * numberOfFiles + 1).size shouldBe data.length * numberOfFiles
+    } finally result(workerClient.delete(connectorKey))
+  }
+
+  @Test
+  def inputFilesShouldBeRemovedIfCompletedFolderIsNotDefined(): Unit = {
+    setupInput()
+    val topicKey = randomTopicKey()
+    val connectorKey = randomConnectorKey()
+    createConnector(topicKey, connectorKey, props - LOCAL_COMPLETED_FOLDER)
+    try {
+      FtpUtils.checkConnector(testUtil, connectorKey)
+      checkFileCount(0, 0, 0)
+      pollData(topicKey).size shouldBe data.length
+    } finally result(workerClient.delete(connectorKey))
+  }
+
+  @Test
+  def testUnmatchedSchema(): Unit = {
+    setupInput()
+    val topicKey = randomTopicKey()
+    val connectorKey = randomConnectorKey()
+    result(
+      workerClient
+        .connectorCreator()
+        .topicKey(topicKey)
+        .connectorClass(classOf[LocalSource])
+        .numberOfTasks(1)
+        .connectorKey(connectorKey)
+        // the name can't be casted to int
+        .columns(Seq(Column.builder().name("name").dataType(DataType.INT).order(1).build()))
+        .settings(props)
+        .create())
+    try {
+      FtpUtils.checkConnector(testUtil, connectorKey)
+      checkFileCount(0, 0, 1)
+      pollData(topicKey, 10 seconds).size shouldBe 0
+    } finally result(workerClient.delete(connectorKey))
+  }
+
+  @Test
+  def testInvalidInput(): Unit = {
+    val connectorKey = randomConnectorKey()
+    createConnector(randomTopicKey(), connectorKey, props + (LOCAL_INPUT -> Paths.get(root.getPath, "abc").toString))
+    FtpUtils.assertFailedConnector(testUtil, connectorKey)
+  }
+
+  @Test
+  def testInvalidWorkers(): Unit = {
+    val connectorKey = randomConnectorKey()
+    createConnector(randomTopicKey(), connectorKey, props + (TextConnector.WORKERS_CONFIG -> "0"))
+    FtpUtils.assertFailedConnector(testUtil, connectorKey)
+  }
+
+  @Test
+  def testInvalidType(): Unit = {
+    val connectorKey = randomConnectorKey()
+    createConnector(randomTopicKey(), connectorKey, props + (TextConnector.TYPE_CONFIG -> "xml"))
+    FtpUtils.assertFailedConnector(testUtil, connectorKey)
+  }
+
+  @After
+  def tearDown(): Unit = CommonUtils.deleteFiles(root)
+}
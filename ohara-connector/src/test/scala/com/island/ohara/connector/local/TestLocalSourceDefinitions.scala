@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.connector.local
+
+import com.island.ohara.common.rule.SmallTest
+import com.island.ohara.common.setting.SettingDef
+import com.island.ohara.common.setting.SettingDef.Reference
+import com.island.ohara.kafka.connector.text.TextConnector
+import org.junit.Test
+import org.scalatest.Matchers
+
+import scala.collection.JavaConverters._
+
+class TestLocalSourceDefinitions extends SmallTest with Matchers {
+
+  private[this] val localSource = new LocalSource
+  @Test
+  def checkInputFolder(): Unit = {
+    val definition = localSource.definitions().asScala.find(_.key() == LOCAL_INPUT).get
+    definition.required() shouldBe true
+    definition.defaultValue() shouldBe null
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.STRING
+  }
+
+  @Test
+  def checkCompletedFolder(): Unit = {
+    val definition = localSource.definitions().asScala.find(_.key() == LOCAL_COMPLETED_FOLDER).get
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe null
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.STRING
+  }
+
+  @Test
+  def checkErrorFolder(): Unit = {
+    val definition = localSource.definitions().asScala.find(_.key() == LOCAL_ERROR).get
+    definition.required() shouldBe true
+    definition.defaultValue() shouldBe null
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.STRING
+  }
+
+  @Test
+  def checkEncode(): Unit = {
+    val definition = localSource.definitions().asScala.find(_.key() == LOCAL_ENCODE).get
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe "UTF-8"
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.STRING
+  }
+
+  @Test
+  def checkWorkers(): Unit = {
+    val definition = localSource.definitions().asScala.find(_.key() == TextConnector.WORKERS_CONFIG).get
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe TextConnector.WORKERS_DEFAULT.toString
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.INT
+  }
+
+  @Test
+  def checkListingTtl(): Unit = {
+    val definition = localSource.definitions().asScala.find(_.key() == TextConnector.LISTING_TTL_CONFIG).get
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe null
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.DURATION
+  }
+
+  @Test
+  def checkType(): Unit = {
+    val definition = localSource.definitions().asScala.find(_.key() == TextConnector.TYPE_CONFIG).get
+    definition.required() shouldBe false
+    definition.defaultValue() shouldBe TextConnector.TYPE_DEFAULT
+    definition.editable() shouldBe true
+    definition.internal() shouldBe false
+    definition.reference() shouldBe Reference.NONE
+    definition.valueType() shouldBe SettingDef.Type.STRING
+  }
+}
@@ -37,6 +37,7 @@ import java.util.stream.StreamSupport;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.consumer.OffsetResetStrategy;
@@ -235,8 +236,23 @@ public interface Consumer<K, V> extends Releasable {
       Objects.requireNonNull(valueSerializer);
     }
 
-    @Override
-    public Consumer<Key, Value> build() {
+    /**
+     * switch to the parallel mode. The returned builder shares all settings of this builder and it
+     * creates a {@link ParallelConsumer} which hands the polled records to a pool of workers.
+     *
+     * @return builder of parallel consumer
+     */
+    public ParallelConsumer.Builder<Key, Value> parallel() {
+      return new ParallelConsumer.Builder<>(this);
+    }
+
+    /**
+     * create a kafka consumer which is not subscribed yet.
+     *
+     * @param autoCommit false if the offsets are committed by caller
+     * @return kafka consumer
+     */
+    KafkaConsumer<Key, Value> kafkaConsumer(boolean autoCommit) {
       checkArguments();
 
       Properties props = new Properties();
@@ -245,9 +261,19 @@ public interface Consumer<K, V> extends Releasable {
       props.setProperty(ConsumerConfig.GROUP_ID_CONFIG, groupId);
       // kafka demand us to pass lowe case words...
       props.setProperty(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, fromBegin.name().toLowerCase());
+      // the parallel mode commits the processed offsets by itself
+      if (!autoCommit)
+        props.setProperty(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, String.valueOf(false));
+      return new KafkaConsumer<>(props, wrap(keySerializer), wrap(valueSerializer));
+    }
 
-      KafkaConsumer<Key, Value> kafkaConsumer =
-          new KafkaConsumer<>(props, wrap(keySerializer), wrap(valueSerializer));
+    List<String> topicNames() {
+      return topicNames;
+    }
+
+    @Override
+    public Consumer<Key, Value> build() {
+      KafkaConsumer<Key, Value> kafkaConsumer = kafkaConsumer(true);
 
       kafkaConsumer.subscribe(topicNames);
 
@@ -273,22 +299,7 @@ public interface Consumer<K, V> extends Releasable {
           else
             return StreamSupport.stream(
                     Spliterators.spliteratorUnknownSize(r.iterator(), Spliterator.ORDERED), false)
-                .map(
-                    cr ->
-                        new Record<>(
-                            cr.topic(),
-                            cr.timestamp(),
-                            TimestampType.of(cr.timestampType()),
-                            cr.offset(),
-                            Optional.ofNullable(cr.headers())
-                                .map(
-                                    headers ->
-                                        StreamSupport.stream(headers.spliterator(), false)
-                                            .map(header -> new Header(header.key(), header.value()))
-                                            .collect(Collectors.toList()))
-                                .orElse(Collections.emptyList()),
-                            cr.key(),
-                            cr.value()))
+                .map(Record::of)
                 .collect(Collectors.toList());
         }
 
@@ -313,6 +324,7 @@ public interface Consumer<K, V> extends Releasable {
    */
   class Record<K, V> {
     private final String topicName;
+    private final int partition;
     private final long timestamp;
     private final TimestampType timestampType;
     private final long offset;
@@ -322,12 +334,14 @@ public interface Consumer<K, V> extends Releasable {
 
     /**
      * @param topicName topic name
+     * @param partition partition
      * @param timestamp time to create this record or time to append this record.
      * @param key key (nullable)
      * @param value value
      */
     private Record(
         String topicName,
+        int partition,
         long timestamp,
         TimestampType timestampType,
         long offset,
@@ -335,6 +349,7 @@ public interface Consumer<K, V> extends Releasable {
         K key,
         V value) {
       this.topicName = topicName;
+      this.partition = partition;
       this.timestamp = timestamp;
       this.timestampType = timestampType;
       this.offset = offset;
@@ -352,6 +367,15 @@ public interface Consumer<K, V> extends Releasable {
       return topicName;
     }
 
+    /**
+     * The partition from which this record is received
+     *
+     * @return partition
+     */
+    public int partition() {
+      return partition;
+    }
+
     /**
      * The timestamp of this record.
      *
@@ -406,12 +430,31 @@ public interface Consumer<K, V> extends Releasable {
       return Optional.ofNullable(value);
     }
 
+    static <K, V> Record<K, V> of(ConsumerRecord<K, V> cr) {
+      return new Record<>(
+          cr.topic(),
+          cr.partition(),
+          cr.timestamp(),
+          TimestampType.of(cr.timestampType()),
+          cr.offset(),
+          Optional.ofNullable(cr.headers())
+              .map(
+                  headers ->
+                      StreamSupport.stream(headers.spliterator(), false)
+                          .map(header -> new Header(header.key(), header.value()))
+                          .collect(Collectors.toList()))
+              .orElse(Collections.emptyList()),
+          cr.key(),
+          cr.value());
+    }
+
     @Override
     public boolean equals(Object o) {
       if (this == o) return true;
       if (o == null || getClass() != o.getClass()) return false;
       Record<?, ?> that = (Record<?, ?>) o;
       return Objects.equals(topicName, that.topicName)
+          && partition == that.partition
           && Objects.equals(timestamp, that.timestamp)
           && Objects.equals(timestampType, that.timestampType)
           && Objects.equals(offset, that.offset)
@@ -429,6 +472,7 @@ public interface Consumer<K, V> extends Releasable {
     public String toString() {
       return new ToStringBuilder(this)
           .append("topicName", topicName)
+          .append("partition", partition)
           .append("timestamp", timestamp)
           .append("offset", offset)
           .append("headers", headers)
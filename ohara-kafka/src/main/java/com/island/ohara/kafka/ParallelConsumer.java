@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka;
+
+import com.island.ohara.common.annotations.Optional;
+import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.common.util.Releasable;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A consumer which dispatches the polled records to a pool of workers. The records from the same
+ * partition are always processed by the same worker so the order in a partition is kept. The
+ * offsets committed to brokers are the contiguous processed watermark of each partition, so a
+ * record is never marked as consumed before it and all its predecessors are processed.
+ *
+ * <p>All methods of this consumer must be called by the same thread.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public interface ParallelConsumer<K, V> extends Releasable {
+
+  /**
+   * poll the data from subscribed topics and dispatch them to the workers. The processed offsets
+   * are committed before returning.
+   *
+   * @param timeout waiting time
+   * @return the number of dispatched records
+   * @throws com.island.ohara.common.exception.OharaExecutionException if any worker failed to
+   *     process the record
+   */
+  int poll(Duration timeout);
+
+  /** wait for all dispatched records to be processed and then commit the offsets. */
+  void commit();
+
+  /** break the poll right now. */
+  void wakeup();
+
+  /**
+   * the callback invoked by workers. Noted that it is called concurrently by different workers.
+   *
+   * @param <K> key type
+   * @param <V> value type
+   */
+  @FunctionalInterface
+  interface Processor<K, V> {
+    void process(Consumer.Record<K, V> record);
+  }
+
+  class Builder<Key, Value>
+      implements com.island.ohara.common.pattern.Builder<ParallelConsumer<Key, Value>> {
+    private final Consumer.Builder<Key, Value> consumerBuilder;
+    private int numberOfWorkers = Runtime.getRuntime().availableProcessors();
+    private int maxInFlight = 1000;
+    private Processor<Key, Value> processor = null;
+
+    Builder(Consumer.Builder<Key, Value> consumerBuilder) {
+      this.consumerBuilder = Objects.requireNonNull(consumerBuilder);
+    }
+
+    @Optional("default is the number of available processors")
+    public Builder<Key, Value> numberOfWorkers(int numberOfWorkers) {
+      this.numberOfWorkers = CommonUtils.requirePositiveInt(numberOfWorkers);
+      return this;
+    }
+
+    /**
+     * the max number of records which are dispatched but not processed yet. The poll is blocked
+     * when the number of in-flight records reaches this limit.
+     *
+     * @param maxInFlight max number of in-flight records
+     * @return this builder
+     */
+    @Optional("default is 1000")
+    public Builder<Key, Value> maxInFlight(int maxInFlight) {
+      this.maxInFlight = CommonUtils.requirePositiveInt(maxInFlight);
+      return this;
+    }
+
+    public Builder<Key, Value> processor(Processor<Key, Value> processor) {
+      this.processor = Objects.requireNonNull(processor);
+      return this;
+    }
+
+    @Override
+    public ParallelConsumer<Key, Value> build() {
+      Objects.requireNonNull(processor);
+      return new ParallelConsumerImpl<>(
+          consumerBuilder.kafkaConsumer(false),
+          consumerBuilder.topicNames(),
+          numberOfWorkers,
+          maxInFlight,
+          processor);
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka;
+
+import com.island.ohara.common.annotations.VisibleForTesting;
+import com.island.ohara.common.exception.OharaExecutionException;
+import com.island.ohara.common.exception.OharaInterruptedException;
+import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.common.util.Releasable;
+import com.island.ohara.common.util.ReleaseOnce;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The implementation of {@link ParallelConsumer}. Each worker is a single thread and a partition is
+ * always routed to the same worker. Hence, the records of a partition are processed in order and
+ * the "processed watermark" of a partition is simply the offset after the last processed record.
+ */
+final class ParallelConsumerImpl<K, V> extends ReleaseOnce implements ParallelConsumer<K, V> {
+  private static final Logger log = LoggerFactory.getLogger(ParallelConsumerImpl.class);
+  private final org.apache.kafka.clients.consumer.Consumer<K, V> consumer;
+  private final List<ExecutorService> workers;
+  private final int maxInFlight;
+  private final Semaphore inFlight;
+  private final Processor<K, V> processor;
+  /** the next offset to process. It is updated by workers. */
+  private final Map<TopicPartition, AtomicLong> watermarks = new ConcurrentHashMap<>();
+  /** the offsets committed to brokers. It is accessed by the polling thread only. */
+  private final Map<TopicPartition, Long> committed = new HashMap<>();
+
+  private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+  ParallelConsumerImpl(
+      org.apache.kafka.clients.consumer.Consumer<K, V> consumer,
+      List<String> topicNames,
+      int numberOfWorkers,
+      int maxInFlight,
+      Processor<K, V> processor) {
+    this.consumer = Objects.requireNonNull(consumer);
+    this.maxInFlight = CommonUtils.requirePositiveInt(maxInFlight);
+    this.inFlight = new Semaphore(maxInFlight);
+    this.processor = Objects.requireNonNull(processor);
+    this.workers =
+        IntStream.range(0, CommonUtils.requirePositiveInt(numberOfWorkers))
+            .mapToObj(i -> Executors.newSingleThreadExecutor())
+            .collect(Collectors.toList());
+    consumer.subscribe(
+        CommonUtils.requireNonEmpty(topicNames),
+        new ConsumerRebalanceListener() {
+          @Override
+          public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            // the revoked partitions may be processed by other consumers so we have to commit all
+            // processed records before releasing them.
+            commit();
+            partitions.forEach(
+                partition -> {
+                  watermarks.remove(partition);
+                  committed.remove(partition);
+                });
+          }
+
+          @Override
+          public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            // do nothing
+          }
+        });
+  }
+
+  @Override
+  public int poll(Duration timeout) {
+    checkError();
+    ConsumerRecords<K, V> records = consumer.poll(timeout);
+    records.forEach(this::dispatch);
+    commitProcessed();
+    checkError();
+    return records.count();
+  }
+
+  @Override
+  public void commit() {
+    // acquire all permits to wait for all in-flight records
+    inFlight.acquireUninterruptibly(maxInFlight);
+    inFlight.release(maxInFlight);
+    commitProcessed();
+  }
+
+  @Override
+  public void wakeup() {
+    consumer.wakeup();
+  }
+
+  private void dispatch(ConsumerRecord<K, V> record) {
+    try {
+      inFlight.acquire();
+    } catch (InterruptedException e) {
+      throw new OharaInterruptedException(e);
+    }
+    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+    AtomicLong watermark = watermarks.computeIfAbsent(partition, p -> new AtomicLong(-1));
+    workers
+        .get(Math.floorMod(partition.hashCode(), workers.size()))
+        .execute(
+            () -> {
+              try {
+                // the records following a failed record must not be processed
+                if (error.get() == null) {
+                  processor.process(Consumer.Record.of(record));
+                  watermark.set(record.offset() + 1);
+                }
+              } catch (Throwable e) {
+                error.compareAndSet(null, e);
+              } finally {
+                inFlight.release();
+              }
+            });
+  }
+
+  /** commit the watermarks which are larger than last commit. */
+  private void commitProcessed() {
+    Map<TopicPartition, OffsetAndMetadata> offsets =
+        watermarks.entrySet().stream()
+            .filter(e -> e.getValue().get() > committed.getOrDefault(e.getKey(), -1L))
+            .collect(
+                Collectors.toMap(
+                    Map.Entry::getKey, e -> new OffsetAndMetadata(e.getValue().get())));
+    if (!offsets.isEmpty()) {
+      consumer.commitSync(offsets);
+      offsets.forEach((partition, offset) -> committed.put(partition, offset.offset()));
+    }
+  }
+
+  private void checkError() {
+    Throwable e = error.get();
+    if (e != null) throw new OharaExecutionException("failed to process the record", e);
+  }
+
+  @VisibleForTesting
+  Map<TopicPartition, Long> committed() {
+    return Collections.unmodifiableMap(committed);
+  }
+
+  @Override
+  protected void doClose() {
+    workers.forEach(ExecutorService::shutdown);
+    workers.forEach(
+        worker -> {
+          try {
+            if (!worker.awaitTermination(30, TimeUnit.SECONDS))
+              log.error("failed to wait for the worker of parallel consumer");
+          } catch (InterruptedException e) {
+            log.error("interrupted when waiting for the worker of parallel consumer", e);
+          }
+        });
+    try {
+      commitProcessed();
+    } catch (Throwable e) {
+      log.error("failed to commit the processed offsets", e);
+    }
+    Releasable.close(consumer);
+  }
+}
@@ -29,6 +29,9 @@ import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.AuthorizationException;
+import org.apache.kafka.common.errors.OutOfOrderSequenceException;
+import org.apache.kafka.common.errors.ProducerFencedException;
 
 /**
  * a simple wrap from kafka producer.
@@ -48,6 +51,52 @@ public interface Producer<Key, Value> extends Releasable {
   /** flush all on-the-flight data. */
   void flush();
 
+  /**
+   * start a transaction. All records sent after this call are committed or aborted atomically.
+   *
+   * @throws IllegalStateException if this producer is not transactional
+   */
+  void beginTransaction();
+
+  /**
+   * flush all records sent in current transaction and then commit them atomically.
+   *
+   * @throws IllegalStateException if this producer is not transactional
+   */
+  void commitTransaction();
+
+  /**
+   * abort current transaction. The records sent in current transaction are discarded.
+   *
+   * @throws IllegalStateException if this producer is not transactional
+   */
+  void abortTransaction();
+
+  /**
+   * run the action in a transaction. The transaction is committed if the action completes.
+   * Otherwise, it is aborted and the exception is rethrown. The fatal errors (for example, {@link
+   * ProducerFencedException}) are rethrown without aborting since this producer can only be closed.
+   * If the abort fails, the failure is added to the rethrown exception as a suppressed exception.
+   *
+   * @param action action sending records
+   */
+  default void transaction(Runnable action) {
+    beginTransaction();
+    try {
+      action.run();
+      commitTransaction();
+    } catch (ProducerFencedException | OutOfOrderSequenceException | AuthorizationException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      try {
+        abortTransaction();
+      } catch (RuntimeException abortError) {
+        e.addSuppressed(abortError);
+      }
+      throw e;
+    }
+  }
+
   static <Key, Value> Builder<Key, Value> builder() {
     return new Builder<>();
   }
@@ -60,6 +109,8 @@ public interface Producer<Key, Value> extends Releasable {
     private short numberOfAcks = 1;
     private Serializer<Key> keySerializer = null;
     private Serializer<Value> valueSerializer = null;
+    private boolean idempotent = false;
+    private String transactionalId = null;
 
     private Builder() {
       // no nothing
@@ -88,6 +139,34 @@ public interface Producer<Key, Value> extends Releasable {
       return this;
     }
 
+    /**
+     * enable the idempotence so the retries caused by network error won't produce duplicate
+     * records. It requires all acks.
+     *
+     * @return this builder
+     */
+    @Optional("default is disabled")
+    public Builder<Key, Value> idempotent() {
+      this.idempotent = true;
+      this.numberOfAcks = -1;
+      return this;
+    }
+
+    /**
+     * enable the transactional mode. The records are sent through {@link
+     * Producer#beginTransaction()} and {@link Producer#commitTransaction()}. It implies {@link
+     * #idempotent()}. Noted: the transactional id should be unique and stable across the restarts
+     * of a producer.
+     *
+     * @param transactionalId transactional id
+     * @return this builder
+     */
+    @Optional("default is disabled")
+    public Builder<Key, Value> transactionalId(String transactionalId) {
+      this.transactionalId = CommonUtils.requireNonEmpty(transactionalId);
+      return idempotent();
+    }
+
     public Builder<Key, Value> keySerializer(Serializer<Key> keySerializer) {
       this.keySerializer = Objects.requireNonNull(keySerializer);
       return this;
@@ -132,6 +211,9 @@ public interface Producer<Key, Value> extends Releasable {
       CommonUtils.requireNonEmpty(connectionProps);
       Objects.requireNonNull(keySerializer);
       Objects.requireNonNull(valueSerializer);
+      if (idempotent && numberOfAcks != -1)
+        throw new IllegalArgumentException(
+            "the idempotent producer requires all acks but the number of acks is " + numberOfAcks);
     }
 
     @Override
@@ -144,11 +226,34 @@ public interface Producer<Key, Value> extends Releasable {
           options.forEach(props::setProperty);
           props.setProperty(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, connectionProps);
           props.setProperty(ProducerConfig.ACKS_CONFIG, String.valueOf(numberOfAcks));
+          if (idempotent)
+            props.setProperty(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, String.valueOf(true));
+          if (transactionalId != null)
+            props.setProperty(ProducerConfig.TRANSACTIONAL_ID_CONFIG, transactionalId);
           return props;
         }
 
-        private final KafkaProducer<Key, Value> producer =
-            new KafkaProducer<>(getProducerConfig(), wrap(keySerializer), wrap(valueSerializer));
+        private final KafkaProducer<Key, Value> producer = createProducer();
+
+        private KafkaProducer<Key, Value> createProducer() {
+          KafkaProducer<Key, Value> producer =
+              new KafkaProducer<>(getProducerConfig(), wrap(keySerializer), wrap(valueSerializer));
+          if (transactionalId != null) {
+            try {
+              producer.initTransactions();
+            } catch (RuntimeException e) {
+              producer.close();
+              throw e;
+            }
+          }
+          return producer;
+        }
+
+        private void checkTransactional() {
+          if (transactionalId == null)
+            throw new IllegalStateException(
+                "this producer is not transactional. Please set the transactional id");
+        }
 
         @Override
         public final Sender<Key, Value> sender() {
@@ -199,6 +304,24 @@ public interface Producer<Key, Value> extends Releasable {
           producer.flush();
         }
 
+        @Override
+        public void beginTransaction() {
+          checkTransactional();
+          producer.beginTransaction();
+        }
+
+        @Override
+        public void commitTransaction() {
+          checkTransactional();
+          producer.commitTransaction();
+        }
+
+        @Override
+        public void abortTransaction() {
+          checkTransactional();
+          producer.abortTransaction();
+        }
+
         @Override
         public void close() {
           producer.close();
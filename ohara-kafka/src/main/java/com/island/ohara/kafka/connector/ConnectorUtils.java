@@ -89,6 +89,23 @@ final class ConnectorUtils {
         .register();
   }
 
+  /**
+   * Create and register a counter which records the time spent by throttling.
+   *
+   * @param group group name. It is normally equal to connector name
+   * @return throttle counter
+   */
+  static Counter throttleCounter(String group) {
+    return Counter.builder()
+        .group(group)
+        .name("throttle.time")
+        .unit("milliseconds")
+        .document("time (in milliseconds) spent waiting for the throttle")
+        .startTime(CommonUtils.current())
+        .value(0)
+        .register();
+  }
+
   /**
    * calculate the size of kafka record. NOTED: this method cares for only key and value in record
    *
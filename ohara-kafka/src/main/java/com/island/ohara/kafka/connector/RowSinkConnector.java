@@ -123,7 +123,8 @@ public abstract class RowSinkConnector extends SinkConnector implements WithDefi
         Stream.of(
                 Collections.singletonList(ConnectorDefUtils.SINK_KIND_DEFINITION),
                 _definitions(),
-                ConnectorDefUtils.DEFINITIONS_DEFAULT)
+                ConnectorDefUtils.DEFINITIONS_DEFAULT,
+                ConnectorDefUtils.SINK_DEFINITIONS_DEFAULT)
             .flatMap(List::stream)
             .collect(Collectors.toList()),
         _version());
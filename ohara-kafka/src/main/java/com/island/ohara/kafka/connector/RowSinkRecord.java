@@ -26,11 +26,19 @@ import org.apache.kafka.connect.sink.SinkRecord;
 /**
  * The methods it have are almost same with SinkRecord. It return Table rather than any object.
  * Also, it doesn't have method to return value schema because the value schema is useless to user.
+ *
+ * <p>The row is decoded on first access so the sinks which don't touch the row (or touch a part of
+ * records) don't pay for the deserialization. The sinks which forward or hash the data can use
+ * {@link #serializedRow()} instead.
  */
 public class RowSinkRecord {
 
   private final String topicName;
-  private final Row row;
+  /** it is lazily decoded from serializedRow. */
+  private Row row;
+  /** it is lazily encoded from row. */
+  private byte[] serializedRow;
+
   private final int partition;
   private final long offset;
   private final long timestamp;
@@ -39,12 +47,16 @@ public class RowSinkRecord {
   private RowSinkRecord(
       String topicName,
       Row row,
+      byte[] serializedRow,
       int partition,
       long offset,
       long timestamp,
       TimestampType timestampType) {
     this.topicName = CommonUtils.requireNonEmpty(topicName);
-    this.row = Objects.requireNonNull(row);
+    if (row == null && serializedRow == null)
+      throw new NullPointerException("either row or serialized row is required");
+    this.row = row;
+    this.serializedRow = serializedRow;
     this.partition = partition;
     this.offset = offset;
     this.timestamp = timestamp;
@@ -55,10 +67,22 @@ public class RowSinkRecord {
     return topicName;
   }
 
+  /** @return the row. It is deserialized on first access */
   public Row row() {
+    if (row == null) row = Serializer.ROW.from(serializedRow);
     return row;
   }
 
+  /**
+   * the raw bytes of row. Noted: the returned array is shared so you should not modify it.
+   *
+   * @return the serialized row
+   */
+  public byte[] serializedRow() {
+    if (serializedRow == null) serializedRow = Serializer.ROW.to(row);
+    return serializedRow;
+  }
+
   public int partition() {
     return partition;
   }
@@ -80,13 +104,15 @@ public class RowSinkRecord {
    * @return ohara's sink record
    */
   static RowSinkRecord of(SinkRecord record) {
-    return builder()
+    Builder builder = builder();
+    // the row is stored in the value if the source uses "value" row format. Otherwise, it is stored
+    // in the key.
+    Object keyOrValue = record.value() != null ? record.value() : record.key();
+    // add a room to accept the row in kafka
+    if (keyOrValue instanceof Row) builder.row((Row) keyOrValue);
+    else builder.serializedRow((byte[]) keyOrValue);
+    return builder
         .topicName(record.topic())
-        // add a room to accept the row in kafka
-        .row(
-            (record.key() instanceof Row)
-                ? ((Row) record.key())
-                : Serializer.ROW.from((byte[]) record.key()))
         .partition(record.kafkaPartition())
         .offset(record.kafkaOffset())
         // constructing a record without timeout is legal in kafka ...
@@ -106,6 +132,7 @@ public class RowSinkRecord {
 
     private String topicName;
     private Row row;
+    private byte[] serializedRow;
     private Integer partition;
     private Long offset;
     private Long timestamp;
@@ -118,6 +145,19 @@ public class RowSinkRecord {
 
     public Builder row(Row row) {
       this.row = Objects.requireNonNull(row);
+      this.serializedRow = null;
+      return this;
+    }
+
+    /**
+     * set the serialized row. The row is deserialized when {@link RowSinkRecord#row()} is called.
+     *
+     * @param serializedRow serialized row
+     * @return this builder
+     */
+    public Builder serializedRow(byte[] serializedRow) {
+      this.serializedRow = Objects.requireNonNull(serializedRow);
+      this.row = null;
       return this;
     }
 
@@ -145,7 +185,8 @@ public class RowSinkRecord {
     public RowSinkRecord build() {
       return new RowSinkRecord(
           CommonUtils.requireNonEmpty(topicName),
-          Objects.requireNonNull(row),
+          row,
+          serializedRow,
           Objects.requireNonNull(partition),
           Objects.requireNonNull(offset),
           Objects.requireNonNull(timestamp),
@@ -20,7 +20,9 @@ import com.google.common.collect.ImmutableMap;
 import com.island.ohara.common.annotations.VisibleForTesting;
 import com.island.ohara.common.util.Releasable;
 import com.island.ohara.common.util.VersionUtils;
+import com.island.ohara.kafka.connector.json.ConnectorDefUtils;
 import com.island.ohara.metrics.basic.Counter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -57,6 +59,10 @@ public abstract class RowSinkTask extends SinkTask {
    * Put the table record in the sink. Usually this should send the records to the sink
    * asynchronously and immediately return.
    *
+   * <p>If the pipelined mode is enabled (see {@link
+   * ConnectorDefUtils#PIPELINE_QUEUE_SIZE_DEFINITION}), this method is called by a background
+   * thread. It never runs concurrently with _preCommit and _close.
+   *
    * @param records table record
    */
   protected abstract void _put(List<RowSinkRecord> records);
@@ -117,17 +123,30 @@ public abstract class RowSinkTask extends SinkTask {
   // -------------------------------------------------[WRAPPED]-------------------------------------------------//
   @VisibleForTesting Counter rowCounter = null;
   @VisibleForTesting Counter sizeCounter = null;
+  /** the pipeline used to write records in background. It is null if pipelined mode is disabled. */
+  @VisibleForTesting SinkPipeline pipeline = null;
+
+  @VisibleForTesting RowTransformer transformer = null;
 
   @Override
   public final void put(Collection<SinkRecord> records) {
     if (records == null) records = Collections.emptyList();
+    // the rows are decoded lazily so we collect the size in the same loop of wrapping records
+    List<RowSinkRecord> rowRecords = new ArrayList<>(records.size());
+    long size = 0;
+    for (SinkRecord record : records) {
+      rowRecords.add(RowSinkRecord.of(record));
+      size += ConnectorUtils.sizeOf(record);
+    }
+    // the transformer decodes all rows so it is applied only if it is defined
+    if (transformer != null) rowRecords = transformer.transformSink(rowRecords);
     try {
-      _put(records.stream().map(RowSinkRecord::of).collect(Collectors.toList()));
+      if (pipeline != null) pipeline.put(rowRecords);
+      else _put(rowRecords);
     } finally {
       // rowCounter should not be null ....
       if (rowCounter != null) rowCounter.addAndGet(records.size());
-      if (sizeCounter != null)
-        sizeCounter.addAndGet(records.stream().mapToLong(ConnectorUtils::sizeOf).sum());
+      if (sizeCounter != null) sizeCounter.addAndGet(size);
     }
   }
 
@@ -151,12 +170,19 @@ public abstract class RowSinkTask extends SinkTask {
     taskSetting = TaskSetting.of(ImmutableMap.copyOf(props));
     rowCounter = ConnectorUtils.rowCounter(taskSetting.name());
     sizeCounter = ConnectorUtils.sizeCounter(taskSetting.name());
+    RowTransformer rowTransformer = RowTransformer.of(taskSetting);
+    transformer = rowTransformer.isEmpty() ? null : rowTransformer;
+    int queueSize =
+        taskSetting.intOption(ConnectorDefUtils.PIPELINE_QUEUE_SIZE_DEFINITION.key()).orElse(0);
     _start(taskSetting);
+    if (queueSize > 0) pipeline = new SinkPipeline(queueSize, this::_put);
   }
 
   @Override
   public final void stop() {
     try {
+      // the writer thread must be stopped before releasing the resources of sink
+      Releasable.close(pipeline);
       _stop();
     } finally {
       Releasable.close(rowCounter);
@@ -180,29 +206,43 @@ public abstract class RowSinkTask extends SinkTask {
 
   @Override
   public final void close(Collection<org.apache.kafka.common.TopicPartition> partitions) {
-    _close(
+    List<TopicPartition> ps =
         partitions.stream()
             .map(p -> new TopicPartition(p.topic(), (p.partition())))
-            .collect(Collectors.toList()));
+            .collect(Collectors.toList());
+    if (pipeline != null) {
+      // the queued records of closed partitions must be written before closing
+      pipeline.flush();
+      pipeline.exclusive(
+          () -> {
+            _close(ps);
+            return null;
+          });
+      pipeline.remove(ps);
+    } else _close(ps);
   }
 
   @Override
   public final Map<org.apache.kafka.common.TopicPartition, OffsetAndMetadata> preCommit(
       Map<org.apache.kafka.common.TopicPartition, OffsetAndMetadata> currentOffsets) {
 
-    return _preCommit(
-            currentOffsets.entrySet().stream()
-                .collect(
-                    Collectors.toMap(
-                        x -> new TopicPartition(x.getKey().topic(), x.getKey().partition()),
-                        x -> new TopicOffset(x.getValue().metadata(), x.getValue().offset()))))
+    Map<TopicPartition, TopicOffset> offsets =
+        currentOffsets.entrySet().stream()
+            .collect(
+                Collectors.toMap(
+                    x -> new TopicPartition(x.getKey().topic(), x.getKey().partition()),
+                    x -> new TopicOffset(x.getValue().metadata(), x.getValue().offset())));
+    // in pipelined mode, only the written records are committed
+    return (pipeline == null
+            ? _preCommit(offsets)
+            : pipeline.exclusive(() -> _preCommit(pipeline.committable(offsets))))
         .entrySet().stream()
-        .collect(
-            Collectors.toMap(
-                x ->
-                    new org.apache.kafka.common.TopicPartition(
-                        x.getKey().topicName(), x.getKey().partition()),
-                x -> new OffsetAndMetadata(x.getValue().offset(), x.getValue().metadata())));
+            .collect(
+                Collectors.toMap(
+                    x ->
+                        new org.apache.kafka.common.TopicPartition(
+                            x.getKey().topicName(), x.getKey().partition()),
+                    x -> new OffsetAndMetadata(x.getValue().offset(), x.getValue().metadata())));
   }
   // -------------------------------------------------[UN-OVERRIDE]-------------------------------------------------//
 
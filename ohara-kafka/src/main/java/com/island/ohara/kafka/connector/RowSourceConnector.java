@@ -121,7 +121,8 @@ public abstract class RowSourceConnector extends SourceConnector implements With
         Stream.of(
                 Collections.singletonList(ConnectorDefUtils.SOURCE_KIND_DEFINITION),
                 _definitions(),
-                ConnectorDefUtils.DEFINITIONS_DEFAULT)
+                ConnectorDefUtils.DEFINITIONS_DEFAULT,
+                ConnectorDefUtils.SOURCE_DEFINITIONS_DEFAULT)
             .flatMap(List::stream)
             .collect(Collectors.toList()),
         _version());
@@ -41,6 +41,12 @@ public class RowSourceRecord {
   @Nullable("thanks to kafka")
   private final Long timestamp;
 
+  /**
+   * the serialized row. It is created by first conversion and then it is reused by size accounting
+   * and following conversions.
+   */
+  private byte[] serializedRow = null;
+
   private RowSourceRecord(
       Map<String, ?> sourcePartition,
       Map<String, ?> sourceOffset,
@@ -80,6 +86,12 @@ public class RowSourceRecord {
     return Optional.ofNullable(timestamp);
   }
 
+  /** @return the serialized row. It is cached so the row is serialized only once. */
+  byte[] serializedRow() {
+    if (serializedRow == null) serializedRow = Serializer.ROW.to(row);
+    return serializedRow;
+  }
+
   public static RowSourceRecord of(String topic, Row row) {
     return builder().row(row).topicName(topic).build();
   }
@@ -91,6 +103,8 @@ public class RowSourceRecord {
    * @return ohara's source
    */
   static RowSourceRecord of(SourceRecord record) {
+    // the record created by this class carries the origin so we don't need to deserialize the row
+    if (record instanceof KafkaSourceRecord) return ((KafkaSourceRecord) record).record;
     Builder builder = new Builder();
     builder.topicName(record.topic());
     // kakfa fucking love null!!! We have got to handle the null manually....
@@ -98,7 +112,9 @@ public class RowSourceRecord {
     if (record.sourcePartition() != null) builder.sourcePartition(record.sourcePartition());
     if (record.kafkaPartition() != null) builder.partition(record.kafkaPartition());
     if (record.timestamp() != null) builder.timestamp(record.timestamp());
-    builder.row(Serializer.ROW.from((byte[]) record.key()));
+    // the row is stored in the value if the row format is "value". see SourceRecordConverter
+    builder.row(
+        Serializer.ROW.from((byte[]) (record.value() != null ? record.value() : record.key())));
     return builder.build();
   }
 
@@ -108,17 +124,41 @@ public class RowSourceRecord {
    * @return kafka's source
    */
   SourceRecord toSourceRecord() {
-    return new SourceRecord(
-        sourcePartition(),
-        sourceOffset(),
-        topicName(),
-        partition,
-        Schema.BYTES_SCHEMA,
-        Serializer.ROW.to(row()),
-        // TODO: we keep empty value in order to reduce data size in transmission
-        Schema.BYTES_SCHEMA,
-        null,
-        timestamp);
+    // TODO: we keep empty value in order to reduce data size in transmission
+    return toSourceRecord(serializedRow(), null);
+  }
+
+  /**
+   * create kafka's source with specific key and value.
+   *
+   * @param key key of kafka record
+   * @param value value of kafka record
+   * @return kafka's source
+   */
+  SourceRecord toSourceRecord(byte[] key, byte[] value) {
+    return new KafkaSourceRecord(this, key, value);
+  }
+
+  /**
+   * kafka passes the record returned by poll to {@link RowSourceTask#commitRecord(SourceRecord)}.
+   * Hence, we keep the origin record in it to avoid deserializing the row again.
+   */
+  private static class KafkaSourceRecord extends SourceRecord {
+    private final RowSourceRecord record;
+
+    private KafkaSourceRecord(RowSourceRecord record, byte[] key, byte[] value) {
+      super(
+          record.sourcePartition(),
+          record.sourceOffset(),
+          record.topicName(),
+          record.partition,
+          Schema.BYTES_SCHEMA,
+          key,
+          Schema.BYTES_SCHEMA,
+          value,
+          record.timestamp);
+      this.record = record;
+    }
   }
 
   public static Builder builder() {
@@ -18,12 +18,15 @@ package com.island.ohara.kafka.connector;
 
 import com.google.common.collect.ImmutableMap;
 import com.island.ohara.common.annotations.VisibleForTesting;
+import com.island.ohara.common.util.CommonUtils;
 import com.island.ohara.common.util.Releasable;
 import com.island.ohara.common.util.VersionUtils;
+import com.island.ohara.kafka.connector.json.ConnectorDefUtils;
 import com.island.ohara.metrics.basic.Counter;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.apache.kafka.connect.source.SourceTask;
 import org.apache.kafka.connect.source.SourceTaskContext;
@@ -95,26 +98,97 @@ public abstract class RowSourceTask extends SourceTask {
   // -------------------------------------------------[WRAPPED]-------------------------------------------------//
   @VisibleForTesting Counter rowCounter = null;
   @VisibleForTesting Counter sizeCounter = null;
+  @VisibleForTesting SourceRecordConverter converter = null;
+  @VisibleForTesting RowTransformer transformer = null;
+  @VisibleForTesting TokenBucket rowThrottle = null;
+  @VisibleForTesting TokenBucket sizeThrottle = null;
+  @VisibleForTesting Counter throttleCounter = null;
+  /** the first wait time of idle backoff. It is doubled for each empty poll. */
+  private static final long MIN_IDLE_BACKOFF = 10;
+  /**
+   * the max time to wait for the throttle in a poll. The remaining debt is carried into the next
+   * poll so a huge batch can't block the poll for a long time.
+   */
+  @VisibleForTesting static final long MAX_THROTTLE_WAIT = 1000;
+
+  @VisibleForTesting long maxIdleBackoff = 0;
+  @VisibleForTesting long idleBackoff = 0;
+  /** used to break the idle backoff when the task is stopping. */
+  private final CountDownLatch stopped = new CountDownLatch(1);
 
   @Override
   public final List<SourceRecord> poll() {
+    // pay back the debt of previous batches before taking more records
+    if (!throttle(0, 0)) return null;
     List<RowSourceRecord> value = _poll();
+    // the records filtered out by transformer are not sent so their offsets are not committed
+    if (value != null && !value.isEmpty() && transformer != null) {
+      value = transformer.transformSource(value);
+      if (value.isEmpty()) return null;
+    }
     // kafka connector doesn't support the empty list in testing. see
     // https://github.com/apache/kafka/pull/4958
-    if (value == null || value.isEmpty()) return null;
-    else {
-      List<SourceRecord> records =
-          value.stream().map(RowSourceRecord::toSourceRecord).collect(Collectors.toList());
+    if (value == null || value.isEmpty()) {
+      backoff();
+      return null;
+    } else {
+      idleBackoff = 0;
+      List<SourceRecord> records = converter.convert(value);
+      long size = records.stream().mapToLong(ConnectorUtils::sizeOf).sum();
+      throttle(records.size(), size);
       try {
         return records;
       } finally {
         if (rowCounter != null) rowCounter.addAndGet(records.size());
-        if (sizeCounter != null)
-          sizeCounter.addAndGet(records.stream().mapToLong(ConnectorUtils::sizeOf).sum());
+        if (sizeCounter != null) sizeCounter.addAndGet(size);
       }
     }
   }
 
+  /**
+   * wait before next poll since there is no data now. The wait time grows exponentially until it
+   * reaches the max idle backoff.
+   */
+  private void backoff() {
+    if (maxIdleBackoff <= 0) return;
+    idleBackoff =
+        idleBackoff <= 0
+            ? Math.min(MIN_IDLE_BACKOFF, maxIdleBackoff)
+            : Math.min(idleBackoff * 2, maxIdleBackoff);
+    try {
+      stopped.await(idleBackoff, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      // the task is stopping so we just leave
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * block the poll if the rows or bytes exceed the throttle. The records are taken before waiting
+   * so the wait just slows down the next poll. The wait is capped by {@link #MAX_THROTTLE_WAIT} and
+   * it is broken by {@link #stop()}. The unpaid debt is left in the buckets.
+   *
+   * @param rows number of rows
+   * @param size size of rows
+   * @return true if the debt is paid back. Otherwise, false
+   */
+  private boolean throttle(int rows, long size) {
+    long waitTime =
+        Math.max(
+            rowThrottle == null ? 0 : rowThrottle.acquire(rows),
+            sizeThrottle == null ? 0 : sizeThrottle.acquire(size));
+    if (waitTime <= 0) return true;
+    long wait = Math.min(waitTime, MAX_THROTTLE_WAIT);
+    if (throttleCounter != null) throttleCounter.addAndGet(wait);
+    try {
+      return !stopped.await(wait, TimeUnit.MILLISECONDS) && waitTime <= MAX_THROTTLE_WAIT;
+    } catch (InterruptedException e) {
+      // the task is stopping so we just leave
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
   /**
    * create counter builder. This is a helper method for custom connector which want to expose some
    * number via ohara's metrics. NOTED: THIS METHOD MUST BE USED AFTER STARTING THIS CONNECTOR.
@@ -133,18 +207,41 @@ public abstract class RowSourceTask extends SourceTask {
   @Override
   public final void start(Map<String, String> props) {
     taskSetting = TaskSetting.of(ImmutableMap.copyOf(props));
+    converter = SourceRecordConverter.of(taskSetting);
+    RowTransformer rowTransformer = RowTransformer.of(taskSetting);
+    transformer = rowTransformer.isEmpty() ? null : rowTransformer;
     rowCounter = ConnectorUtils.rowCounter(taskSetting.name());
     sizeCounter = ConnectorUtils.sizeCounter(taskSetting.name());
+    rowThrottle =
+        taskSetting
+            .longOption(ConnectorDefUtils.THROTTLE_ROWS_DEFINITION.key())
+            .map(TokenBucket::new)
+            .orElse(null);
+    sizeThrottle =
+        taskSetting
+            .longOption(ConnectorDefUtils.THROTTLE_BYTES_DEFINITION.key())
+            .map(TokenBucket::new)
+            .orElse(null);
+    maxIdleBackoff =
+        taskSetting
+            .durationOption(ConnectorDefUtils.IDLE_BACKOFF_DEFINITION.key())
+            .orElse(
+                CommonUtils.toDuration(ConnectorDefUtils.IDLE_BACKOFF_DEFINITION.defaultValue()))
+            .toMillis();
+    if (rowThrottle != null || sizeThrottle != null)
+      throttleCounter = ConnectorUtils.throttleCounter(taskSetting.name());
     _start(taskSetting);
   }
 
   @Override
   public final void stop() {
+    stopped.countDown();
     try {
       _stop();
     } finally {
       Releasable.close(rowCounter);
       Releasable.close(sizeCounter);
+      Releasable.close(throttleCounter);
     }
   }
 
@@ -153,7 +250,6 @@ public abstract class RowSourceTask extends SourceTask {
     _commit();
   }
 
-  // TODO: We do a extra conversion here (bytes => Row)... by chia
   @Override
   public final void commitRecord(SourceRecord record) {
     _commitRecord(RowSourceRecord.of(record));
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector;
+
+import com.island.ohara.common.data.Cell;
+import com.island.ohara.common.data.DataType;
+import com.island.ohara.common.data.Row;
+import com.island.ohara.kafka.connector.json.ConnectorDefUtils;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * The row transformation chain running inside the source/sink task. It is compiled from the
+ * settings once and then applied to each row. The steps are executed in the following order.
+ *
+ * <ol>
+ *   <li>filter: drop the rows which don't match all predicates. see {@link
+ *       ConnectorDefUtils#TRANSFORM_FILTER_DEFINITION}
+ *   <li>cast: convert the cell values to specified types. see {@link
+ *       ConnectorDefUtils#TRANSFORM_CAST_DEFINITION}
+ *   <li>project: keep the specified cells only. see {@link
+ *       ConnectorDefUtils#TRANSFORM_PROJECT_DEFINITION}
+ *   <li>rename: replace the cell names. see {@link ConnectorDefUtils#TRANSFORM_RENAME_DEFINITION}
+ * </ol>
+ *
+ * All steps use the original cell names.
+ */
+final class RowTransformer {
+  /** the operators are ordered by length so the longer operator is matched first. */
+  private static final String[] OPERATORS = {"==", "!=", ">=", "<=", ">", "<"};
+
+  static RowTransformer of(TaskSetting setting) {
+    return new RowTransformer(
+        setting
+            .stringListOption(ConnectorDefUtils.TRANSFORM_FILTER_DEFINITION.key())
+            .orElse(Collections.emptyList()),
+        setting
+            .stringListOption(ConnectorDefUtils.TRANSFORM_CAST_DEFINITION.key())
+            .orElse(Collections.emptyList()),
+        setting
+            .stringListOption(ConnectorDefUtils.TRANSFORM_PROJECT_DEFINITION.key())
+            .orElse(Collections.emptyList()),
+        setting
+            .stringListOption(ConnectorDefUtils.TRANSFORM_RENAME_DEFINITION.key())
+            .orElse(Collections.emptyList()));
+  }
+
+  private final List<Predicate<Row>> filters;
+  private final Map<String, Function<Object, Object>> casts;
+  private final List<String> projection;
+  private final Map<String, String> renames;
+
+  RowTransformer(
+      List<String> filters, List<String> casts, List<String> projection, List<String> renames) {
+    this.filters = new ArrayList<>(filters.size());
+    filters.forEach(filter -> this.filters.add(toPredicate(filter)));
+    this.casts = new HashMap<>();
+    pairs(casts).forEach((name, type) -> this.casts.put(name, toCast(type)));
+    this.projection = new ArrayList<>(Objects.requireNonNull(projection));
+    this.renames = pairs(renames);
+  }
+
+  /** @return true if this transformer does nothing */
+  boolean isEmpty() {
+    return filters.isEmpty() && casts.isEmpty() && projection.isEmpty() && renames.isEmpty();
+  }
+
+  /**
+   * @param row row
+   * @return the transformed row or null if the row is filtered out
+   */
+  Row transform(Row row) {
+    for (Predicate<Row> filter : filters) if (!filter.test(row)) return null;
+    if (casts.isEmpty() && projection.isEmpty() && renames.isEmpty()) return row;
+    List<Cell<?>> cells = row.cells();
+    int size = projection.isEmpty() ? cells.size() : projection.size();
+    Cell<?>[] newCells = new Cell<?>[size];
+    for (int index = 0; index != size; ++index) {
+      Cell<?> cell = projection.isEmpty() ? cells.get(index) : find(cells, projection.get(index));
+      Function<Object, Object> cast = casts.get(cell.name());
+      String newName = renames.get(cell.name());
+      // reuse the cell if nothing is changed
+      newCells[index] =
+          cast == null && newName == null
+              ? cell
+              : Cell.of(
+                  newName == null ? cell.name() : newName,
+                  cast == null ? cell.value() : cast.apply(cell.value()));
+    }
+    return Row.of(row.tags(), newCells);
+  }
+
+  List<RowSourceRecord> transformSource(List<RowSourceRecord> records) {
+    List<RowSourceRecord> result = new ArrayList<>(records.size());
+    for (RowSourceRecord record : records) {
+      Row row = transform(record.row());
+      if (row == null) continue;
+      if (row == record.row()) result.add(record);
+      else {
+        RowSourceRecord.Builder builder =
+            RowSourceRecord.builder()
+                .sourcePartition(record.sourcePartition())
+                .sourceOffset(record.sourceOffset())
+                .topicName(record.topicName())
+                .row(row);
+        record.partition().ifPresent(builder::partition);
+        record.timestamp().ifPresent(builder::timestamp);
+        result.add(builder.build());
+      }
+    }
+    return result;
+  }
+
+  List<RowSinkRecord> transformSink(List<RowSinkRecord> records) {
+    List<RowSinkRecord> result = new ArrayList<>(records.size());
+    for (RowSinkRecord record : records) {
+      Row row = transform(record.row());
+      if (row == null) continue;
+      if (row == record.row()) result.add(record);
+      else
+        result.add(
+            RowSinkRecord.builder()
+                .topicName(record.topicName())
+                .row(row)
+                .partition(record.partition())
+                .offset(record.offset())
+                .timestamp(record.timestamp())
+                .timestampType(record.timestampType())
+                .build());
+    }
+    return result;
+  }
+
+  private static Cell<?> find(List<Cell<?>> cells, String name) {
+    // the number of cells is small so the loop is cheaper than building a map for each row
+    for (Cell<?> cell : cells) if (cell.name().equals(name)) return cell;
+    throw new IllegalArgumentException("the cell:" + name + " does not exist");
+  }
+
+  /**
+   * parse the "key=value" strings.
+   *
+   * @param strings strings
+   * @return a map of keys and values
+   */
+  private static Map<String, String> pairs(List<String> strings) {
+    Map<String, String> pairs = new HashMap<>();
+    strings.forEach(
+        s -> {
+          int index = s.indexOf('=');
+          if (index <= 0 || index == s.length() - 1)
+            throw new IllegalArgumentException("the " + s + " is not in the form of \"a=b\"");
+          pairs.put(s.substring(0, index).trim(), s.substring(index + 1).trim());
+        });
+    return pairs;
+  }
+
+  /**
+   * compile the predicate in the form of "column operator value". For example, "age>=10" or
+   * "name==chia". The value is compared numerically if both cell value and predicate value are
+   * numbers. Otherwise, they are compared as strings. The row having no such column is filtered
+   * out.
+   *
+   * @param filter predicate string
+   * @return predicate
+   */
+  private static Predicate<Row> toPredicate(String filter) {
+    int index = -1;
+    String operator = null;
+    for (String op : OPERATORS) {
+      int i = filter.indexOf(op);
+      if (i > 0 && (index < 0 || i < index)) {
+        index = i;
+        operator = op;
+      }
+    }
+    if (operator == null)
+      throw new IllegalArgumentException(
+          "the filter:" + filter + " must be in the form of \"column operator value\"");
+    String name = filter.substring(0, index).trim();
+    String value = filter.substring(index + operator.length()).trim();
+    Double number = toNumber(value);
+    IntPredicate result = toResult(operator);
+    return row -> {
+      for (Cell<?> cell : row.cells()) {
+        if (cell.name().equals(name)) {
+          Object v = cell.value();
+          return result.test(
+              number != null && v instanceof Number
+                  ? Double.compare(((Number) v).doubleValue(), number)
+                  : String.valueOf(v).compareTo(value));
+        }
+      }
+      return false;
+    };
+  }
+
+  private static IntPredicate toResult(String operator) {
+    switch (operator) {
+      case "==":
+        return r -> r == 0;
+      case "!=":
+        return r -> r != 0;
+      case ">=":
+        return r -> r >= 0;
+      case "<=":
+        return r -> r <= 0;
+      case ">":
+        return r -> r > 0;
+      case "<":
+      default:
+        return r -> r < 0;
+    }
+  }
+
+  private static Double toNumber(String value) {
+    try {
+      return Double.valueOf(value);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static Function<Object, Object> toCast(String type) {
+    switch (DataType.valueOf(type.toUpperCase())) {
+      case BOOLEAN:
+        return v -> v instanceof Boolean ? v : Boolean.valueOf(v.toString());
+      case BYTE:
+        return v -> v instanceof Number ? ((Number) v).byteValue() : Byte.valueOf(v.toString());
+      case SHORT:
+        return v -> v instanceof Number ? ((Number) v).shortValue() : Short.valueOf(v.toString());
+      case INT:
+        return v -> v instanceof Number ? ((Number) v).intValue() : Integer.valueOf(v.toString());
+      case LONG:
+        return v -> v instanceof Number ? ((Number) v).longValue() : Long.valueOf(v.toString());
+      case FLOAT:
+        return v -> v instanceof Number ? ((Number) v).floatValue() : Float.valueOf(v.toString());
+      case DOUBLE:
+        return v -> v instanceof Number ? ((Number) v).doubleValue() : Double.valueOf(v.toString());
+      case STRING:
+        return String::valueOf;
+      default:
+        throw new IllegalArgumentException("Unsupported type " + type + " to cast");
+    }
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector;
+
+import com.island.ohara.common.annotations.VisibleForTesting;
+import com.island.ohara.common.exception.OharaExecutionException;
+import com.island.ohara.common.exception.OharaInterruptedException;
+import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.common.util.ReleaseOnce;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded queue of batches drained by a single writer thread. It enables {@link RowSinkTask} to
+ * fetch the next batch while the writer is still writing the previous batch. The writer is called
+ * under a lock which is shared by {@link #exclusive(Supplier)} so the sink implementation does not
+ * need to handle the concurrent calls of _put and _preCommit.
+ *
+ * <p>The written offsets are updated only after the writer returns. Hence, the offsets committed by
+ * {@link #committable(Map)} never cover the rows which are not written yet.
+ */
+final class SinkPipeline extends ReleaseOnce {
+  private static final Logger log = LoggerFactory.getLogger(SinkPipeline.class);
+  /** the marker used to stop the writer thread. Noted: it is compared by reference. */
+  private final List<RowSinkRecord> end = new ArrayList<>(0);
+
+  private final BlockingQueue<List<RowSinkRecord>> queue;
+  private final Consumer<List<RowSinkRecord>> writer;
+  private final Object lock = new Object();
+  /** the next offset to write. It is updated by the writer thread. */
+  private final Map<TopicPartition, Long> written = new ConcurrentHashMap<>();
+
+  private final AtomicReference<Throwable> error = new AtomicReference<>();
+  private final Thread thread;
+  /** number of batches which are queued but not written yet. It is guarded by this object. */
+  private int pending = 0;
+
+  SinkPipeline(int queueSize, Consumer<List<RowSinkRecord>> writer) {
+    this.queue = new ArrayBlockingQueue<>(CommonUtils.requirePositiveInt(queueSize));
+    this.writer = Objects.requireNonNull(writer);
+    this.thread = new Thread(this::drain, "sink-pipeline");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  private void drain() {
+    while (true) {
+      List<RowSinkRecord> records;
+      try {
+        records = queue.take();
+      } catch (InterruptedException e) {
+        log.error("the sink pipeline is interrupted", e);
+        return;
+      }
+      if (records == end) return;
+      try {
+        // the batches following a failed batch are discarded
+        if (error.get() == null) {
+          synchronized (lock) {
+            writer.accept(records);
+          }
+          records.forEach(
+              record ->
+                  written.merge(
+                      new TopicPartition(record.topicName(), record.partition()),
+                      record.offset() + 1,
+                      Math::max));
+        }
+      } catch (Throwable e) {
+        error.compareAndSet(null, e);
+      } finally {
+        synchronized (this) {
+          --pending;
+          notifyAll();
+        }
+      }
+    }
+  }
+
+  /**
+   * queue the records. It is blocked if the queue is full.
+   *
+   * @param records records
+   * @throws OharaExecutionException if writer failed to write previous records
+   */
+  void put(List<RowSinkRecord> records) {
+    checkError();
+    if (records.isEmpty()) return;
+    synchronized (this) {
+      ++pending;
+    }
+    try {
+      queue.put(records);
+    } catch (InterruptedException e) {
+      synchronized (this) {
+        --pending;
+      }
+      throw new OharaInterruptedException(e);
+    }
+  }
+
+  /** wait for all queued records to be written. */
+  void flush() {
+    synchronized (this) {
+      while (pending > 0) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          throw new OharaInterruptedException(e);
+        }
+      }
+    }
+    checkError();
+  }
+
+  /**
+   * run the action when the writer is idle.
+   *
+   * @param action action
+   * @param <T> return type
+   * @return the result of action
+   */
+  <T> T exclusive(Supplier<T> action) {
+    synchronized (lock) {
+      return action.get();
+    }
+  }
+
+  /**
+   * filter the offsets by the written offsets. The partition having no written data is excluded.
+   *
+   * @param offsets the offsets of records passed to pipeline
+   * @return the offsets which are safe to commit
+   */
+  Map<TopicPartition, TopicOffset> committable(Map<TopicPartition, TopicOffset> offsets) {
+    checkError();
+    return offsets.entrySet().stream()
+        .filter(e -> written.containsKey(e.getKey()))
+        .collect(
+            Collectors.toMap(
+                Map.Entry::getKey,
+                e ->
+                    new TopicOffset(
+                        e.getValue().metadata(),
+                        Math.min(e.getValue().offset(), written.get(e.getKey())))));
+  }
+
+  /**
+   * remove the written offsets of partitions.
+   *
+   * @param partitions the partitions which are no longer assigned to this task
+   */
+  void remove(Collection<TopicPartition> partitions) {
+    partitions.forEach(written::remove);
+  }
+
+  @VisibleForTesting
+  Map<TopicPartition, Long> written() {
+    return Collections.unmodifiableMap(written);
+  }
+
+  private void checkError() {
+    Throwable e = error.get();
+    if (e != null) throw new OharaExecutionException("failed to write the records", e);
+  }
+
+  @Override
+  protected void doClose() {
+    try {
+      // the queued records are written before stopping
+      queue.put(end);
+      thread.join();
+    } catch (InterruptedException e) {
+      log.error("interrupted when waiting for the sink pipeline", e);
+      thread.interrupt();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector;
+
+import com.island.ohara.common.data.Cell;
+import com.island.ohara.common.data.Row;
+import com.island.ohara.common.data.Serializer;
+import com.island.ohara.common.util.ByteUtils;
+import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.kafka.connector.json.ConnectorDefUtils;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.apache.kafka.connect.source.SourceRecord;
+
+/**
+ * Convert the {@link RowSourceRecord} to kafka's {@link SourceRecord} according to the row settings
+ * of source connector. see {@link ConnectorDefUtils#ROW_FORMAT_DEFINITION}, {@link
+ * ConnectorDefUtils#ROW_KEY_COLUMNS_DEFINITION} and {@link
+ * ConnectorDefUtils#ROW_PARTITIONER_DEFINITION}
+ */
+final class SourceRecordConverter {
+
+  enum Format {
+    /** the row is stored in the key and the value is empty. */
+    KEY,
+    /** the row is stored in the value and the key is composed of key columns. */
+    VALUE
+  }
+
+  enum Partitioner {
+    /** the partition is computed by the hash of key. The keyless records are sent round-robin. */
+    HASH,
+    /** all keyless records returned by a poll are sent to the same partition. */
+    STICKY
+  }
+
+  static SourceRecordConverter of(TaskSetting setting) {
+    return new SourceRecordConverter(
+        Format.valueOf(
+            setting
+                .stringOption(ConnectorDefUtils.ROW_FORMAT_DEFINITION.key())
+                .orElse(Format.KEY.name())
+                .toUpperCase()),
+        setting
+            .stringListOption(ConnectorDefUtils.ROW_KEY_COLUMNS_DEFINITION.key())
+            .orElse(Collections.emptyList()),
+        Partitioner.valueOf(
+            setting
+                .stringOption(ConnectorDefUtils.ROW_PARTITIONER_DEFINITION.key())
+                .orElse(Partitioner.HASH.name())
+                .toUpperCase()));
+  }
+
+  private final Format format;
+  private final List<String> keyColumns;
+  private final Partitioner partitioner;
+  /**
+   * the sticky key is changed for each batch so the batches are spread over all partitions. It
+   * starts from a random number in order to avoid all tasks sending the data to same partition.
+   */
+  private long batch = CommonUtils.randomInteger();
+
+  SourceRecordConverter(Format format, List<String> keyColumns, Partitioner partitioner) {
+    this.format = Objects.requireNonNull(format);
+    this.keyColumns = Collections.unmodifiableList(Objects.requireNonNull(keyColumns));
+    this.partitioner = Objects.requireNonNull(partitioner);
+    if (format == Format.KEY && !keyColumns.isEmpty())
+      throw new IllegalArgumentException(
+          "the key columns:" + keyColumns + " require the \"value\" row format");
+    if (format == Format.KEY && partitioner == Partitioner.STICKY)
+      throw new IllegalArgumentException(
+          "the sticky partitioner requires the \"value\" row format");
+  }
+
+  List<SourceRecord> convert(List<RowSourceRecord> records) {
+    switch (format) {
+      case VALUE:
+        byte[] stickyKey =
+            partitioner == Partitioner.STICKY && keyColumns.isEmpty()
+                ? ByteUtils.toBytes(batch++)
+                : null;
+        return records.stream()
+            .map(
+                record ->
+                    record.toSourceRecord(
+                        stickyKey != null ? stickyKey : key(record.row()), record.serializedRow()))
+            .collect(Collectors.toList());
+      case KEY:
+      default:
+        return records.stream().map(RowSourceRecord::toSourceRecord).collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * @param row row
+   * @return the serialized row composed of key columns, or null if there is no key columns
+   */
+  private byte[] key(Row row) {
+    if (keyColumns.isEmpty()) return null;
+    return Serializer.ROW.to(Row.of(keyColumns.stream().map(row::cell).toArray(Cell[]::new)));
+  }
+}
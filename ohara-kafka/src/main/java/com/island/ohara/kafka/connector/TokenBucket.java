@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector;
+
+import com.island.ohara.common.annotations.VisibleForTesting;
+import com.island.ohara.common.util.CommonUtils;
+import java.util.Objects;
+
+/**
+ * A simple token bucket used to throttle the source task. The bucket is refilled by the rate and it
+ * can hold the tokens of one second at most. The acquisition never fails. Instead, it borrows the
+ * tokens and return the time to wait for paying back the debt. Hence, a batch which is bigger than
+ * the capacity is still acceptable.
+ *
+ * <p>This class is not thread-safe.
+ */
+final class TokenBucket {
+  private final long permitsPerSecond;
+  private final CommonUtils.Timer timer;
+  private double tokens;
+  private long lastRefill;
+
+  TokenBucket(long permitsPerSecond) {
+    this(permitsPerSecond, CommonUtils::current);
+  }
+
+  @VisibleForTesting
+  TokenBucket(long permitsPerSecond, CommonUtils.Timer timer) {
+    this.permitsPerSecond = CommonUtils.requirePositiveLong(permitsPerSecond);
+    this.timer = Objects.requireNonNull(timer);
+    this.tokens = permitsPerSecond;
+    this.lastRefill = timer.current();
+  }
+
+  /**
+   * take the permits from this bucket.
+   *
+   * @param permits number of permits
+   * @return the time (in milliseconds) to wait for the permits. zero means no wait is needed
+   */
+  long acquire(long permits) {
+    long now = timer.current();
+    tokens = Math.min(permitsPerSecond, tokens + (now - lastRefill) * permitsPerSecond / 1000D);
+    lastRefill = now;
+    tokens -= CommonUtils.requireNonNegativeLong(permits);
+    return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * 1000D / permitsPerSecond);
+  }
+}
@@ -26,9 +26,32 @@ public interface CsvConnector {
   String ROTATE_INTERVAL_MS_CONFIG = "rotate.interval.ms";
   long ROTATE_INTERVAL_MS_DEFAULT = 60000;
 
+  String ROTATE_SIZE_BYTES_CONFIG = "rotate.size.bytes";
+  long ROTATE_SIZE_BYTES_DEFAULT = 0;
+
+  String COMMIT_THREADS_CONFIG = "commit.threads";
+  int COMMIT_THREADS_DEFAULT = 0;
+
+  String WRITER_THREADS_CONFIG = "writer.threads";
+  int WRITER_THREADS_DEFAULT = 1;
+
   String FILE_NEED_HEADER_CONFIG = "file.need.header";
   boolean FILE_NEED_HEADER_DEFAULT = true;
 
   String FILE_ENCODE_CONFIG = "file.encode";
   String FILE_ENCODE_DEFAULT = "UTF-8";
+
+  String FILE_BUFFER_SIZE_CONFIG = "file.buffer.size";
+  int FILE_BUFFER_SIZE_DEFAULT = 256 * 1024;
+
+  String FILE_COMPRESSION_CONFIG = "file.compression";
+  String FILE_COMPRESSION_DEFAULT = "none";
+
+  String FILE_FORMAT_CONFIG = "file.format";
+  String FILE_FORMAT_CSV = "csv";
+  String FILE_FORMAT_PARQUET = "parquet";
+  String FILE_FORMAT_DEFAULT = FILE_FORMAT_CSV;
+
+  String PARQUET_ROW_GROUP_SIZE_CONFIG = "parquet.row.group.size";
+  int PARQUET_ROW_GROUP_SIZE_DEFAULT = 8 * 1024 * 1024;
 }
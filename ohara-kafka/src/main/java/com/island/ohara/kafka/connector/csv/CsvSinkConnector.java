@@ -35,8 +35,15 @@ import java.util.stream.Stream;
  *   <li>TOPICS_DIR_DEFINITION: Read csv data from topic and then write to this folder
  *   <li>FLUSH_SIZE_DEFINITION: Number of records write to store before invoking file commits
  *   <li>ROTATE_INTERVAL_MS_DEFINITION: Commit file time
+ *   <li>ROTATE_SIZE_BYTES_DEFINITION: Commit file when the written size reaches this value
+ *   <li>COMMIT_THREADS_DEFINITION: Number of threads committing files in the background
+ *   <li>WRITER_THREADS_DEFINITION: Number of threads writing the partitions concurrently
  *   <li>FILE_NEED_HEADER_DEFINITION: File need header for flush data
  *   <li>FILE_ENCODE_DEFINITION: File encode for write to file
+ *   <li>FILE_BUFFER_SIZE_DEFINITION: The number of chars buffered before writing to file
+ *   <li>FILE_COMPRESSION_DEFINITION: The compression codec of output file
+ *   <li>FILE_FORMAT_DEFINITION: The format of output file
+ *   <li>PARQUET_ROW_GROUP_SIZE_DEFINITION: The size of row group buffered by each parquet file
  * </ul>
  */
 public abstract class CsvSinkConnector extends RowSinkConnector implements CsvConnector {
@@ -66,6 +73,41 @@ public abstract class CsvSinkConnector extends RowSinkConnector implements CsvCo
           .optional(ROTATE_INTERVAL_MS_DEFAULT)
           .build();
 
+  public static final SettingDef ROTATE_SIZE_BYTES_DEFINITION =
+      SettingDef.builder()
+          .displayName("Rotate Size(Bytes)")
+          .documentation(
+              "Commit file when the written size reaches this value. The size is counted by the"
+                  + " written chars so it is approximate for multi-byte encodings. 0 disables it")
+          .valueType(SettingDef.Type.LONG)
+          .key(ROTATE_SIZE_BYTES_CONFIG)
+          .optional(ROTATE_SIZE_BYTES_DEFAULT)
+          .build();
+
+  public static final SettingDef COMMIT_THREADS_DEFINITION =
+      SettingDef.builder()
+          .displayName("Commit Threads")
+          .documentation(
+              "Number of threads committing files in the background so the next file can be written"
+                  + " while the previous file is committing. 0 means the files are committed by the"
+                  + " task thread. It is ignored if the storage is not thread-safe (for example, ftp)")
+          .valueType(SettingDef.Type.INT)
+          .key(COMMIT_THREADS_CONFIG)
+          .optional(COMMIT_THREADS_DEFAULT)
+          .build();
+
+  public static final SettingDef WRITER_THREADS_DEFINITION =
+      SettingDef.builder()
+          .displayName("Writer Threads")
+          .documentation(
+              "Number of threads writing the topic partitions concurrently so a slow partition does"
+                  + " not stall the others. 1 means the partitions are written one by one. It is"
+                  + " ignored if the storage is not thread-safe (for example, ftp)")
+          .valueType(SettingDef.Type.INT)
+          .key(WRITER_THREADS_CONFIG)
+          .optional(WRITER_THREADS_DEFAULT)
+          .build();
+
   public static final SettingDef FILE_NEED_HEADER_DEFINITION =
       SettingDef.builder()
           .displayName("File Need Header")
@@ -84,14 +126,67 @@ public abstract class CsvSinkConnector extends RowSinkConnector implements CsvCo
           .optional(FILE_ENCODE_DEFAULT)
           .build();
 
+  public static final SettingDef FILE_BUFFER_SIZE_DEFINITION =
+      SettingDef.builder()
+          .displayName("File Buffer Size")
+          .documentation("The number of chars buffered before writing to file")
+          .valueType(SettingDef.Type.INT)
+          .key(FILE_BUFFER_SIZE_CONFIG)
+          .optional(FILE_BUFFER_SIZE_DEFAULT)
+          .build();
+
+  public static final SettingDef FILE_COMPRESSION_DEFINITION =
+      SettingDef.builder()
+          .displayName("File Compression")
+          .documentation(
+              "The compression codec of output file. The supported codecs are none, gzip, snappy,"
+                  + " lz4 and zstd")
+          .valueType(SettingDef.Type.STRING)
+          .key(FILE_COMPRESSION_CONFIG)
+          .optional(FILE_COMPRESSION_DEFAULT)
+          .build();
+
+  public static final SettingDef FILE_FORMAT_DEFINITION =
+      SettingDef.builder()
+          .displayName("File Format")
+          .documentation(
+              "The format of output file. The supported formats are csv and parquet. The parquet"
+                  + " format requires the hadoop libraries (hadoop-common) on the worker classpath."
+                  + " They are bundled with hdfs sink only. A parquet file buffers a row group in"
+                  + " memory and a file is opened for each topic partition, so the memory used by a"
+                  + " task is about the number of partitions times the row group size")
+          .valueType(SettingDef.Type.STRING)
+          .key(FILE_FORMAT_CONFIG)
+          .optional(FILE_FORMAT_DEFAULT)
+          .build();
+
+  public static final SettingDef PARQUET_ROW_GROUP_SIZE_DEFINITION =
+      SettingDef.builder()
+          .displayName("Parquet Row Group Size")
+          .documentation(
+              "The size (in bytes) of row group buffered in memory by each parquet file before it is"
+                  + " flushed. It is capped by the rotate size if the rotate size is enabled."
+                  + " It is used by the parquet format only")
+          .valueType(SettingDef.Type.INT)
+          .key(PARQUET_ROW_GROUP_SIZE_CONFIG)
+          .optional(PARQUET_ROW_GROUP_SIZE_DEFAULT)
+          .build();
+
   /** the default definitions for csv sink connector. */
   public static final List<SettingDef> SINK_DEFINITIONS_DEFAULT =
       Arrays.asList(
           TOPICS_DIR_DEFINITION,
           FLUSH_SIZE_DEFINITION,
           ROTATE_INTERVAL_MS_DEFINITION,
+          ROTATE_SIZE_BYTES_DEFINITION,
+          COMMIT_THREADS_DEFINITION,
+          WRITER_THREADS_DEFINITION,
           FILE_NEED_HEADER_DEFINITION,
-          FILE_ENCODE_DEFINITION);
+          FILE_ENCODE_DEFINITION,
+          FILE_BUFFER_SIZE_DEFINITION,
+          FILE_COMPRESSION_DEFINITION,
+          FILE_FORMAT_DEFINITION,
+          PARQUET_ROW_GROUP_SIZE_DEFINITION);
 
   @Override
   public List<SettingDef> definitions() {
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.csv.sink;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+import org.xerial.snappy.SnappyFramedOutputStream;
+
+/**
+ * The compression codecs of output files. The codecs are provided by the libraries on the classpath
+ * of kafka so there is no extra dependency. The compressor is put between the writer and the output
+ * stream of storage so the data is compressed while it is written and there is no extra copy.
+ */
+public enum CsvCompression {
+  NONE(""),
+  GZIP(".gz"),
+  SNAPPY(".snappy"),
+  LZ4(".lz4"),
+  ZSTD(".zst");
+
+  private final String extension;
+
+  CsvCompression(String extension) {
+    this.extension = extension;
+  }
+
+  /** @return the extension appended to the name of output file. Empty if there is no compression */
+  public String extension() {
+    return extension;
+  }
+
+  /**
+   * wrap the output stream by the compressor of this codec. Closing the returned stream finishes
+   * the compression and closes the wrapped stream.
+   *
+   * @param output output stream of storage
+   * @return compressed output stream
+   * @throws IOException if it fails to write the header of compressed stream
+   */
+  public OutputStream wrap(OutputStream output) throws IOException {
+    switch (this) {
+      case GZIP:
+        return new GZIPOutputStream(output, 64 * 1024);
+      case SNAPPY:
+        return new SnappyFramedOutputStream(output);
+      case LZ4:
+        return new LZ4FrameOutputStream(output);
+      case ZSTD:
+        return new ZstdOutputStream(output);
+      case NONE:
+      default:
+        return output;
+    }
+  }
+
+  /**
+   * parse the codec name. The name is case-insensitive.
+   *
+   * @param name codec name
+   * @return codec
+   */
+  public static CsvCompression of(String name) {
+    return Arrays.stream(values())
+        .filter(c -> c.name().equalsIgnoreCase(name))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new IllegalArgumentException(
+                    "unsupported compression: "
+                        + name
+                        + ". The supported compressions are "
+                        + Arrays.stream(values())
+                            .map(c -> c.name().toLowerCase())
+                            .collect(Collectors.joining(","))));
+  }
+}
@@ -23,18 +23,34 @@ import com.island.ohara.kafka.connector.RowSinkRecord;
 import com.island.ohara.kafka.connector.TopicPartition;
 import com.island.ohara.kafka.connector.storage.Storage;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Write the records to the {@link TopicPartitionWriter}s. If there are more than one writer thread,
+ * the topic partitions are written concurrently so a slow partition (for example, a slow datanode
+ * pipeline) does not stall the others. Each topic partition is written by one thread at a time and
+ * its offset is committed independently.
+ */
 public class CsvDataWriter implements DataWriter {
   private static final Logger LOG = LoggerFactory.getLogger(CsvDataWriter.class);
+  private static final AtomicInteger THREAD_INDEX = new AtomicInteger(0);
 
   private final Set<TopicPartition> assignment;
   private final Map<TopicPartition, TopicPartitionWriter> topicPartitionWriters;
   private RowSinkContext context;
   private CsvSinkConfig config;
   private Storage storage;
-  private CsvRecordWriterProvider writerProvider;
+  private RecordWriterProvider writerProvider;
+  private final FileCommitter committer;
+  /** null if the partitions are written by the caller thread. */
+  private final ExecutorService executor;
 
   public CsvDataWriter(CsvSinkConfig config, RowSinkContext context, Storage storage) {
     assignment = new HashSet<>();
@@ -42,10 +58,56 @@ public class CsvDataWriter implements DataWriter {
     this.context = context;
     this.config = config;
     this.storage = storage;
-    this.writerProvider = new CsvRecordWriterProvider(storage);
+    this.writerProvider =
+        config.format().equals(CsvSinkConfig.FILE_FORMAT_PARQUET)
+            ? new ParquetRecordWriterProvider(storage, config.compression())
+            : new CsvRecordWriterProvider(storage, config.compression());
+    this.committer = new FileCommitter(commitThreads(config, storage));
+    int writerThreads = writerThreads(config, storage);
+    this.executor =
+        writerThreads <= 1
+            ? null
+            : Executors.newFixedThreadPool(
+                writerThreads,
+                r -> {
+                  Thread thread =
+                      new Thread(r, "csv-data-writer-" + THREAD_INDEX.getAndIncrement());
+                  thread.setDaemon(true);
+                  return thread;
+                });
     attach(context.assignment());
   }
 
+  /**
+   * the files can't be committed in the background if the storage is not thread-safe since the task
+   * thread is writing the next files through the same storage.
+   */
+  private static int commitThreads(CsvSinkConfig config, Storage storage) {
+    if (config.commitThreads() > 0 && !storage.threadSafe()) {
+      LOG.warn(
+          "{} is not thread-safe so {} is ignored. The files are committed by the task thread",
+          storage.getClass().getName(),
+          CsvSinkConfig.COMMIT_THREADS_CONFIG);
+      return 0;
+    }
+    return config.commitThreads();
+  }
+
+  /**
+   * the partitions can't be written concurrently if the storage is not thread-safe since all
+   * partitions are written through the same storage.
+   */
+  private static int writerThreads(CsvSinkConfig config, Storage storage) {
+    if (config.writerThreads() > 1 && !storage.threadSafe()) {
+      LOG.warn(
+          "{} is not thread-safe so {} is ignored. The partitions are written by the task thread",
+          storage.getClass().getName(),
+          CsvSinkConfig.WRITER_THREADS_CONFIG);
+      return 1;
+    }
+    return config.writerThreads();
+  }
+
   @Override
   public void attach(Collection<TopicPartition> partitions) {
     assignment.addAll(partitions);
@@ -53,7 +115,7 @@ public class CsvDataWriter implements DataWriter {
         tp -> {
           if (!topicPartitionWriters.containsKey(tp)) {
             topicPartitionWriters.put(
-                tp, new TopicPartitionWriter(tp, writerProvider, config, context));
+                tp, new TopicPartitionWriter(tp, writerProvider, config, context, committer));
           }
         });
   }
@@ -65,7 +127,33 @@ public class CsvDataWriter implements DataWriter {
           TopicPartition tp = new TopicPartition(record.topicName(), record.partition());
           topicPartitionWriters.get(tp).buffer(record);
         });
-    assignment.forEach(tp -> topicPartitionWriters.get(tp).write());
+    if (executor == null) assignment.forEach(tp -> topicPartitionWriters.get(tp).write());
+    else {
+      List<Future<?>> futures = new ArrayList<>(assignment.size());
+      assignment.forEach(
+          tp -> {
+            TopicPartitionWriter writer = topicPartitionWriters.get(tp);
+            futures.add(executor.submit(writer::write));
+          });
+      // wait for all partitions so the offsets are committable after this method
+      RuntimeException exception = null;
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (InterruptedException e) {
+          // keep the interrupt status for the caller
+          Thread.currentThread().interrupt();
+          if (exception == null) exception = new RuntimeException(e);
+        } catch (ExecutionException e) {
+          if (exception == null)
+            exception =
+                e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new RuntimeException(e.getCause());
+        }
+      }
+      if (exception != null) throw exception;
+    }
   }
 
   @Override
@@ -83,6 +171,15 @@ public class CsvDataWriter implements DataWriter {
     detach(assignment);
     assignment.clear();
     topicPartitionWriters.clear();
+    if (executor != null) {
+      executor.shutdownNow();
+      try {
+        executor.awaitTermination(60, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        LOG.error("failed to wait for the writer threads", e);
+      }
+    }
+    Releasable.close(committer);
     Releasable.close(storage);
   }
 
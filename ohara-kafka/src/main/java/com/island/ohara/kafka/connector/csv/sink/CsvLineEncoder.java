@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.csv.sink;
+
+import com.island.ohara.common.data.Cell;
+import com.island.ohara.common.data.Column;
+import com.island.ohara.common.data.DataType;
+import com.island.ohara.common.data.Row;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Encode the rows to csv lines. The schema is sorted and compiled once so the encoding of a row is
+ * a single pass over the cells, and the fields are written to the writer directly. The field
+ * containing comma, quote or line separator is quoted, and the quote is escaped by another quote
+ * (RFC 4180).
+ *
+ * <p>If there is no schema, all cells of a row are written in the order of cells.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class CsvLineEncoder {
+  private static final char DELIMITER = ',';
+  private static final char QUOTE = '"';
+
+  /** the names of cells in the order of columns. It is null if there is no schema. */
+  private final String[] names;
+
+  private final String[] newNames;
+  /** the cells of current row. It is reused by all rows. */
+  private final Cell<?>[] cells;
+
+  /**
+   * @param schema the schema. Empty or null schema means all cells are written in the order of
+   *     cells
+   */
+  public CsvLineEncoder(List<Column> schema) {
+    if (schema == null || schema.isEmpty()) {
+      names = null;
+      newNames = null;
+      cells = null;
+    } else {
+      Column[] columns =
+          schema.stream().sorted(Comparator.comparing(Column::order)).toArray(Column[]::new);
+      names = new String[columns.length];
+      newNames = new String[columns.length];
+      cells = new Cell<?>[columns.length];
+      for (int i = 0; i != columns.length; ++i) {
+        if (columns[i].dataType() == DataType.BYTES)
+          throw new IllegalArgumentException(
+              "CSV sink connector not support type: " + columns[i].dataType());
+        names[i] = columns[i].name();
+        newNames[i] = columns[i].newName();
+      }
+    }
+  }
+
+  /**
+   * write the header of csv file.
+   *
+   * @param row the first row. It is used to generate the header if there is no schema
+   * @param writer writer
+   * @throws IOException if it fails to write
+   */
+  public void writeHeader(Row row, Writer writer) throws IOException {
+    if (newNames != null) writeFields(newNames, writer);
+    else writeFields(row.names().toArray(new String[0]), writer);
+  }
+
+  private static void writeFields(String[] fields, Writer writer) throws IOException {
+    for (int i = 0; i != fields.length; ++i) {
+      if (i != 0) writer.write(DELIMITER);
+      writeField(fields[i], writer);
+    }
+  }
+
+  /**
+   * @param row row
+   * @return true if the row has any cell to be written
+   */
+  public boolean canEncode(Row row) {
+    if (names == null) return !row.cells().isEmpty();
+    List<Cell<?>> rowCells = row.cells();
+    for (int i = 0; i != names.length; ++i) if (find(rowCells, names[i], i) != null) return true;
+    return false;
+  }
+
+  /**
+   * write the row as a csv line. The line separator is not written. The field of missed cell is
+   * empty, and nothing is written if all cells are missed.
+   *
+   * @param row row
+   * @param writer writer
+   * @return false if nothing is written
+   * @throws IOException if it fails to write
+   */
+  public boolean write(Row row, Writer writer) throws IOException {
+    List<Cell<?>> rowCells = row.cells();
+    if (names == null) {
+      if (rowCells.isEmpty()) return false;
+      for (int i = 0; i != rowCells.size(); ++i) {
+        if (i != 0) writer.write(DELIMITER);
+        writeField(rowCells.get(i).value(), writer);
+      }
+      return true;
+    }
+    boolean found = false;
+    for (int i = 0; i != names.length; ++i) {
+      cells[i] = find(rowCells, names[i], i);
+      found |= cells[i] != null;
+    }
+    if (!found) return false;
+    for (int i = 0; i != cells.length; ++i) {
+      if (i != 0) writer.write(DELIMITER);
+      if (cells[i] != null) writeField(cells[i].value(), writer);
+      cells[i] = null;
+    }
+    return true;
+  }
+
+  /**
+   * find the cell by name. The cells are usually in the same order of columns so the cell at the
+   * same index is checked first.
+   */
+  private static Cell<?> find(List<Cell<?>> cells, String name, int index) {
+    if (index < cells.size() && cells.get(index).name().equals(name)) return cells.get(index);
+    for (Cell<?> cell : cells) if (cell.name().equals(name)) return cell;
+    return null;
+  }
+
+  private static void writeField(Object value, Writer writer) throws IOException {
+    String s = value instanceof String ? (String) value : Objects.toString(value);
+    boolean needQuote = false;
+    for (int i = 0; i != s.length() && !needQuote; ++i) {
+      char c = s.charAt(i);
+      needQuote = c == DELIMITER || c == QUOTE || c == '\n' || c == '\r';
+    }
+    if (!needQuote) {
+      writer.write(s);
+      return;
+    }
+    writer.write(QUOTE);
+    int start = 0;
+    for (int i = 0; i != s.length(); ++i) {
+      if (s.charAt(i) == QUOTE) {
+        // write the chars including the quote, and then the quote is written again
+        writer.write(s, start, i + 1 - start);
+        start = i;
+      }
+    }
+    writer.write(s, start, s.length() - start);
+    writer.write(QUOTE);
+  }
+}
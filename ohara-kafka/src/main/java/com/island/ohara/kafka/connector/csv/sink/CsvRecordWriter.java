@@ -16,7 +16,6 @@
 
 package com.island.ohara.kafka.connector.csv.sink;
 
-import com.island.ohara.common.data.Column;
 import com.island.ohara.common.util.Releasable;
 import com.island.ohara.kafka.connector.RowSinkRecord;
 import com.island.ohara.kafka.connector.storage.Storage;
@@ -24,26 +23,31 @@ import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class CsvRecordWriter implements RecordWriter {
   private static final Logger LOG = LoggerFactory.getLogger(CsvRecordWriter.class);
+  private static final String LINE_SEPARATOR = System.lineSeparator();
 
   private final Storage storage;
-  private final List<Column> schema;
+  private final CsvLineEncoder encoder;
   private final boolean needHeader;
+  private final int bufferSize;
+  private final CsvCompression compression;
   private final String encode;
   private final Path committedFile;
   private final Path temporaryFile;
 
   private BufferedWriter bufferedWriter;
+  private CountingWriter countingWriter;
 
   public CsvRecordWriter(final CsvSinkConfig config, final String filePath, final Storage storage) {
     this.storage = storage;
-    this.schema = config.schema();
+    this.encoder = new CsvLineEncoder(config.schema());
     this.needHeader = config.needHeader();
+    this.bufferSize = config.bufferSize();
+    this.compression = config.compression();
     this.encode = config.encode();
     this.committedFile = Paths.get(filePath);
     this.temporaryFile = FileUtils.temporaryFile(committedFile);
@@ -52,29 +56,37 @@ public class CsvRecordWriter implements RecordWriter {
   public void write(RowSinkRecord record) {
     LOG.trace("Sink record: {}", record);
     try {
-      List<Column> newSchema = RecordUtils.newSchema(schema, record);
-      String line = RecordUtils.toLine(newSchema, record);
-      if (RecordUtils.isNonEmpty(line)) {
-        if (bufferedWriter == null) {
-          OutputStream out = storage.create(temporaryFile.toString());
-          bufferedWriter = new BufferedWriter(new OutputStreamWriter(out, Charset.forName(encode)));
-
-          if (needHeader) {
-            bufferedWriter.append(RecordUtils.toHeader(newSchema));
-            bufferedWriter.newLine();
-          }
-        }
+      if (bufferedWriter == null) {
+        // don't create the file if there is nothing to write
+        if (!encoder.canEncode(record.row())) return;
+        OutputStream out = compression.wrap(storage.create(temporaryFile.toString()));
+        bufferedWriter =
+            new BufferedWriter(new OutputStreamWriter(out, Charset.forName(encode)), bufferSize);
+        countingWriter = new CountingWriter(bufferedWriter);
 
-        bufferedWriter.append(line);
-        bufferedWriter.newLine();
+        if (needHeader) {
+          encoder.writeHeader(record.row(), countingWriter);
+          countingWriter.write(LINE_SEPARATOR);
+        }
       }
+      if (encoder.write(record.row(), countingWriter)) countingWriter.write(LINE_SEPARATOR);
     } catch (IOException e) {
       LOG.error(e.getMessage());
       throw new RuntimeException(e);
     }
   }
 
+  /**
+   * @return the number of chars written to this file. It is equal to the file size if the encoding
+   *     is single-byte.
+   */
+  public long size() {
+    return countingWriter == null ? 0 : countingWriter.count;
+  }
+
   public void commit() {
+    // nothing is written so there is no file to commit
+    if (bufferedWriter == null) return;
     try {
       bufferedWriter.flush();
       Releasable.close(bufferedWriter);
@@ -87,4 +99,31 @@ public class CsvRecordWriter implements RecordWriter {
   public void close() {
     Releasable.close(bufferedWriter);
   }
+
+  /** count the chars passed to the underlying writer. */
+  private static class CountingWriter extends FilterWriter {
+    private long count = 0;
+
+    CountingWriter(Writer out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+      out.write(c);
+      count++;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+      out.write(chars, offset, length);
+      count += length;
+    }
+
+    @Override
+    public void write(String str, int offset, int length) throws IOException {
+      out.write(str, offset, length);
+      count += length;
+    }
+  }
 }
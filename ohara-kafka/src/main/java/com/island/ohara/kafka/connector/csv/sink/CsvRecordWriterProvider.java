@@ -17,18 +17,30 @@
 package com.island.ohara.kafka.connector.csv.sink;
 
 import com.island.ohara.kafka.connector.storage.Storage;
+import java.util.Objects;
 
 public class CsvRecordWriterProvider implements RecordWriterProvider {
   private static final String EXTENSION = ".csv";
 
   private final Storage storage;
+  private final CsvCompression compression;
 
   public CsvRecordWriterProvider(Storage storage) {
+    this(storage, CsvCompression.NONE);
+  }
+
+  /**
+   * @param storage storage
+   * @param compression the compression codec of output files. It should be equal to the codec in
+   *     the config passed to {@link #getRecordWriter(CsvSinkConfig, String)}
+   */
+  public CsvRecordWriterProvider(Storage storage, CsvCompression compression) {
     this.storage = storage;
+    this.compression = Objects.requireNonNull(compression);
   }
 
   public String getExtension() {
-    return EXTENSION;
+    return EXTENSION + compression.extension();
   }
 
   public CsvRecordWriter getRecordWriter(CsvSinkConfig config, String filePath) {
@@ -18,6 +18,7 @@ package com.island.ohara.kafka.connector.csv.sink;
 
 import com.island.ohara.common.annotations.VisibleForTesting;
 import com.island.ohara.common.data.Column;
+import com.island.ohara.common.util.CommonUtils;
 import com.island.ohara.kafka.connector.TaskSetting;
 import com.island.ohara.kafka.connector.csv.CsvConnector;
 import java.util.*;
@@ -26,17 +27,31 @@ import java.util.*;
 public class CsvSinkConfig implements CsvConnector {
   private final int flushSize;
   private final long rotateIntervalMs;
+  private final long rotateSizeBytes;
+  private final int commitThreads;
+  private final int writerThreads;
   private final String topicsDir;
   private final String encode;
   private final boolean needHeader;
+  private final int bufferSize;
+  private final CsvCompression compression;
+  private final String format;
+  private final int parquetRowGroupSize;
   private final List<Column> schema;
 
   private CsvSinkConfig(Builder builder) {
     this.topicsDir = builder.topicsDir;
     this.flushSize = builder.flushSize;
     this.rotateIntervalMs = builder.rotateIntervalMs;
+    this.rotateSizeBytes = builder.rotateSizeBytes;
+    this.commitThreads = builder.commitThreads;
+    this.writerThreads = builder.writerThreads;
     this.encode = builder.encode;
     this.needHeader = builder.needHeader;
+    this.bufferSize = builder.bufferSize;
+    this.compression = builder.compression;
+    this.format = builder.format;
+    this.parquetRowGroupSize = builder.parquetRowGroupSize;
     this.schema = builder.schema;
   }
 
@@ -48,6 +63,18 @@ public class CsvSinkConfig implements CsvConnector {
     return rotateIntervalMs;
   }
 
+  public long rotateSizeBytes() {
+    return rotateSizeBytes;
+  }
+
+  public int commitThreads() {
+    return commitThreads;
+  }
+
+  public int writerThreads() {
+    return writerThreads;
+  }
+
   public String topicsDir() {
     return topicsDir;
   }
@@ -60,6 +87,22 @@ public class CsvSinkConfig implements CsvConnector {
     return needHeader;
   }
 
+  public int bufferSize() {
+    return bufferSize;
+  }
+
+  public CsvCompression compression() {
+    return compression;
+  }
+
+  public String format() {
+    return format;
+  }
+
+  public int parquetRowGroupSize() {
+    return parquetRowGroupSize;
+  }
+
   public List<Column> schema() {
     return schema;
   }
@@ -100,6 +143,21 @@ public class CsvSinkConfig implements CsvConnector {
       builder.rotateIntervalMs(rotateIntervalMs.get());
     }
 
+    Optional<Long> rotateSizeBytes = setting.longOption(ROTATE_SIZE_BYTES_CONFIG);
+    if (rotateSizeBytes.isPresent()) {
+      builder.rotateSizeBytes(rotateSizeBytes.get());
+    }
+
+    Optional<Integer> commitThreads = setting.intOption(COMMIT_THREADS_CONFIG);
+    if (commitThreads.isPresent()) {
+      builder.commitThreads(commitThreads.get());
+    }
+
+    Optional<Integer> writerThreads = setting.intOption(WRITER_THREADS_CONFIG);
+    if (writerThreads.isPresent()) {
+      builder.writerThreads(writerThreads.get());
+    }
+
     Optional<Boolean> needHeader = setting.booleanOption(FILE_NEED_HEADER_CONFIG);
     if (needHeader.isPresent()) {
       builder.needHeader(needHeader.get());
@@ -110,6 +168,26 @@ public class CsvSinkConfig implements CsvConnector {
       builder.encode(encode.get());
     }
 
+    Optional<Integer> bufferSize = setting.intOption(FILE_BUFFER_SIZE_CONFIG);
+    if (bufferSize.isPresent()) {
+      builder.bufferSize(bufferSize.get());
+    }
+
+    Optional<String> compression = setting.stringOption(FILE_COMPRESSION_CONFIG);
+    if (compression.isPresent()) {
+      builder.compression(CsvCompression.of(compression.get()));
+    }
+
+    Optional<String> format = setting.stringOption(FILE_FORMAT_CONFIG);
+    if (format.isPresent()) {
+      builder.format(format.get());
+    }
+
+    Optional<Integer> parquetRowGroupSize = setting.intOption(PARQUET_ROW_GROUP_SIZE_CONFIG);
+    if (parquetRowGroupSize.isPresent()) {
+      builder.parquetRowGroupSize(parquetRowGroupSize.get());
+    }
+
     if (schema != null) {
       builder.schema(schema);
     } else {
@@ -127,8 +205,15 @@ public class CsvSinkConfig implements CsvConnector {
     private String topicsDir;
     private int flushSize = FLUSH_SIZE_DEFAULT;
     private long rotateIntervalMs = ROTATE_INTERVAL_MS_DEFAULT;
+    private long rotateSizeBytes = ROTATE_SIZE_BYTES_DEFAULT;
+    private int commitThreads = COMMIT_THREADS_DEFAULT;
+    private int writerThreads = WRITER_THREADS_DEFAULT;
     private boolean needHeader = FILE_NEED_HEADER_DEFAULT;
     private String encode = FILE_ENCODE_DEFAULT;
+    private int bufferSize = FILE_BUFFER_SIZE_DEFAULT;
+    private CsvCompression compression = CsvCompression.of(FILE_COMPRESSION_DEFAULT);
+    private String format = FILE_FORMAT_DEFAULT;
+    private int parquetRowGroupSize = PARQUET_ROW_GROUP_SIZE_DEFAULT;
     private List<Column> schema;
 
     public Builder topicsDir(String val) {
@@ -148,6 +233,38 @@ public class CsvSinkConfig implements CsvConnector {
       return this;
     }
 
+    /**
+     * @param val the size (in chars) of file to commit. 0 disables it
+     * @return this builder
+     */
+    @com.island.ohara.common.annotations.Optional("default is " + ROTATE_SIZE_BYTES_DEFAULT)
+    public Builder rotateSizeBytes(long val) {
+      rotateSizeBytes = CommonUtils.requireNonNegativeLong(val);
+      return this;
+    }
+
+    /**
+     * @param val the number of threads committing files. 0 means the files are committed by the
+     *     caller thread
+     * @return this builder
+     */
+    @com.island.ohara.common.annotations.Optional("default is " + COMMIT_THREADS_DEFAULT)
+    public Builder commitThreads(int val) {
+      commitThreads = CommonUtils.requireNonNegativeInt(val);
+      return this;
+    }
+
+    /**
+     * @param val the number of threads writing the topic partitions. 1 means the partitions are
+     *     written by the caller thread
+     * @return this builder
+     */
+    @com.island.ohara.common.annotations.Optional("default is " + WRITER_THREADS_DEFAULT)
+    public Builder writerThreads(int val) {
+      writerThreads = CommonUtils.requirePositiveInt(val);
+      return this;
+    }
+
     @com.island.ohara.common.annotations.Optional("default is " + FILE_ENCODE_DEFAULT)
     public Builder encode(String val) {
       encode = val;
@@ -160,6 +277,41 @@ public class CsvSinkConfig implements CsvConnector {
       return this;
     }
 
+    @com.island.ohara.common.annotations.Optional("default is " + FILE_BUFFER_SIZE_DEFAULT)
+    public Builder bufferSize(int val) {
+      bufferSize = CommonUtils.requirePositiveInt(val);
+      return this;
+    }
+
+    @com.island.ohara.common.annotations.Optional("default is " + FILE_COMPRESSION_DEFAULT)
+    public Builder compression(CsvCompression val) {
+      compression = Objects.requireNonNull(val);
+      return this;
+    }
+
+    /**
+     * @param val the format of output file. It is either {@link #FILE_FORMAT_CSV} or {@link
+     *     #FILE_FORMAT_PARQUET}
+     * @return this builder
+     */
+    @com.island.ohara.common.annotations.Optional("default is " + FILE_FORMAT_DEFAULT)
+    public Builder format(String val) {
+      if (!FILE_FORMAT_CSV.equalsIgnoreCase(val) && !FILE_FORMAT_PARQUET.equalsIgnoreCase(val))
+        throw new IllegalArgumentException("unsupported file format: " + val);
+      format = val.toLowerCase();
+      return this;
+    }
+
+    /**
+     * @param val the size (in bytes) of row group buffered in memory by each parquet file
+     * @return this builder
+     */
+    @com.island.ohara.common.annotations.Optional("default is " + PARQUET_ROW_GROUP_SIZE_DEFAULT)
+    public Builder parquetRowGroupSize(int val) {
+      parquetRowGroupSize = CommonUtils.requirePositiveInt(val);
+      return this;
+    }
+
     public Builder schema(List<Column> val) {
       schema = val;
       return this;
@@ -178,8 +330,15 @@ public class CsvSinkConfig implements CsvConnector {
     props.put(TOPICS_DIR_CONFIG, topicsDir);
     props.put(FLUSH_SIZE_CONFIG, String.valueOf(flushSize));
     props.put(ROTATE_INTERVAL_MS_CONFIG, String.valueOf(rotateIntervalMs));
+    props.put(ROTATE_SIZE_BYTES_CONFIG, String.valueOf(rotateSizeBytes));
+    props.put(COMMIT_THREADS_CONFIG, String.valueOf(commitThreads));
+    props.put(WRITER_THREADS_CONFIG, String.valueOf(writerThreads));
     props.put(FILE_NEED_HEADER_CONFIG, String.valueOf(needHeader));
     props.put(FILE_ENCODE_CONFIG, encode);
+    props.put(FILE_BUFFER_SIZE_CONFIG, String.valueOf(bufferSize));
+    props.put(FILE_COMPRESSION_CONFIG, compression.name().toLowerCase());
+    props.put(FILE_FORMAT_CONFIG, format);
+    props.put(PARQUET_ROW_GROUP_SIZE_CONFIG, String.valueOf(parquetRowGroupSize));
     return props;
   }
 }
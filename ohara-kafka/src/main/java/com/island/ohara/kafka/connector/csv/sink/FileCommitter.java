@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.csv.sink;
+
+import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.common.util.ReleaseOnce;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Run the file commits in the background so that the next file can be written while the previous
+ * file is committing. The number of pending commits is bounded by the number of threads. If all
+ * threads are busy and the queue is full, the commit is run by the caller thread. It slows down the
+ * writing rather than holding unbounded files in memory. If the number of threads is zero, all
+ * commits are run by the caller thread.
+ */
+class FileCommitter extends ReleaseOnce {
+  private static final AtomicInteger THREAD_INDEX = new AtomicInteger(0);
+  private final ExecutorService executor;
+
+  FileCommitter(int threads) {
+    CommonUtils.requireNonNegativeInt(threads);
+    this.executor =
+        threads == 0
+            ? null
+            : new ThreadPoolExecutor(
+                threads,
+                threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads),
+                r -> {
+                  Thread thread = new Thread(r, "file-committer-" + THREAD_INDEX.getAndIncrement());
+                  thread.setDaemon(true);
+                  return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /**
+   * submit a commit.
+   *
+   * @param commit commit
+   * @return a future completed when the commit is done. If the commit is run by the caller thread,
+   *     the returned future is completed already.
+   */
+  Future<?> submit(Runnable commit) {
+    if (executor == null) {
+      CompletableFuture<Void> f = new CompletableFuture<>();
+      try {
+        commit.run();
+        f.complete(null);
+      } catch (Throwable e) {
+        f.completeExceptionally(e);
+      }
+      return f;
+    }
+    return executor.submit(commit);
+  }
+
+  /** wait for the pending commits and then stop the threads. */
+  @Override
+  protected void doClose() {
+    if (executor != null) {
+      executor.shutdown();
+      try {
+        if (!executor.awaitTermination(60, TimeUnit.SECONDS))
+          throw new IllegalStateException("failed to wait for the pending commits");
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
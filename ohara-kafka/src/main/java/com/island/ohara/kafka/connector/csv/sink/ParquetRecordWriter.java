@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.island.ohara.kafka.connector.csv.sink;
+
+import com.island.ohara.common.data.Column;
+import com.island.ohara.common.data.Row;
+import com.island.ohara.kafka.connector.RowSinkRecord;
+import com.island.ohara.kafka.connector.storage.Storage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write the records to a parquet file. The columns are typed by the schema of connector so the
+ * downstream (for example, spark and hive) can read the needed columns without parsing the text.
+ * The file is written to a temporary file and then it is moved to the committed file.
+ */
+public class ParquetRecordWriter implements RecordWriter {
+  private static final Logger LOG = LoggerFactory.getLogger(ParquetRecordWriter.class);
+
+  private final Storage storage;
+  private final List<Column> schema;
+  private final CompressionCodecName codec;
+  private final int rowGroupSize;
+  private final Path committedFile;
+  private final Path temporaryFile;
+
+  private RowWriteSupport writeSupport;
+  private ParquetWriter<Row> writer;
+
+  public ParquetRecordWriter(
+      final CsvSinkConfig config, final String filePath, final Storage storage) {
+    this.storage = storage;
+    this.schema = config.schema();
+    this.codec = codec(config.compression());
+    this.rowGroupSize = rowGroupSize(config);
+    this.committedFile = Paths.get(filePath);
+    this.temporaryFile = FileUtils.temporaryFile(committedFile);
+  }
+
+  /**
+   * convert the compression to parquet codec. The codecs of parquet are applied to the pages so the
+   * file is splittable even if it is compressed.
+   *
+   * @param compression compression
+   * @return parquet codec
+   */
+  static CompressionCodecName codec(CsvCompression compression) {
+    switch (compression) {
+      case NONE:
+        return CompressionCodecName.UNCOMPRESSED;
+      case GZIP:
+        return CompressionCodecName.GZIP;
+      case SNAPPY:
+        return CompressionCodecName.SNAPPY;
+      default:
+        // the lz4 and zstd codecs of parquet are provided by the native library of hadoop
+        throw new IllegalArgumentException(
+            "parquet file does not support compression: " + compression);
+    }
+  }
+
+  /**
+   * the row group is buffered in memory until it is full so the default size of parquet (128 MB) is
+   * too big for a sink task writing many partitions. The size is capped by the rotate size since
+   * the file is committed before the row group is full.
+   *
+   * @param config config
+   * @return the size of row group
+   */
+  static int rowGroupSize(CsvSinkConfig config) {
+    return config.rotateSizeBytes() > 0
+        ? (int) Math.min(config.parquetRowGroupSize(), config.rotateSizeBytes())
+        : config.parquetRowGroupSize();
+  }
+
+  public void write(RowSinkRecord record) {
+    LOG.trace("Sink record: {}", record);
+    try {
+      if (writer == null) {
+        // don't create the file if there is nothing to write
+        if (record.row().cells().isEmpty()) return;
+        writeSupport = new RowWriteSupport(schema, record.row());
+        if (!writeSupport.canWrite(record.row())) {
+          writeSupport = null;
+          return;
+        }
+        writer =
+            new RowParquetWriterBuilder(
+                    new StorageOutputFile(storage, temporaryFile.toString()), writeSupport)
+                .withCompressionCodec(codec)
+                .withRowGroupSize(rowGroupSize)
+                .withPageSize(Math.min(rowGroupSize, ParquetWriter.DEFAULT_PAGE_SIZE))
+                .build();
+      }
+      if (writeSupport.canWrite(record.row())) writer.write(record.row());
+    } catch (IOException e) {
+      LOG.error(e.getMessage());
+      throw new RuntimeException(e);
+    }
+  }
+
+  /** @return the size of buffered and written data. It is the compressed size */
+  public long size() {
+    return writer == null ? 0 : writer.getDataSize();
+  }
+
+  public void commit() {
+    // nothing is written so there is no file to commit
+    if (writer == null) return;
+    try {
+      // the footer is written by close
+      writer.close();
+      storage.move(temporaryFile.toString(), committedFile.toString());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  public void close() {
+    if (writer != null) {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        LOG.error("failed to close " + temporaryFile, e);
+      }
+    }
+  }
+
+  private static class RowParquetWriterBuilder
+      extends ParquetWriter.Builder<Row, RowParquetWriterBuilder> {
+    private final RowWriteSupport writeSupport;
+
+    private RowParquetWriterBuilder(OutputFile file, RowWriteSupport writeSupport) {
+      super(file);
+      this.writeSupport = writeSupport;
+    }
+
+    @Override
+    protected RowParquetWriterBuilder self() {
+      return this;
+    }
+
+    @Override
+    protected WriteSupport<Row> getWriteSupport(Configuration conf) {
+      return writeSupport;
+    }
+  }
+}
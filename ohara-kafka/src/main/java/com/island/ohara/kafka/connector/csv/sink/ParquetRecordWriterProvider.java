@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.island.ohara.kafka.connector.csv.sink;
+
+import com.island.ohara.kafka.connector.storage.Storage;
+
+/**
+ * Provider of {@link ParquetRecordWriter}. NOTED: the parquet writer requires the hadoop libraries
+ * (hadoop-common) so it is available to the connectors having hadoop on the classpath (for example,
+ * hdfs sink). The other connectors (for example, ftp sink and local sink) require the hadoop jars
+ * on the worker classpath.
+ */
+public class ParquetRecordWriterProvider implements RecordWriterProvider {
+  private static final String EXTENSION = ".parquet";
+  /** the parquet writer is configured by this class even if the storage is not hdfs. */
+  private static final String HADOOP_CONFIGURATION = "org.apache.hadoop.conf.Configuration";
+
+  private final Storage storage;
+
+  /**
+   * @param storage storage
+   * @param compression the compression of parquet pages. It is checked here so an unsupported
+   *     compression fails before any file is written
+   * @throws IllegalArgumentException if the compression is unsupported or the hadoop libraries are
+   *     not on the classpath
+   */
+  public ParquetRecordWriterProvider(Storage storage, CsvCompression compression) {
+    this.storage = storage;
+    ParquetRecordWriter.codec(compression);
+    try {
+      Class.forName(
+          HADOOP_CONFIGURATION, false, ParquetRecordWriterProvider.class.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      throw new IllegalArgumentException(
+          "the parquet format requires the hadoop libraries on the worker classpath", e);
+    }
+  }
+
+  public String getExtension() {
+    return EXTENSION;
+  }
+
+  public ParquetRecordWriter getRecordWriter(CsvSinkConfig config, String filePath) {
+    return new ParquetRecordWriter(config, filePath, storage);
+  }
+}
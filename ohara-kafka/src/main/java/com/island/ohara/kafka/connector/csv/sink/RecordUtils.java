@@ -18,8 +18,11 @@ package com.island.ohara.kafka.connector.csv.sink;
 
 import com.island.ohara.common.data.Column;
 import com.island.ohara.common.data.DataType;
+import com.island.ohara.common.data.Row;
 import com.island.ohara.kafka.connector.RowSinkRecord;
-import java.util.Comparator;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -30,26 +33,31 @@ public class RecordUtils {
   }
 
   public static String toHeader(List<Column> newSchema) {
-    return newSchema.stream()
-        .sorted(Comparator.comparingInt(Column::order))
-        .map(s -> s.newName())
-        .collect(Collectors.joining(","));
+    StringWriter writer = new StringWriter();
+    try {
+      new CsvLineEncoder(newSchema).writeHeader(Row.EMPTY, writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
   }
 
+  /**
+   * convert the record to a csv line. NOTED: it compiles the schema for each call so it is slow.
+   * Please use {@link CsvLineEncoder} to convert many records.
+   *
+   * @param newSchema schema
+   * @param record record
+   * @return csv line
+   */
   public static String toLine(List<Column> newSchema, RowSinkRecord record) {
-    return newSchema.stream()
-        .sorted(Comparator.comparing(Column::order))
-        .flatMap(
-            column -> {
-              if (column.dataType() == DataType.BYTES) {
-                throw new RuntimeException(
-                    "CSV sink connector not support type: " + column.dataType());
-              }
-              return record.row().cells().stream()
-                  .filter(cell -> column.name().equals(cell.name()));
-            })
-        .map(cell -> cell.value().toString())
-        .collect(Collectors.joining(","));
+    StringWriter writer = new StringWriter();
+    try {
+      new CsvLineEncoder(newSchema).write(record.row(), writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
   }
 
   public static List<Column> newSchema(List<Column> schema, RowSinkRecord record) {
@@ -34,6 +34,14 @@ public interface RecordWriter extends Releasable {
    */
   void commit();
 
+  /**
+   * Get the size of data written by this writer. It is used to rotate the file by size so it may be
+   * approximate.
+   *
+   * @return the size of written data
+   */
+  long size();
+
   /** Close this writer. */
   void close();
 }
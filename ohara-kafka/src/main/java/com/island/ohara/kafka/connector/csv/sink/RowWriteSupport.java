@@ -0,0 +1,256 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.island.ohara.kafka.connector.csv.sink;
+
+import com.island.ohara.common.data.Cell;
+import com.island.ohara.common.data.Column;
+import com.island.ohara.common.data.DataType;
+import com.island.ohara.common.data.Row;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+
+/**
+ * Convert the {@link Row} to a parquet record. The schema is compiled to a parquet message type
+ * once, and the cells are written to the record consumer directly. All fields are optional so the
+ * missed cell is a null field.
+ *
+ * <p>This class is not thread-safe.
+ */
+final class RowWriteSupport extends WriteSupport<Row> {
+  private static final String MESSAGE_NAME = "row";
+
+  /** the names of cells in the order of columns. */
+  private final String[] names;
+
+  private final String[] newNames;
+  private final DataType[] types;
+  /** the converted values of current row. It is reused by all rows. */
+  private final Object[] values;
+
+  private final MessageType messageType;
+  private RecordConsumer consumer;
+
+  /**
+   * @param schema the schema. If it is empty, the schema is generated by the first row and all
+   *     fields are strings
+   * @param firstRow the first row
+   */
+  RowWriteSupport(List<Column> schema, Row firstRow) {
+    Column[] columns =
+        schema == null || schema.isEmpty()
+            ? firstRow.names().stream()
+                .map(name -> Column.builder().name(name).dataType(DataType.STRING).order(0).build())
+                .toArray(Column[]::new)
+            : schema.stream().sorted(Comparator.comparing(Column::order)).toArray(Column[]::new);
+    if (columns.length == 0) throw new IllegalArgumentException("parquet file requires columns");
+    names = new String[columns.length];
+    newNames = new String[columns.length];
+    types = new DataType[columns.length];
+    values = new Object[columns.length];
+    Types.MessageTypeBuilder builder = Types.buildMessage();
+    for (int i = 0; i != columns.length; ++i) {
+      names[i] = columns[i].name();
+      newNames[i] = columns[i].newName();
+      types[i] = columns[i].dataType();
+      addField(builder, newNames[i], types[i]);
+    }
+    messageType = builder.named(MESSAGE_NAME);
+  }
+
+  private static void addField(Types.MessageTypeBuilder builder, String name, DataType type) {
+    switch (type) {
+      case BOOLEAN:
+        builder.optional(PrimitiveTypeName.BOOLEAN).named(name);
+        break;
+      case BYTE:
+        builder.optional(PrimitiveTypeName.INT32).as(OriginalType.INT_8).named(name);
+        break;
+      case SHORT:
+        builder.optional(PrimitiveTypeName.INT32).as(OriginalType.INT_16).named(name);
+        break;
+      case INT:
+        builder.optional(PrimitiveTypeName.INT32).named(name);
+        break;
+      case LONG:
+        builder.optional(PrimitiveTypeName.INT64).named(name);
+        break;
+      case FLOAT:
+        builder.optional(PrimitiveTypeName.FLOAT).named(name);
+        break;
+      case DOUBLE:
+        builder.optional(PrimitiveTypeName.DOUBLE).named(name);
+        break;
+      case BYTES:
+        builder.optional(PrimitiveTypeName.BINARY).named(name);
+        break;
+      case STRING:
+      case OBJECT:
+      case ROW:
+      default:
+        // the complicated types are stored as strings
+        builder.optional(PrimitiveTypeName.BINARY).as(OriginalType.UTF8).named(name);
+        break;
+    }
+  }
+
+  MessageType messageType() {
+    return messageType;
+  }
+
+  /**
+   * @param row row
+   * @return true if the row has any cell to be written
+   */
+  boolean canWrite(Row row) {
+    List<Cell<?>> cells = row.cells();
+    for (int i = 0; i != names.length; ++i) if (find(cells, names[i], i) != null) return true;
+    return false;
+  }
+
+  @Override
+  public WriteContext init(Configuration configuration) {
+    return new WriteContext(messageType, Collections.emptyMap());
+  }
+
+  @Override
+  public void prepareForWrite(RecordConsumer recordConsumer) {
+    this.consumer = Objects.requireNonNull(recordConsumer);
+  }
+
+  @Override
+  public void write(Row row) {
+    List<Cell<?>> cells = row.cells();
+    // all values are converted before starting the record since a half-written record corrupts the
+    // file
+    for (int i = 0; i != names.length; ++i) {
+      Cell<?> cell = find(cells, names[i], i);
+      values[i] = cell == null || cell.value() == null ? null : convert(i, cell.value());
+    }
+    consumer.startMessage();
+    for (int i = 0; i != names.length; ++i) {
+      // the null field is represented by the absence of field
+      if (values[i] == null) continue;
+      consumer.startField(newNames[i], i);
+      addValue(types[i], values[i]);
+      consumer.endField(newNames[i], i);
+    }
+    consumer.endMessage();
+    Arrays.fill(values, null);
+  }
+
+  /**
+   * convert the value of cell to the value accepted by the record consumer.
+   *
+   * @param index the index of column
+   * @param value the value of cell
+   * @return converted value
+   * @throws IllegalArgumentException if the value does not match the type of column
+   */
+  private Object convert(int index, Object value) {
+    switch (types[index]) {
+      case BOOLEAN:
+        if (value instanceof Boolean) return value;
+        break;
+      case BYTE:
+      case SHORT:
+      case INT:
+        if (value instanceof Number) return ((Number) value).intValue();
+        break;
+      case LONG:
+        if (value instanceof Number) return ((Number) value).longValue();
+        break;
+      case FLOAT:
+        if (value instanceof Number) return ((Number) value).floatValue();
+        break;
+      case DOUBLE:
+        if (value instanceof Number) return ((Number) value).doubleValue();
+        break;
+      case BYTES:
+        if (value instanceof byte[]) return Binary.fromConstantByteArray((byte[]) value);
+        if (value instanceof Byte[] && !Arrays.asList((Byte[]) value).contains(null))
+          return Binary.fromConstantByteArray(toBytes((Byte[]) value));
+        break;
+      case STRING:
+      case OBJECT:
+      case ROW:
+      default:
+        return Binary.fromString(value.toString());
+    }
+    throw new IllegalArgumentException(
+        "the value of "
+            + names[index]
+            + " is "
+            + value.getClass()
+            + " rather than "
+            + types[index]);
+  }
+
+  private void addValue(DataType type, Object value) {
+    switch (type) {
+      case BOOLEAN:
+        consumer.addBoolean((Boolean) value);
+        break;
+      case BYTE:
+      case SHORT:
+      case INT:
+        consumer.addInteger((Integer) value);
+        break;
+      case LONG:
+        consumer.addLong((Long) value);
+        break;
+      case FLOAT:
+        consumer.addFloat((Float) value);
+        break;
+      case DOUBLE:
+        consumer.addDouble((Double) value);
+        break;
+      case BYTES:
+      case STRING:
+      case OBJECT:
+      case ROW:
+      default:
+        consumer.addBinary((Binary) value);
+        break;
+    }
+  }
+
+  private static byte[] toBytes(Byte[] boxed) {
+    byte[] bytes = new byte[boxed.length];
+    for (int i = 0; i != boxed.length; ++i) bytes[i] = boxed[i];
+    return bytes;
+  }
+
+  /**
+   * find the cell by name. The cells are usually in the same order of columns so the cell at the
+   * same index is checked first.
+   */
+  private static Cell<?> find(List<Cell<?>> cells, String name, int index) {
+    if (index < cells.size() && cells.get(index).name().equals(name)) return cells.get(index);
+    for (Cell<?> cell : cells) if (cell.name().equals(name)) return cell;
+    return null;
+  }
+}
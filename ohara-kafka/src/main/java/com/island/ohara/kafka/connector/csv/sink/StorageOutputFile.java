@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.island.ohara.kafka.connector.csv.sink;
+
+import com.island.ohara.kafka.connector.storage.Storage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+
+/**
+ * A parquet {@link OutputFile} writing to the {@link Storage}. The parquet writer writes to the
+ * output stream of storage directly so the parquet file can be written to any storage rather than
+ * hadoop file system only.
+ */
+final class StorageOutputFile implements OutputFile {
+  private final Storage storage;
+  private final String path;
+
+  StorageOutputFile(Storage storage, String path) {
+    this.storage = Objects.requireNonNull(storage);
+    this.path = Objects.requireNonNull(path);
+  }
+
+  @Override
+  public PositionOutputStream create(long blockSizeHint) {
+    return new StoragePositionOutputStream(storage.create(path));
+  }
+
+  @Override
+  public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+    if (storage.exists(path)) storage.delete(path);
+    return create(blockSizeHint);
+  }
+
+  @Override
+  public boolean supportsBlockSize() {
+    return false;
+  }
+
+  @Override
+  public long defaultBlockSize() {
+    return 0;
+  }
+
+  private static class StoragePositionOutputStream extends PositionOutputStream {
+    private final OutputStream out;
+    private long position = 0;
+
+    StoragePositionOutputStream(OutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public long getPos() {
+      return position;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      position++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      out.write(bytes, offset, length);
+      position += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+}
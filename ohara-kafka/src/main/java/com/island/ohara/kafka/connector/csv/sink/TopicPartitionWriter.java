@@ -22,6 +22,8 @@ import com.island.ohara.kafka.connector.RowSinkContext;
 import com.island.ohara.kafka.connector.RowSinkRecord;
 import com.island.ohara.kafka.connector.TopicPartition;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import org.apache.kafka.common.utils.SystemTime;
 import org.apache.kafka.common.utils.Time;
 import org.slf4j.Logger;
@@ -32,15 +34,21 @@ public class TopicPartitionWriter implements Releasable {
 
   private final Time time;
   private final TopicPartition tp;
-  private final CsvRecordWriterProvider format;
+  private final RecordWriterProvider format;
   private final RowSinkContext context;
   private final CsvSinkConfig conf;
 
   private final int flushSize;
   private final long rotateIntervalMs;
+  private final long rotateSizeBytes;
   private final String topicsDir;
+  private final FileCommitter committer;
+  private final boolean ownCommitter;
+  /** the running commits. The order is the order of target offsets. */
+  private final Queue<PendingCommit> pendingCommits;
+
   private final Queue<RowSinkRecord> buffer;
-  private final Map<String, CsvRecordWriter> writers;
+  private final Map<String, RecordWriter> writers;
   private final Map<String, Long> startOffsets;
   private final Map<String, String> commitFiles;
 
@@ -52,10 +60,30 @@ public class TopicPartitionWriter implements Releasable {
   private static final Time SYSTEM_TIME = new SystemTime();
 
   public TopicPartitionWriter(
+      TopicPartition tp, RecordWriterProvider format, CsvSinkConfig conf, RowSinkContext context) {
+    this(tp, format, conf, context, new FileCommitter(0), true);
+  }
+
+  /**
+   * @param committer runs the file commits. It is shared by the writers of a task so it is not
+   *     closed by this writer.
+   */
+  TopicPartitionWriter(
+      TopicPartition tp,
+      RecordWriterProvider format,
+      CsvSinkConfig conf,
+      RowSinkContext context,
+      FileCommitter committer) {
+    this(tp, format, conf, context, committer, false);
+  }
+
+  private TopicPartitionWriter(
       TopicPartition tp,
-      CsvRecordWriterProvider format,
+      RecordWriterProvider format,
       CsvSinkConfig conf,
-      RowSinkContext context) {
+      RowSinkContext context,
+      FileCommitter committer,
+      boolean ownCommitter) {
     this.time = SYSTEM_TIME;
 
     this.tp = tp;
@@ -65,18 +93,23 @@ public class TopicPartitionWriter implements Releasable {
 
     this.flushSize = conf.flushSize();
     this.rotateIntervalMs = conf.rotateIntervalMs();
+    this.rotateSizeBytes = conf.rotateSizeBytes();
     this.topicsDir = conf.topicsDir();
+    this.committer = Objects.requireNonNull(committer);
+    this.ownCommitter = ownCommitter;
+    this.pendingCommits = new ArrayDeque<>();
 
-    this.buffer = new LinkedList<>();
+    this.buffer = new ArrayDeque<>();
     this.writers = new HashMap<>();
     this.startOffsets = new HashMap<>();
     this.commitFiles = new HashMap<>();
     this.currentOffset = -1L;
 
     LOG.trace(
-        "Configuration: flushSize={}, rotateIntervalMs={}, topicsDir={}",
+        "Configuration: flushSize={}, rotateIntervalMs={}, rotateSizeBytes={}, topicsDir={}",
         flushSize,
         rotateIntervalMs,
+        rotateSizeBytes,
         topicsDir);
 
     // Initialize scheduled rotation timer if applicable
@@ -96,6 +129,7 @@ public class TopicPartitionWriter implements Releasable {
     }
 
     commitOnTimeIfNoData(now);
+    completeCommits();
     resume();
   }
 
@@ -142,12 +176,12 @@ public class TopicPartitionWriter implements Releasable {
     return "partition" + sinkRecord.partition();
   }
 
-  private CsvRecordWriter getWriter(String encodedPartition) {
+  private RecordWriter getWriter(String encodedPartition) {
     if (writers.containsKey(encodedPartition)) {
       return writers.get(encodedPartition);
     }
     String commitFile = getCommitFile(encodedPartition);
-    CsvRecordWriter writer = format.getRecordWriter(conf, commitFile);
+    RecordWriter writer = format.getRecordWriter(conf, commitFile);
     writers.put(encodedPartition, writer);
     return writer;
   }
@@ -200,7 +234,19 @@ public class TopicPartitionWriter implements Releasable {
         recordCount,
         flushSize,
         messageSizeRotation);
-    return messageSizeRotation;
+    return messageSizeRotation || rotateOnBytes();
+  }
+
+  private boolean rotateOnBytes() {
+    if (rotateSizeBytes <= 0) return false;
+    long size = writers.values().stream().mapToLong(RecordWriter::size).max().orElse(0);
+    boolean bytesRotation = size >= rotateSizeBytes;
+    LOG.trace(
+        "Should apply bytes-based rotation (size {} >= rotate size {})? {}",
+        size,
+        rotateSizeBytes,
+        bytesRotation);
+    return bytesRotation;
   }
 
   private void commitOnTimeIfNoData(long now) {
@@ -215,25 +261,81 @@ public class TopicPartitionWriter implements Releasable {
     }
   }
 
+  /**
+   * hand over the opened files to the committer. The next records are written to new files while
+   * the committer is committing the files. The offset is committable after the files are committed.
+   * see {@link #completeCommits()}
+   */
   private void commitFiles() {
+    Map<String, RecordWriter> committing = new HashMap<>();
     for (Map.Entry<String, String> entry : commitFiles.entrySet()) {
-      commitFile(entry.getKey());
-      LOG.debug("Committed {} for {}", entry.getValue(), tp);
+      RecordWriter writer = writers.remove(entry.getKey());
+      if (writer != null) committing.put(entry.getValue(), writer);
+      startOffsets.remove(entry.getKey());
     }
-    offsetToCommit = currentOffset + 1;
+    long targetOffset = currentOffset + 1;
+    Future<?> future = committer.submit(() -> commit(committing));
+    pendingCommits.add(new PendingCommit(future, targetOffset));
     commitFiles.clear();
     recordCount = 0;
-    LOG.info("Files committed to Storage. Target commit offset for {} is {}", tp, offsetToCommit);
+    LOG.debug("Files submitted to commit. Target commit offset for {} is {}", tp, targetOffset);
   }
 
-  private void commitFile(String encodedPartition) {
-    if (writers.containsKey(encodedPartition)) {
-      // Commits the file and closes the underlying output stream.
-      writers.get(encodedPartition).commit();
-      writers.remove(encodedPartition);
-      LOG.debug("Removed writer for '{}'", encodedPartition);
+  /**
+   * commit the files and close the writers. If a commit fails, the remaining files are not
+   * committed since the offset can't move forward, but all writers are still closed.
+   *
+   * @param committing the files to commit and their writers
+   */
+  private void commit(Map<String, RecordWriter> committing) {
+    RuntimeException exception = null;
+    for (Map.Entry<String, RecordWriter> entry : committing.entrySet()) {
+      try {
+        if (exception == null) {
+          // Commits the file and closes the underlying output stream.
+          entry.getValue().commit();
+          LOG.debug("Committed {} for {}", entry.getKey(), tp);
+        }
+      } catch (RuntimeException e) {
+        exception = e;
+      } finally {
+        Releasable.close(entry.getValue());
+      }
     }
-    startOffsets.remove(encodedPartition);
+    if (exception != null) throw exception;
+  }
+
+  /**
+   * move the offset forward over the completed commits. The commits are checked in order so the
+   * offset never skips a file which is still committing.
+   *
+   * @throws RuntimeException if any commit fails
+   */
+  private void completeCommits() {
+    while (!pendingCommits.isEmpty() && pendingCommits.peek().future.isDone()) {
+      PendingCommit commit = pendingCommits.poll();
+      try {
+        commit.future.get();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        throw new RuntimeException("failed to commit files for " + tp, e.getCause());
+      }
+      offsetToCommit = commit.offset;
+      LOG.info("Files committed to Storage. Target commit offset for {} is {}", tp, offsetToCommit);
+    }
+  }
+
+  /** wait for all running commits. */
+  private void awaitCommits() {
+    for (PendingCommit commit : pendingCommits) {
+      try {
+        commit.future.get();
+      } catch (InterruptedException | ExecutionException e) {
+        LOG.error("failed to commit files for " + tp, e);
+      }
+    }
+    pendingCommits.clear();
   }
 
   private void setNextScheduledRotation() {
@@ -244,6 +346,7 @@ public class TopicPartitionWriter implements Releasable {
   }
 
   public Long getOffsetToCommitAndReset() {
+    completeCommits();
     Long latest = offsetToCommit;
     offsetToCommit = null;
     return latest;
@@ -251,7 +354,10 @@ public class TopicPartitionWriter implements Releasable {
 
   public void close() {
     LOG.debug("Closing TopicPartitionWriter {}", tp);
-    for (CsvRecordWriter writer : writers.values()) {
+    // the uncommitted offsets are consumed again so we don't care about the result of commits
+    awaitCommits();
+    if (ownCommitter) Releasable.close(committer);
+    for (RecordWriter writer : writers.values()) {
       Releasable.close(writer);
     }
     writers.clear();
@@ -265,6 +371,17 @@ public class TopicPartitionWriter implements Releasable {
 
   @VisibleForTesting
   public Long getCommittedOffset() {
+    completeCommits();
     return offsetToCommit;
   }
+
+  private static class PendingCommit {
+    private final Future<?> future;
+    private final long offset;
+
+    private PendingCommit(Future<?> future, long offset) {
+      this.future = future;
+      this.offset = offset;
+    }
+  }
 }
@@ -230,6 +230,150 @@ public final class ConnectorDefUtils {
           .orderInGroup(ORDER_COUNTER.getAndIncrement())
           .build();
 
+  public static final SettingDef ROW_FORMAT_DEFINITION =
+      SettingDef.builder()
+          .displayName("row format")
+          .key("row.format")
+          .valueType(Type.STRING)
+          .documentation(
+              "the place to store the row in the kafka record. \"key\" stores the row in the key and "
+                  + "leaves the value empty. \"value\" stores the row in the value and the key is "
+                  + "composed of the key columns")
+          .group(CORE_GROUP)
+          .optional("key")
+          .orderInGroup(ORDER_COUNTER.getAndIncrement())
+          .build();
+
+  public static final SettingDef ROW_KEY_COLUMNS_DEFINITION =
+      SettingDef.builder()
+          .displayName("row key columns")
+          .key("row.key.columns")
+          .valueType(Type.ARRAY)
+          .documentation(
+              "the columns used to compose the key of the kafka record. The rows having same cells "
+                  + "in those columns are sent to the same partition. It works with \"value\" row format only")
+          .group(CORE_GROUP)
+          .optional()
+          .orderInGroup(ORDER_COUNTER.getAndIncrement())
+          .build();
+
+  public static final SettingDef ROW_PARTITIONER_DEFINITION =
+      SettingDef.builder()
+          .displayName("row partitioner")
+          .key("row.partitioner")
+          .valueType(Type.STRING)
+          .documentation(
+              "the way to partition the rows. \"hash\" computes the partition by the key. "
+                  + "\"sticky\" sends all keyless rows returned by a poll to the same partition. "
+                  + "It works with \"value\" row format and it should not be used with compacted topics")
+          .group(CORE_GROUP)
+          .optional("hash")
+          .orderInGroup(ORDER_COUNTER.getAndIncrement())
+          .build();
+
+  public static final SettingDef TRANSFORM_FILTER_DEFINITION =
+      SettingDef.builder()
+          .displayName("transform filter")
+          .key("transform.filter")
+          .valueType(Type.ARRAY)
+          .documentation(
+              "the predicates in the form of \"column operator value\" (for example, \"age>=18\"). "
+                  + "The supported operators are ==, !=, >, >=, < and <=. The rows which do not match "
+                  + "all predicates are dropped")
+          .group(CORE_GROUP)
+          .optional()
+          .orderInGroup(ORDER_COUNTER.getAndIncrement())
+          .build();
+
+  public static final SettingDef TRANSFORM_CAST_DEFINITION =
+      SettingDef.builder()
+          .displayName("transform cast")
+          .key("transform.cast")
+          .valueType(Type.ARRAY)
+          .documentation(
+              "the casts in the form of \"column=type\" (for example, \"age=int\"). The supported types "
+                  + "are boolean, byte, short, int, long, float, double and string")
+          .group(CORE_GROUP)
+          .optional()
+          .orderInGroup(ORDER_COUNTER.getAndIncrement())
+          .build();
+
+  public static final SettingDef TRANSFORM_PROJECT_DEFINITION =
+      SettingDef.builder()
+          .displayName("transform project")
+          .key("transform.project")
+          .valueType(Type.ARRAY)
+          .documentation(
+              "the columns kept in the rows. The order of columns is same to the order of this list")
+          .group(CORE_GROUP)
+          .optional()
+          .orderInGroup(ORDER_COUNTER.getAndIncrement())
+          .build();
+
+  public static final SettingDef TRANSFORM_RENAME_DEFINITION =
+      SettingDef.builder()
+          .displayName("transform rename")
+          .key("transform.rename")
+          .valueType(Type.ARRAY)
+          .documentation(
+              "the renames in the form of \"column=new name\" (for example, \"age=years\")")
+          .group(CORE_GROUP)
+          .optional()
+          .orderInGroup(ORDER_COUNTER.getAndIncrement())
+          .build();
+
+  public static final SettingDef PIPELINE_QUEUE_SIZE_DEFINITION =
+      SettingDef.builder()
+          .displayName("pipeline queue size")
+          .key("pipeline.queue.size")
+          .valueType(Type.INT)
+          .documentation(
+              "the max number of batches queued by the sink task. The positive value enables the "
+                  + "pipelined mode which writes the batches by a background thread so fetching and "
+                  + "writing are overlapped. Zero disables the pipelined mode")
+          .group(CORE_GROUP)
+          .optional(0)
+          .orderInGroup(ORDER_COUNTER.getAndIncrement())
+          .build();
+
+  public static final SettingDef IDLE_BACKOFF_DEFINITION =
+      SettingDef.builder()
+          .displayName("max idle backoff")
+          .key("poll.idle.backoff")
+          .valueType(Type.DURATION)
+          .documentation(
+              "the max time to wait before next poll if the source task has no data. The wait time "
+                  + "is doubled for each empty poll and it is reset by the first non-empty poll. "
+                  + "Zero (default) disables the backoff")
+          .group(CORE_GROUP)
+          .optional("0 seconds")
+          .orderInGroup(ORDER_COUNTER.getAndIncrement())
+          .build();
+
+  public static final SettingDef THROTTLE_ROWS_DEFINITION =
+      SettingDef.builder()
+          .displayName("rows per second")
+          .key("throttle.rows.per.second")
+          .valueType(Type.LONG)
+          .documentation(
+              "the max number of rows generated by a source task per second. Unlimited if it is not set")
+          .group(CORE_GROUP)
+          .optional()
+          .orderInGroup(ORDER_COUNTER.getAndIncrement())
+          .build();
+
+  public static final SettingDef THROTTLE_BYTES_DEFINITION =
+      SettingDef.builder()
+          .displayName("bytes per second")
+          .key("throttle.bytes.per.second")
+          .valueType(Type.LONG)
+          .documentation(
+              "the max size (in bytes) of rows generated by a source task per second. Unlimited if it is not set")
+          .group(CORE_GROUP)
+          .optional()
+          .orderInGroup(ORDER_COUNTER.getAndIncrement())
+          .build();
+
   // Use to check the custom checker for specific value
   @VisibleForTesting
   static void check(Consumer<Object> consumer, Object value) {
@@ -339,6 +483,29 @@ public final class ConnectorDefUtils {
           ConnectorDefUtils.TOPIC_NAMES_DEFINITION,
           ConnectorDefUtils.TAGS_DEFINITION);
 
+  /** the default definitions for all ohara source connector. */
+  public static final List<SettingDef> SOURCE_DEFINITIONS_DEFAULT =
+      Arrays.asList(
+          ConnectorDefUtils.ROW_FORMAT_DEFINITION,
+          ConnectorDefUtils.ROW_KEY_COLUMNS_DEFINITION,
+          ConnectorDefUtils.ROW_PARTITIONER_DEFINITION,
+          ConnectorDefUtils.THROTTLE_ROWS_DEFINITION,
+          ConnectorDefUtils.THROTTLE_BYTES_DEFINITION,
+          ConnectorDefUtils.IDLE_BACKOFF_DEFINITION,
+          ConnectorDefUtils.TRANSFORM_FILTER_DEFINITION,
+          ConnectorDefUtils.TRANSFORM_CAST_DEFINITION,
+          ConnectorDefUtils.TRANSFORM_PROJECT_DEFINITION,
+          ConnectorDefUtils.TRANSFORM_RENAME_DEFINITION);
+
+  /** the default definitions for all ohara sink connector. */
+  public static final List<SettingDef> SINK_DEFINITIONS_DEFAULT =
+      Arrays.asList(
+          ConnectorDefUtils.PIPELINE_QUEUE_SIZE_DEFINITION,
+          ConnectorDefUtils.TRANSFORM_FILTER_DEFINITION,
+          ConnectorDefUtils.TRANSFORM_CAST_DEFINITION,
+          ConnectorDefUtils.TRANSFORM_PROJECT_DEFINITION,
+          ConnectorDefUtils.TRANSFORM_RENAME_DEFINITION);
+
   /**
    * find the default value of version from settings
    *
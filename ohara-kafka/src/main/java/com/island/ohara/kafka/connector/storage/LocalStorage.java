@@ -0,0 +1,289 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.island.ohara.kafka.connector.storage;
+
+import com.island.ohara.common.exception.OharaException;
+import com.island.ohara.common.exception.OharaFileAlreadyExistsException;
+import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.common.util.Releasable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Storage} on the local file system (or a mounted file system, for example, NFS). The
+ * files are written through {@link FileChannel} with a large buffer so the small writes are batched
+ * into a few system calls. The files are moved by atomic rename, and the parts of multipart writes
+ * are copied by {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+ * so the data is copied by the kernel.
+ */
+public class LocalStorage implements Storage {
+  private static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+  private final int bufferSize;
+
+  public LocalStorage() {
+    this(DEFAULT_BUFFER_SIZE);
+  }
+
+  /** @param bufferSize the size of buffer used by each output stream */
+  public LocalStorage(int bufferSize) {
+    this.bufferSize = CommonUtils.requirePositiveInt(bufferSize);
+  }
+
+  @Override
+  public boolean threadSafe() {
+    return true;
+  }
+
+  @Override
+  public boolean exists(String path) {
+    return Files.exists(Paths.get(path));
+  }
+
+  @Override
+  public Iterator<Path> list(String path) {
+    if (!exists(path)) throw new OharaException(path + " doesn't exist");
+    try (Stream<Path> paths = Files.list(Paths.get(path))) {
+      return paths.collect(Collectors.toList()).iterator();
+    } catch (IOException e) {
+      throw new OharaException(e);
+    }
+  }
+
+  @Override
+  public OutputStream create(String path) {
+    Path file = Paths.get(path);
+    try {
+      if (file.getParent() != null) Files.createDirectories(file.getParent());
+      return new ChannelOutputStream(
+          FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE),
+          bufferSize);
+    } catch (FileAlreadyExistsException e) {
+      throw new OharaFileAlreadyExistsException(e);
+    } catch (IOException e) {
+      throw new OharaException(e);
+    }
+  }
+
+  @Override
+  public OutputStream append(String path) {
+    if (!exists(path)) throw new OharaException(path + " doesn't exist");
+    try {
+      return new ChannelOutputStream(
+          FileChannel.open(Paths.get(path), StandardOpenOption.APPEND, StandardOpenOption.WRITE),
+          bufferSize);
+    } catch (IOException e) {
+      throw new OharaException(e);
+    }
+  }
+
+  @Override
+  public InputStream open(String path) {
+    return open(path, 0);
+  }
+
+  @Override
+  public InputStream open(String path, long offset) {
+    CommonUtils.requireNonNegativeLong(offset);
+    FileChannel channel = null;
+    try {
+      channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+      if (offset > channel.size()) throw new OharaException(offset + " is out of " + path);
+      channel.position(offset);
+      return Channels.newInputStream(channel);
+    } catch (IOException e) {
+      Releasable.close(channel);
+      throw new OharaException(e);
+    } catch (RuntimeException e) {
+      Releasable.close(channel);
+      throw e;
+    }
+  }
+
+  @Override
+  public void delete(String path) {
+    if (!exists(path)) return;
+    try (Stream<Path> paths = Files.walk(Paths.get(path))) {
+      // delete the children before parent
+      List<Path> files = paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+      for (Path file : files) Files.deleteIfExists(file);
+    } catch (IOException e) {
+      throw new OharaException(e);
+    }
+  }
+
+  @Override
+  public boolean move(String sourcePath, String targetPath) {
+    if (!exists(sourcePath))
+      throw new OharaException("The source path: " + sourcePath + " is not exists");
+    if (exists(targetPath))
+      throw new OharaException("The target path: " + targetPath + " is exists");
+    if (sourcePath.equals(targetPath)) return false;
+    Path source = Paths.get(sourcePath);
+    Path target = Paths.get(targetPath);
+    try {
+      if (target.getParent() != null) Files.createDirectories(target.getParent());
+      try {
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        // the source and target are on different file systems
+        Files.move(source, target);
+      }
+      return true;
+    } catch (IOException e) {
+      throw new OharaException(e);
+    }
+  }
+
+  @Override
+  public MultipartWriter createMultipart(String path) {
+    return new StagedMultipartWriter(this, path) {
+      @Override
+      protected void compose(List<String> partPaths, String target) {
+        String temporary = temporaryPath("tmp");
+        boolean moved = false;
+        try {
+          try (FileChannel output =
+              FileChannel.open(
+                  Paths.get(temporary), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            for (String partPath : partPaths) {
+              try (FileChannel input = FileChannel.open(Paths.get(partPath))) {
+                transfer(input, output);
+              }
+            }
+          }
+          moved = move(temporary, target);
+          if (!moved) throw new OharaException("failed to move " + temporary + " to " + target);
+        } catch (IOException e) {
+          throw new OharaException(e);
+        } finally {
+          if (!moved) delete(temporary);
+        }
+      }
+    };
+  }
+
+  /** copy all bytes of input to output by the kernel. */
+  private static void transfer(FileChannel input, FileChannel output) throws IOException {
+    long position = 0;
+    long size = input.size();
+    // transferTo may copy fewer bytes than requested
+    while (position < size) position += input.transferTo(position, size - position, output);
+  }
+
+  @Override
+  public void mkdirs(String path) {
+    try {
+      Files.createDirectories(Paths.get(path));
+    } catch (IOException e) {
+      throw new OharaException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    // nothing to release
+  }
+
+  /**
+   * An OutputStream writing to the file channel through a buffer. The small writes are collected by
+   * the buffer, and the big writes are passed to the channel directly. The buffer is on the heap so
+   * it is released with the stream. The direct buffers are not released until GC, and a sink
+   * rotating many files may run out of direct memory.
+   */
+  private static class ChannelOutputStream extends OutputStream {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private boolean closed = false;
+
+    ChannelOutputStream(FileChannel channel, int bufferSize) {
+      this.channel = channel;
+      this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      ensureOpen();
+      if (!buffer.hasRemaining()) drain();
+      buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      if (offset < 0 || length < 0 || length > bytes.length - offset)
+        throw new IndexOutOfBoundsException();
+      ensureOpen();
+      if (length >= buffer.capacity()) {
+        drain();
+        // the channel copies the heap bytes to a temporary direct buffer cached by the thread, so
+        // the big write is split to keep the temporary buffer as small as our buffer
+        for (int written = 0; written < length; written += buffer.capacity())
+          writeFully(
+              ByteBuffer.wrap(
+                  bytes, offset + written, Math.min(buffer.capacity(), length - written)));
+        return;
+      }
+      if (length > buffer.remaining()) drain();
+      buffer.put(bytes, offset, length);
+    }
+
+    private void ensureOpen() throws IOException {
+      if (closed) throw new IOException("closed");
+    }
+
+    private void drain() throws IOException {
+      buffer.flip();
+      writeFully(buffer);
+      buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer src) throws IOException {
+      while (src.hasRemaining()) channel.write(src);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (!closed) drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (closed) return;
+      try {
+        drain();
+      } finally {
+        closed = true;
+        channel.close();
+      }
+    }
+  }
+}
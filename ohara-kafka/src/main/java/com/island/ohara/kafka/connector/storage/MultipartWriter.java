@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.island.ohara.kafka.connector.storage;
+
+import com.island.ohara.common.exception.OharaFileAlreadyExistsException;
+import com.island.ohara.common.util.Releasable;
+import java.io.OutputStream;
+
+/**
+ * Write a large object by parts. The parts can be written concurrently by different threads, and
+ * then they are composed to the target object by {@link #complete()}. The target object is
+ * invisible until all parts are composed.
+ *
+ * <p>Closing an uncompleted writer aborts the upload and the written parts are deleted.
+ */
+public interface MultipartWriter extends Releasable {
+
+  /**
+   * Create the output stream of a part. The parts are composed in the order of index. The stream
+   * must be closed before {@link #complete()}.
+   *
+   * @param index the index of part. It starts from 0.
+   * @throws IllegalArgumentException if the part of index is created already
+   * @return an output stream associated with the part
+   */
+  OutputStream part(int index);
+
+  /**
+   * Compose the parts to the target object.
+   *
+   * @throws IllegalArgumentException if the indexes of parts are not continuous
+   * @throws OharaFileAlreadyExistsException if the target object already exists
+   */
+  void complete();
+
+  /** Abort the upload if it is not completed. */
+  void close();
+}
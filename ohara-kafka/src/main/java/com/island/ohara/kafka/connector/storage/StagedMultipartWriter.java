@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.island.ohara.kafka.connector.storage;
+
+import com.island.ohara.common.exception.OharaException;
+import com.island.ohara.common.exception.OharaFileAlreadyExistsException;
+import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.common.util.Releasable;
+import com.island.ohara.common.util.ReleaseOnce;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A {@link MultipartWriter} writing the parts to the temporary objects beside the target object.
+ * The parts are copied to a temporary object by {@link #compose(List, String)}, and then the
+ * temporary object is moved to the target object. The storage supporting server-side composition
+ * (for example, hdfs concat) should override {@link #compose(List, String)} to avoid the copy.
+ *
+ * <p>It requires the storage to support reading and writing different objects at the same time.
+ */
+public class StagedMultipartWriter extends ReleaseOnce implements MultipartWriter {
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+  private final Storage storage;
+  private final String path;
+  private final String id = CommonUtils.randomString(10);
+  /** the paths of parts. The order is the order of index. */
+  private final ConcurrentSkipListMap<Integer, String> parts = new ConcurrentSkipListMap<>();
+
+  private volatile boolean completed = false;
+
+  public StagedMultipartWriter(Storage storage, String path) {
+    this.storage = Objects.requireNonNull(storage);
+    this.path = CommonUtils.requireNonEmpty(path);
+  }
+
+  protected Storage storage() {
+    return storage;
+  }
+
+  /**
+   * @param name the name of temporary object
+   * @return the path of temporary object. It is in the same container of target object
+   */
+  protected String temporaryPath(String name) {
+    return path + "." + id + "." + name;
+  }
+
+  @Override
+  public OutputStream part(int index) {
+    CommonUtils.requireNonNegativeInt(index);
+    if (completed) throw new IllegalStateException(path + " is completed");
+    String partPath = temporaryPath("part" + index);
+    if (parts.containsKey(index))
+      throw new IllegalArgumentException("the part:" + index + " of " + path + " is created");
+    // the part is registered after it is created so a failed creation does not leave a gap
+    OutputStream output = storage.create(partPath);
+    if (parts.putIfAbsent(index, partPath) != null) {
+      Releasable.close(output);
+      throw new IllegalArgumentException("the part:" + index + " of " + path + " is created");
+    }
+    return output;
+  }
+
+  @Override
+  public void complete() {
+    if (completed) throw new IllegalStateException(path + " is completed");
+    if (parts.isEmpty()) throw new IllegalArgumentException("there is no part of " + path);
+    if (parts.lastKey() != parts.size() - 1)
+      throw new IllegalArgumentException("the parts of " + path + " are not continuous");
+    if (storage.exists(path)) throw new OharaFileAlreadyExistsException(path + " already exists");
+    compose(new ArrayList<>(parts.values()), path);
+    completed = true;
+    parts.values().forEach(storage::delete);
+  }
+
+  /**
+   * compose the parts to the target object. The target object should be invisible until all parts
+   * are composed. The parts which are not deleted by this method are deleted later.
+   *
+   * @param partPaths the paths of parts. The order is the order of index
+   * @param target the target path
+   */
+  protected void compose(List<String> partPaths, String target) {
+    String temporary = temporaryPath("tmp");
+    boolean moved = false;
+    try {
+      try (OutputStream output = storage.create(temporary)) {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        for (String partPath : partPaths) {
+          try (InputStream input = storage.open(partPath)) {
+            int count;
+            while ((count = input.read(buffer)) >= 0) output.write(buffer, 0, count);
+          }
+        }
+      }
+      if (!storage.move(temporary, target))
+        throw new OharaException("failed to move " + temporary + " to " + target);
+      moved = true;
+    } catch (IOException e) {
+      throw new OharaException(e);
+    } finally {
+      if (!moved) storage.delete(temporary);
+    }
+  }
+
+  @Override
+  protected void doClose() {
+    if (!completed) parts.values().forEach(storage::delete);
+    parts.clear();
+  }
+}
@@ -18,7 +18,9 @@ package com.island.ohara.kafka.connector.storage;
 
 import com.island.ohara.common.exception.OharaException;
 import com.island.ohara.common.exception.OharaFileAlreadyExistsException;
+import com.island.ohara.common.util.CommonUtils;
 import com.island.ohara.common.util.Releasable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Path;
@@ -80,6 +82,61 @@ public interface Storage extends Releasable {
    */
   InputStream open(String path);
 
+  /**
+   * Open for reading an object at the given path from the given offset. It is used to resume the
+   * reading after a restart. The default implementation skips the bytes before the offset. The
+   * storage supporting positional reads should override it.
+   *
+   * @param path the path of the object to be read.
+   * @param offset the offset of first byte to be read.
+   * @throws OharaException if the offset is bigger than the size of object.
+   * @return an input stream with the requested object.
+   */
+  default InputStream open(String path, long offset) {
+    CommonUtils.requireNonNegativeLong(offset);
+    InputStream input = open(path);
+    try {
+      long remaining = offset;
+      while (remaining > 0) {
+        long skipped = input.skip(remaining);
+        if (skipped <= 0) {
+          // the skip may return 0 before the end so we check the end by reading a byte
+          if (input.read() < 0) throw new OharaException(offset + " is out of " + path);
+          skipped = 1;
+        }
+        remaining -= skipped;
+      }
+      return input;
+    } catch (IOException | RuntimeException e) {
+      Releasable.close(input);
+      throw e instanceof OharaException ? (OharaException) e : new OharaException(e);
+    }
+  }
+
+  /**
+   * Create a writer uploading an object by parts (optional operation). The parts can be written
+   * concurrently and then they are composed to the object atomically.
+   *
+   * @param path the path of the object to be created.
+   * @throws UnsupportedOperationException if the storage does not support multipart writes.
+   * @return a multipart writer associated with the new object.
+   */
+  default MultipartWriter createMultipart(String path) {
+    throw new UnsupportedOperationException(getClass().getName() + " does not support multipart");
+  }
+
+  /**
+   * Returns whether this storage can be used by multiple threads concurrently. For example, the
+   * storage wrapping a single ftp connection can transfer only one file at a time so it is not
+   * thread-safe. The callers which write or commit the objects in the background should check it
+   * first. The default implementation returns false.
+   *
+   * @return true if this storage is thread-safe
+   */
+  default boolean threadSafe() {
+    return false;
+  }
+
   /**
    * Delete the given object or container.
    *
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import com.island.ohara.common.annotations.VisibleForTesting;
+import com.island.ohara.common.util.CommonUtils;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TextFileSystem} caching the input files. The listing of remote file system (for example,
+ * ftp server) is expensive if there are many files in the input folder. This class keeps the listed
+ * files in a pending queue and the handled files are removed from the queue. The input folder is
+ * listed again only if the pending queue is drained or the cache is expired. The files which are
+ * still pending keep their position and the new files are appended to the tail. The files are
+ * compared by their size and last modified time (see {@link TextFileSystem#listInputFileInfos()}),
+ * and the changed files (for example, the files still being uploaded) are moved to the tail so the
+ * stable files are processed first. If the listing fails, the pending files are kept and the
+ * listing is retried by next call.
+ *
+ * <p>This class is not thread-safe.
+ */
+final class CachedTextFileSystem implements TextFileSystem {
+  private static final Logger log = LoggerFactory.getLogger(CachedTextFileSystem.class);
+  private final TextFileSystem fileSystem;
+  private final long ttl;
+  private final CommonUtils.Timer timer;
+  private final LinkedHashMap<String, FileInfo> pending = new LinkedHashMap<>();
+  private long lastListing = -1;
+
+  CachedTextFileSystem(TextFileSystem fileSystem, Duration ttl) {
+    this(fileSystem, ttl, CommonUtils::current);
+  }
+
+  @VisibleForTesting
+  CachedTextFileSystem(TextFileSystem fileSystem, Duration ttl, CommonUtils.Timer timer) {
+    this.fileSystem = Objects.requireNonNull(fileSystem);
+    this.ttl = CommonUtils.requirePositiveLong(ttl.toMillis());
+    this.timer = Objects.requireNonNull(timer);
+  }
+
+  @Override
+  public Collection<String> listInputFiles() {
+    return listInputFileInfos().stream().map(FileInfo::path).collect(Collectors.toList());
+  }
+
+  @Override
+  public Collection<FileInfo> listInputFileInfos() {
+    long now = timer.current();
+    if (pending.isEmpty() || lastListing < 0 || now - lastListing >= ttl) {
+      Map<String, FileInfo> files = new LinkedHashMap<>();
+      try {
+        fileSystem.listInputFileInfos().forEach(file -> files.put(file.path(), file));
+      } catch (Exception e) {
+        // a transient error should not drop the pending files
+        log.error(
+            "failed to list the input files. " + pending.size() + " pending files are kept", e);
+        return new ArrayList<>(pending.values());
+      }
+      // keep the order of pending files and append the new files
+      pending.keySet().retainAll(files.keySet());
+      files.forEach(
+          (path, file) -> {
+            FileInfo previous = pending.get(path);
+            if (previous != null && !previous.equals(file)) {
+              log.debug("{} is changed since last listing. previous:{}", file, previous);
+              pending.remove(path);
+            }
+            pending.putIfAbsent(path, file);
+          });
+      lastListing = now;
+    }
+    return new ArrayList<>(pending.values());
+  }
+
+  @Override
+  public InputStreamReader createReader(String path) {
+    return fileSystem.createReader(path);
+  }
+
+  @Override
+  public Optional<String> claim(String path) {
+    Optional<String> claimed = fileSystem.claim(path);
+    // the file is moved by claim so it should not be listed again
+    if (!claimed.isPresent() || !claimed.get().equals(path)) pending.remove(path);
+    return claimed;
+  }
+
+  @Override
+  public void handleErrorFile(String path) {
+    pending.remove(path);
+    fileSystem.handleErrorFile(path);
+  }
+
+  @Override
+  public void handleCompletedFile(String path) {
+    pending.remove(path);
+    fileSystem.handleCompletedFile(path);
+  }
+
+  @Override
+  public void close() throws IOException {
+    pending.clear();
+    fileSystem.close();
+  }
+}
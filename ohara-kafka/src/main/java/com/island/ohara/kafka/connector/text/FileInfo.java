@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import java.util.Objects;
+
+/**
+ * The path, size and last modified time of an input file. They are used by {@link
+ * CachedTextFileSystem} to detect the files which are changed since last listing. The unknown size
+ * and time are -1.
+ */
+public final class FileInfo {
+  /** the value of unknown size or time. */
+  public static final long UNKNOWN = -1;
+
+  /**
+   * @param path full path of file
+   * @return a file info having unknown size and time
+   */
+  public static FileInfo of(String path) {
+    return of(path, UNKNOWN, UNKNOWN);
+  }
+
+  /**
+   * @param path full path of file
+   * @param size the number of bytes of file
+   * @param lastModified the last modified time (in milliseconds) of file
+   * @return file info
+   */
+  public static FileInfo of(String path, long size, long lastModified) {
+    return new FileInfo(path, size, lastModified);
+  }
+
+  private final String path;
+  private final long size;
+  private final long lastModified;
+
+  private FileInfo(String path, long size, long lastModified) {
+    this.path = Objects.requireNonNull(path);
+    this.size = size;
+    this.lastModified = lastModified;
+  }
+
+  public String path() {
+    return path;
+  }
+
+  public long size() {
+    return size;
+  }
+
+  public long lastModified() {
+    return lastModified;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof FileInfo) {
+      FileInfo another = (FileInfo) obj;
+      return path.equals(another.path)
+          && size == another.size
+          && lastModified == another.lastModified;
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(path, size, lastModified);
+  }
+
+  @Override
+  public String toString() {
+    return "path:" + path + " size:" + size + " lastModified:" + lastModified;
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import com.island.ohara.common.annotations.Optional;
+import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.common.util.Releasable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TextFileSystem} reading the files from local disk (or a mounted storage). The input
+ * folder is scanned once, and then the new files are discovered by {@link WatchService} rather than
+ * listing the folder again. The files are read through memory-mapped regions so there is no network
+ * transfer and no extra copy in the user space. The compressed files are decompressed on the fly.
+ * see {@link TextCompression}. NOTED: the files should be moved into input folder atomically.
+ * Otherwise, the file may be read before it is completely written.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class LocalTextFileSystem implements TextFileSystem {
+  private static final Logger log = LoggerFactory.getLogger(LocalTextFileSystem.class);
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private final Path inputFolder;
+  private final Path completedFolder;
+  private final Path errorFolder;
+  private final Charset encode;
+  private final Predicate<String> filter;
+  private final WatchService watchService;
+  /** the discovered files. The order is the order of discovery. */
+  private final LinkedHashSet<String> files = new LinkedHashSet<>();
+
+  private boolean needScan = true;
+
+  private LocalTextFileSystem(Builder builder) {
+    this.inputFolder = Paths.get(builder.inputFolder);
+    this.completedFolder =
+        builder.completedFolder == null ? null : Paths.get(builder.completedFolder);
+    this.errorFolder = Paths.get(builder.errorFolder);
+    this.encode = builder.encode;
+    this.filter = builder.filter;
+    if (!Files.isDirectory(inputFolder))
+      throw new IllegalArgumentException(inputFolder + " is not a folder");
+    try {
+      Files.createDirectories(errorFolder);
+      if (completedFolder != null) Files.createDirectories(completedFolder);
+      this.watchService = inputFolder.getFileSystem().newWatchService();
+      inputFolder.register(
+          watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public Collection<String> listInputFiles() {
+    WatchKey key;
+    while ((key = watchService.poll()) != null) {
+      for (WatchEvent<?> event : key.pollEvents()) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) needScan = true;
+        else {
+          Path path = inputFolder.resolve((Path) event.context());
+          if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) files.remove(path.toString());
+          else if (Files.isRegularFile(path) && filter.test(path.toString()))
+            files.add(path.toString());
+        }
+      }
+      // the events are lost if we don't reset the key
+      if (!key.reset()) throw new IllegalStateException(inputFolder + " is not accessible");
+    }
+    // the files created before registering the watch service are found by scanning
+    if (needScan) {
+      files.clear();
+      List<String> paths = new ArrayList<>();
+      try (DirectoryStream<Path> stream = Files.newDirectoryStream(inputFolder)) {
+        for (Path path : stream)
+          if (Files.isRegularFile(path) && filter.test(path.toString())) paths.add(path.toString());
+      } catch (IOException e) {
+        log.error("failed to list " + inputFolder, e);
+        return new ArrayList<>(files);
+      }
+      paths.sort(String::compareTo);
+      files.addAll(paths);
+      needScan = false;
+    }
+    return new ArrayList<>(files);
+  }
+
+  @Override
+  public InputStreamReader createReader(String path) {
+    InputStream input;
+    try {
+      input = new MappedFileInputStream(Paths.get(path));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    try {
+      return new InputStreamReader(TextCompression.decompress(path, input), encode);
+    } catch (IOException e) {
+      Releasable.close(input);
+      throw new UncheckedIOException(e);
+    } catch (RuntimeException e) {
+      Releasable.close(input);
+      throw e;
+    }
+  }
+
+  @Override
+  public void handleErrorFile(String path) {
+    files.remove(path);
+    try {
+      move(path, errorFolder);
+    } catch (Exception e) {
+      log.error("failed to move " + path + " to " + errorFolder, e);
+    }
+  }
+
+  @Override
+  public void handleCompletedFile(String path) {
+    files.remove(path);
+    try {
+      if (completedFolder == null) Files.deleteIfExists(Paths.get(path));
+      else move(path, completedFolder);
+    } catch (Exception e) {
+      if (completedFolder == null) log.error("failed to remove " + path, e);
+      else log.error("failed to move " + path + " to " + completedFolder, e);
+    }
+  }
+
+  private static void move(String path, Path folder) throws IOException {
+    Path source = Paths.get(path);
+    Path target = folder.resolve(source.getFileName());
+    if (Files.exists(target))
+      target = folder.resolve(source.getFileName() + "." + CommonUtils.uuid());
+    Files.move(source, target);
+  }
+
+  @Override
+  public void close() throws IOException {
+    files.clear();
+    watchService.close();
+  }
+
+  public static class Builder
+      implements com.island.ohara.common.pattern.Builder<LocalTextFileSystem> {
+    private String inputFolder;
+    private String completedFolder = null;
+    private String errorFolder;
+    private Charset encode = StandardCharsets.UTF_8;
+    private Predicate<String> filter = path -> true;
+
+    private Builder() {}
+
+    public Builder inputFolder(String inputFolder) {
+      this.inputFolder = CommonUtils.requireNonEmpty(inputFolder);
+      return this;
+    }
+
+    /**
+     * @param completedFolder the folder storing the completed files
+     * @return this builder
+     */
+    @Optional("default is null. It means the completed files are deleted")
+    public Builder completedFolder(String completedFolder) {
+      this.completedFolder = CommonUtils.requireNonEmpty(completedFolder);
+      return this;
+    }
+
+    public Builder errorFolder(String errorFolder) {
+      this.errorFolder = CommonUtils.requireNonEmpty(errorFolder);
+      return this;
+    }
+
+    @Optional("default is UTF-8")
+    public Builder encode(Charset encode) {
+      this.encode = Objects.requireNonNull(encode);
+      return this;
+    }
+
+    /**
+     * @param filter used to select the files processed by this file system. It is useful to split
+     *     the files between tasks.
+     * @return this builder
+     */
+    @Optional("default accepts all files")
+    public Builder filter(Predicate<String> filter) {
+      this.filter = Objects.requireNonNull(filter);
+      return this;
+    }
+
+    @Override
+    public LocalTextFileSystem build() {
+      CommonUtils.requireNonEmpty(inputFolder);
+      CommonUtils.requireNonEmpty(errorFolder);
+      return new LocalTextFileSystem(this);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import com.island.ohara.common.annotations.VisibleForTesting;
+import com.island.ohara.common.util.CommonUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An InputStream reading the local file through memory-mapped regions. The bytes are copied from
+ * the page cache to the caller's buffer directly. The file is mapped region by region so the file
+ * bigger than 2GB is supported and the address space used by a stream is bounded.
+ *
+ * <p>This class is not thread-safe.
+ */
+final class MappedFileInputStream extends InputStream {
+  private static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+  private final FileChannel channel;
+  private final int regionSize;
+  private final long size;
+  /** the position of next region. */
+  private long position = 0;
+
+  private MappedByteBuffer buffer = null;
+
+  MappedFileInputStream(Path path) throws IOException {
+    this(path, DEFAULT_REGION_SIZE);
+  }
+
+  @VisibleForTesting
+  MappedFileInputStream(Path path, int regionSize) throws IOException {
+    this.regionSize = CommonUtils.requirePositiveInt(regionSize);
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    this.size = channel.size();
+  }
+
+  /**
+   * map the next region if the current region is consumed.
+   *
+   * @return false if there is no more data
+   */
+  private boolean ensureRegion() throws IOException {
+    if (buffer != null && buffer.hasRemaining()) return true;
+    if (position >= size) return false;
+    long length = Math.min(regionSize, size - position);
+    buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+    position += length;
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!ensureRegion()) return -1;
+    return buffer.get() & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (offset < 0 || length < 0 || length > bytes.length - offset)
+      throw new IndexOutOfBoundsException();
+    if (length == 0) return 0;
+    if (!ensureRegion()) return -1;
+    int count = Math.min(length, buffer.remaining());
+    buffer.get(bytes, offset, count);
+    return count;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    if (n <= 0) return 0;
+    long remaining = buffer == null ? 0 : buffer.remaining();
+    if (n < remaining) {
+      buffer.position(buffer.position() + (int) n);
+      return n;
+    }
+    // drop the current region and jump to the target position directly
+    long target = Math.min(size, position - remaining + n);
+    long skipped = target - (position - remaining);
+    buffer = null;
+    position = target;
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return buffer == null ? 0 : buffer.remaining();
+  }
+
+  @Override
+  public void close() throws IOException {
+    // the mapped region is released by GC
+    buffer = null;
+    channel.close();
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.common.util.Releasable;
+import com.island.ohara.common.util.ReleaseOnce;
+import com.island.ohara.kafka.connector.RowSourceRecord;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process many files concurrently for {@link TextSourceTask}. Each file is read by a single worker
+ * which pushes the batches to a bounded queue owned by the file. Hence, the records of a file are
+ * returned in order. All operations of listing and moving files are executed by the caller thread
+ * through the main file system. The workers read the files through their own file systems.
+ *
+ * <p>{@link #poll()} and {@link #close()} must be called by the same thread.
+ */
+final class ParallelFileProcessor extends ReleaseOnce {
+  private static final Logger log = LoggerFactory.getLogger(ParallelFileProcessor.class);
+  /** the number of batches buffered by a file. */
+  private static final int MAX_BATCHES = 2;
+
+  private static final class Batch {
+    private static final Batch END = new Batch(null, null);
+    private final List<RowSourceRecord> records;
+    private final Throwable error;
+
+    private Batch(List<RowSourceRecord> records, Throwable error) {
+      this.records = records;
+      this.error = error;
+    }
+  }
+
+  private final TextFileSystem fileSystem;
+  private final Function<String, TextSourceConverter> converterFactory;
+  private final int numberOfWorkers;
+  private final BlockingQueue<TextFileSystem> readers;
+  private final ExecutorService executor;
+  /** the files being processed. The older files are drained first. */
+  private final Map<String, BlockingQueue<Batch>> files = new LinkedHashMap<>();
+
+  /**
+   * @param fileSystem the file system used to list and move files
+   * @param readers the file systems used by workers. The size is the number of workers
+   * @param converterFactory used to create the converter for a file
+   */
+  ParallelFileProcessor(
+      TextFileSystem fileSystem,
+      List<TextFileSystem> readers,
+      Function<String, TextSourceConverter> converterFactory) {
+    this.fileSystem = Objects.requireNonNull(fileSystem);
+    this.converterFactory = Objects.requireNonNull(converterFactory);
+    this.numberOfWorkers = CommonUtils.requireNonEmpty(readers).size();
+    this.readers = new LinkedBlockingQueue<>(readers);
+    this.executor = Executors.newFixedThreadPool(numberOfWorkers);
+  }
+
+  /**
+   * submit new files if there are idle workers, and then collect the batches prepared by workers.
+   * The completed files are handled after all their records are collected.
+   *
+   * @return the records prepared by workers
+   */
+  List<RowSourceRecord> poll() {
+    if (files.size() < numberOfWorkers) submit();
+    List<RowSourceRecord> result = new ArrayList<>();
+    Iterator<Map.Entry<String, BlockingQueue<Batch>>> iterator = files.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, BlockingQueue<Batch>> entry = iterator.next();
+      Batch batch;
+      while ((batch = entry.getValue().poll()) != null) {
+        if (batch.records != null) result.addAll(batch.records);
+        else {
+          iterator.remove();
+          if (batch.error == null) fileSystem.handleCompletedFile(entry.getKey());
+          else {
+            log.error("failed to handle " + entry.getKey(), batch.error);
+            fileSystem.handleErrorFile(entry.getKey());
+          }
+          break;
+        }
+      }
+    }
+    return result;
+  }
+
+  private void submit() {
+    Collection<String> inputFiles;
+    try {
+      inputFiles = fileSystem.listInputFiles();
+    } catch (Exception e) {
+      log.error("failed to list the input files", e);
+      return;
+    }
+    for (String inputFile : inputFiles) {
+      if (files.size() >= numberOfWorkers) return;
+      if (files.containsKey(inputFile)) continue;
+      Optional<String> claimed = fileSystem.claim(inputFile);
+      if (!claimed.isPresent() || files.containsKey(claimed.get())) continue;
+      String path = claimed.get();
+      TextSourceConverter converter;
+      try {
+        converter = converterFactory.apply(path);
+      } catch (Exception e) {
+        log.error("failed to handle " + path, e);
+        fileSystem.handleErrorFile(path);
+        continue;
+      }
+      BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(MAX_BATCHES);
+      files.put(path, queue);
+      executor.execute(() -> read(path, converter, queue));
+    }
+  }
+
+  private void read(String path, TextSourceConverter converter, BlockingQueue<Batch> queue) {
+    TextFileSystem reader = null;
+    Batch last;
+    try {
+      reader = readers.take();
+      TextFileSystem r = reader;
+      while (true) {
+        List<RowSourceRecord> records = converter.convert(() -> r.createReader(path));
+        if (records.isEmpty()) break;
+        queue.put(new Batch(records, null));
+      }
+      last = Batch.END;
+    } catch (InterruptedException e) {
+      // the processor is closing
+      return;
+    } catch (Throwable e) {
+      last = new Batch(null, e);
+    } finally {
+      // the reader must be closed before the file is moved by the caller thread
+      Releasable.close(converter);
+      if (reader != null) readers.add(reader);
+    }
+    try {
+      queue.put(last);
+    } catch (InterruptedException e) {
+      // the processor is closing
+    }
+  }
+
+  @Override
+  protected void doClose() {
+    executor.shutdownNow();
+    try {
+      if (!executor.awaitTermination(30, TimeUnit.SECONDS))
+        log.error("failed to wait for the workers of text source");
+    } catch (InterruptedException e) {
+      log.error("interrupted when waiting for the workers of text source", e);
+    }
+    readers.forEach(Releasable::close);
+  }
+}
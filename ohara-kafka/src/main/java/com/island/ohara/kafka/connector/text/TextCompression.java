@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import com.github.luben.zstd.ZstdInputStream;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import net.jpountz.lz4.LZ4FrameInputStream;
+
+/**
+ * The compression codecs of input files. The codec is detected by the file extension first, and
+ * then by the magic bytes of file. The compressed file is decompressed on the fly so the input file
+ * is transferred in compressed form and there is no staging step.
+ */
+public enum TextCompression {
+  NONE(null, new byte[0]),
+  GZIP(".gz", new byte[] {0x1f, (byte) 0x8b}),
+  ZSTD(".zst", new byte[] {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd}),
+  LZ4(".lz4", new byte[] {0x04, 0x22, 0x4d, 0x18});
+
+  private static final int MAX_MAGIC_LENGTH = 4;
+
+  private final String extension;
+  private final byte[] magic;
+
+  TextCompression(String extension, byte[] magic) {
+    this.extension = extension;
+    this.magic = magic;
+  }
+
+  /**
+   * wrap the input stream by the decompressor of this codec.
+   *
+   * @param input compressed input stream
+   * @return decompressed input stream
+   * @throws IOException if the header of compressed stream is invalid
+   */
+  public InputStream wrap(InputStream input) throws IOException {
+    switch (this) {
+      case GZIP:
+        return new GZIPInputStream(input, 64 * 1024);
+      case ZSTD:
+        return new BufferedInputStream(new ZstdInputStream(input), 64 * 1024);
+      case LZ4:
+        return new BufferedInputStream(new LZ4FrameInputStream(input), 64 * 1024);
+      case NONE:
+      default:
+        return input;
+    }
+  }
+
+  /**
+   * detect the codec by the extension of file name.
+   *
+   * @param path file path
+   * @return codec or NONE if the extension is unknown
+   */
+  public static TextCompression of(String path) {
+    for (TextCompression compression : values())
+      if (compression.extension != null && path.endsWith(compression.extension)) return compression;
+    return NONE;
+  }
+
+  /**
+   * detect the codec of input file and then decompress it on the fly. The codec is detected by the
+   * extension of path, and then by the magic bytes of input stream if the extension is unknown.
+   *
+   * @param path file path
+   * @param input input stream of file
+   * @return decompressed input stream
+   * @throws IOException if it fails to read the magic bytes or the header of compressed stream
+   */
+  public static InputStream decompress(String path, InputStream input) throws IOException {
+    TextCompression compression = of(path);
+    if (compression != NONE) return compression.wrap(input);
+    InputStream buffered = input.markSupported() ? input : new BufferedInputStream(input);
+    buffered.mark(MAX_MAGIC_LENGTH);
+    byte[] header = new byte[MAX_MAGIC_LENGTH];
+    int length = 0;
+    while (length < header.length) {
+      int count = buffered.read(header, length, header.length - length);
+      if (count < 0) break;
+      length += count;
+    }
+    buffered.reset();
+    for (TextCompression c : values())
+      if (c != NONE
+          && length >= c.magic.length
+          && Arrays.equals(c.magic, Arrays.copyOf(header, c.magic.length))) return c.wrap(buffered);
+    return buffered;
+  }
+}
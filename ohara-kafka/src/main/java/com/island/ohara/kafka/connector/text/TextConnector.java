@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import com.island.ohara.common.setting.SettingDef;
+import com.island.ohara.kafka.connector.TaskSetting;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public interface TextConnector {
+
+  /**
+   * the number of files processed concurrently by a text source task. Each worker has its own
+   * {@link TextFileSystem} so the file systems don't need to be thread-safe.
+   */
+  String WORKERS_CONFIG = "text.source.workers";
+
+  int WORKERS_DEFAULT = 1;
+
+  /**
+   * the time to live of listed input files. The input folder is listed again only if the cached
+   * files are handled or the cache is expired. The cache is disabled if it is not defined. see
+   * {@link CachedTextFileSystem}
+   */
+  String LISTING_TTL_CONFIG = "text.source.listing.ttl";
+
+  /**
+   * the format of input files. It is the name of {@link TextSourceConverterFactory.TextType} (case
+   * insensitive). For example, csv or json_lines.
+   */
+  String TYPE_CONFIG = "text.source.type";
+
+  String TYPE_DEFAULT = TextSourceConverterFactory.TextType.CSV.name();
+
+  SettingDef WORKERS_DEFINITION =
+      SettingDef.builder()
+          .displayName("Source Workers")
+          .documentation(
+              "Number of files processed concurrently by a source task. It must be bigger than zero."
+                  + " 1 means the files are processed one by one")
+          .valueType(SettingDef.Type.INT)
+          .key(WORKERS_CONFIG)
+          .optional(WORKERS_DEFAULT)
+          .build();
+
+  SettingDef LISTING_TTL_DEFINITION =
+      SettingDef.builder()
+          .displayName("Listing TTL")
+          .documentation(
+              "The time to live of listed input files. The input folder is listed again only if the"
+                  + " listed files are handled or the ttl is expired. The files changed since last"
+                  + " listing (by size and last modified time) are processed after the others. It"
+                  + " must be positive. The input folder is listed by each poll if it is not set")
+          .valueType(SettingDef.Type.DURATION)
+          .key(LISTING_TTL_CONFIG)
+          .optional()
+          .build();
+
+  SettingDef TYPE_DEFINITION =
+      SettingDef.builder()
+          .displayName("File Type")
+          .documentation(
+              "The format of input files. The supported formats are "
+                  + Stream.of(TextSourceConverterFactory.TextType.values())
+                      .map(type -> type.name().toLowerCase())
+                      .collect(Collectors.joining(", ")))
+          .valueType(SettingDef.Type.STRING)
+          .key(TYPE_CONFIG)
+          .optional(TYPE_DEFAULT)
+          .build();
+
+  /** the default definitions for text source connector. */
+  List<SettingDef> SOURCE_DEFINITIONS_DEFAULT =
+      Arrays.asList(WORKERS_DEFINITION, LISTING_TTL_DEFINITION, TYPE_DEFINITION);
+
+  /**
+   * check the values of {@link #SOURCE_DEFINITIONS_DEFAULT}. The source connectors should call it
+   * when starting so the invalid values fail the connector rather than the tasks.
+   *
+   * @param settings connector or task settings
+   * @throws IllegalArgumentException if any value is illegal
+   */
+  static void checkSourceSettings(TaskSetting settings) {
+    int workers = settings.intOption(WORKERS_CONFIG).orElse(WORKERS_DEFAULT);
+    if (workers < 1)
+      throw new IllegalArgumentException(
+          WORKERS_CONFIG + " must be bigger than zero but actual:" + workers);
+    Optional<Duration> listingTtl = settings.durationOption(LISTING_TTL_CONFIG);
+    if (listingTtl.isPresent() && (listingTtl.get().isNegative() || listingTtl.get().isZero()))
+      throw new IllegalArgumentException(
+          LISTING_TTL_CONFIG + " must be positive but actual:" + listingTtl.get());
+    textType(settings);
+  }
+
+  /**
+   * @param settings connector or task settings
+   * @return the type defined by {@link #TYPE_CONFIG}
+   * @throws IllegalArgumentException if the type is unsupported
+   */
+  static TextSourceConverterFactory.TextType textType(TaskSetting settings) {
+    String type = settings.stringOption(TYPE_CONFIG).orElse(TYPE_DEFAULT);
+    return Stream.of(TextSourceConverterFactory.TextType.values())
+        .filter(t -> t.name().equalsIgnoreCase(type))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new IllegalArgumentException(
+                    TYPE_CONFIG
+                        + " must be one of "
+                        + Stream.of(TextSourceConverterFactory.TextType.values())
+                            .map(t -> t.name().toLowerCase())
+                            .collect(Collectors.joining(","))
+                        + " but actual:"
+                        + type));
+  }
+}
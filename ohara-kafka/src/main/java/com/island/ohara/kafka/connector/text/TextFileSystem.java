@@ -19,6 +19,8 @@ package com.island.ohara.kafka.connector.text;
 import java.io.Closeable;
 import java.io.InputStreamReader;
 import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * The close method will be invoked by the {@link TextSourceTask#_stop()} to release resources that
@@ -29,12 +31,27 @@ public interface TextFileSystem extends Closeable {
    * list the files from input folder. NOTED: the returned value is full path.
    *
    * @return files from input folder
+   * @throws RuntimeException if it fails to list the input folder
    */
   Collection<String> listInputFiles();
 
+  /**
+   * list the files from input folder with their size and last modified time. The file system which
+   * can get them in the same listing (for example, MLSD of ftp) should override this method. The
+   * default implementation returns the files of {@link #listInputFiles()} with unknown size and
+   * time.
+   *
+   * @return files from input folder
+   * @throws RuntimeException if it fails to list the input folder
+   */
+  default Collection<FileInfo> listInputFileInfos() {
+    return listInputFiles().stream().map(FileInfo::of).collect(Collectors.toList());
+  }
+
   /**
    * create a inputStreamReader for input file. NOTE: this resource will be automatically closed by
-   * the {@link TextSourceTask#_poll()}
+   * the {@link TextSourceTask#_poll()}. The compressed file should be decompressed by {@link
+   * TextCompression#decompress}
    *
    * @param path a full path form input file
    * @return a inputStreamReader from input file
@@ -44,4 +61,18 @@ public interface TextFileSystem extends Closeable {
   void handleErrorFile(String path);
 
   void handleCompletedFile(String path);
+
+  /**
+   * claim the input file before processing it. The file system shared by many tasks can move the
+   * file to a private place atomically (for example, renaming it into a per-task folder) so the
+   * file is processed by only one task. The files claimed by this task should be returned by {@link
+   * #listInputFiles()} also. Hence, they are processed again after restarting the task. The default
+   * implementation does nothing.
+   *
+   * @param path a full path from input file
+   * @return the path of claimed file, or empty if the file is claimed by another task
+   */
+  default Optional<String> claim(String path) {
+    return Optional.of(path);
+  }
 }
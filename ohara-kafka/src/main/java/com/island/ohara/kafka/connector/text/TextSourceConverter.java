@@ -16,20 +16,24 @@
 
 package com.island.ohara.kafka.connector.text;
 
+import com.island.ohara.common.util.Releasable;
 import com.island.ohara.kafka.connector.RowSourceRecord;
 import java.io.InputStreamReader;
 import java.util.List;
 import java.util.function.Supplier;
 
 /**
- * A converter to be used to read data from a reader, and convert to records of Kafka Connect format
+ * A converter to be used to read data from a reader, and convert to records of Kafka Connect
+ * format. A converter is used to process only one file, and it may be called many times in order to
+ * read the file batch by batch.
  */
 @FunctionalInterface
-public interface TextSourceConverter {
+public interface TextSourceConverter extends Releasable {
 
   /**
-   * Read lines from text file and convert to records. Note: remember to release resources after
-   * using InputStreamReader.
+   * Read lines from text file and convert to records. The converter may keep the reader open and
+   * return a part of the file. In this case, the next call continues reading from the same reader
+   * and the supplier is not called again. An empty list means there is no more data in the file.
    *
    * <p>Depending on the situation, you can choose to handle IOException or throw an unchecked
    * exception.
@@ -38,4 +42,10 @@ public interface TextSourceConverter {
    * @return a array from RowSourceRecord
    */
   List<RowSourceRecord> convert(Supplier<InputStreamReader> supplier);
+
+  /** release the reader kept by this converter. */
+  @Override
+  default void close() {
+    // do nothing
+  }
 }
@@ -19,6 +19,7 @@ package com.island.ohara.kafka.connector.text;
 import com.island.ohara.kafka.connector.RowSourceContext;
 import com.island.ohara.kafka.connector.TaskSetting;
 import com.island.ohara.kafka.connector.text.csv.CsvSourceConverterFactory;
+import com.island.ohara.kafka.connector.text.json.JsonLinesSourceConverterFactory;
 
 /**
  * Factory for creating {@link TextSourceConverter} instances, which can used in keep something
@@ -29,12 +30,25 @@ import com.island.ohara.kafka.connector.text.csv.CsvSourceConverterFactory;
 public interface TextSourceConverterFactory {
   enum TextType {
     CSV,
+    JSON_LINES,
+  }
+
+  /**
+   * create the factory for the type defined by {@link TextConnector#TYPE_CONFIG}.
+   *
+   * @param config task setting
+   * @return factory
+   */
+  static TextSourceConverterFactory of(TaskSetting config) {
+    return of(config, TextConnector.textType(config));
   }
 
   static TextSourceConverterFactory of(TaskSetting config, TextType type) {
     switch (type) {
       case CSV:
         return new CsvSourceConverterFactory(config);
+      case JSON_LINES:
+        return new JsonLinesSourceConverterFactory(config);
       default:
         throw new IllegalArgumentException("Unsupported type " + type);
     }
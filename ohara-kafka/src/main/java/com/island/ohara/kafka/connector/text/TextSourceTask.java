@@ -20,10 +20,14 @@ import com.island.ohara.common.util.Releasable;
 import com.island.ohara.kafka.connector.RowSourceRecord;
 import com.island.ohara.kafka.connector.RowSourceTask;
 import com.island.ohara.kafka.connector.TaskSetting;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +40,14 @@ public abstract class TextSourceTask extends RowSourceTask {
 
   private TextSourceConverterFactory converterFactory;
   private TextFileSystem fileSystem;
+  /**
+   * the file being processed. The file is read batch by batch until the converter returns nothing.
+   */
+  private String currentPath = null;
+
+  private TextSourceConverter currentConverter = null;
+  /** it is not null if there are many workers. */
+  private ParallelFileProcessor processor = null;
 
   /**
    * Return the TextSourceConverterFactory for this connector
@@ -46,7 +58,8 @@ public abstract class TextSourceTask extends RowSourceTask {
   public abstract TextSourceConverterFactory getConverterFactory(TaskSetting config);
 
   /**
-   * Return the TextFileSystem for this connector
+   * Return the TextFileSystem for this connector. It is called once more for each worker if {@link
+   * TextConnector#WORKERS_CONFIG} is bigger than 1. Hence, each call must return a new instance.
    *
    * @param config configuration config
    * @return the TextFileSystem for this connector
@@ -55,33 +68,74 @@ public abstract class TextSourceTask extends RowSourceTask {
 
   @Override
   protected void _start(TaskSetting config) {
+    TextConnector.checkSourceSettings(config);
     converterFactory = Objects.requireNonNull(getConverterFactory(config));
     fileSystem = Objects.requireNonNull(getFileSystem(config));
+    Optional<Duration> listingTtl = config.durationOption(TextConnector.LISTING_TTL_CONFIG);
+    if (listingTtl.isPresent()) fileSystem = new CachedTextFileSystem(fileSystem, listingTtl.get());
+    int workers =
+        config.intOption(TextConnector.WORKERS_CONFIG).orElse(TextConnector.WORKERS_DEFAULT);
+    if (workers > 1)
+      processor =
+          new ParallelFileProcessor(
+              fileSystem,
+              IntStream.range(0, workers)
+                  .mapToObj(i -> Objects.requireNonNull(getFileSystem(config)))
+                  .collect(Collectors.toList()),
+              path -> converterFactory.newConverter(rowContext, path));
   }
 
   @Override
   protected List<RowSourceRecord> _poll() {
-    Optional<String> inputFile = fileSystem.listInputFiles().stream().findFirst();
-
-    if (inputFile.isPresent()) {
-      String path = inputFile.get();
+    if (processor != null) return processor.poll();
+    if (currentConverter == null) {
+      Collection<String> inputFiles;
       try {
-        TextSourceConverter converter = converterFactory.newConverter(rowContext, path);
-        List<RowSourceRecord> records = converter.convert(() -> fileSystem.createReader(path));
-        if (records.isEmpty()) fileSystem.handleCompletedFile(path);
-        return records;
+        inputFiles = fileSystem.listInputFiles();
       } catch (Exception e) {
-        log.error("failed to handle " + path, e);
-        fileSystem.handleErrorFile(path);
+        log.error("failed to list the input files", e);
         return Collections.emptyList();
       }
+      // the stream is lazy so the files are claimed one by one until a file is claimed
+      Optional<String> inputFile =
+          inputFiles.stream()
+              .map(fileSystem::claim)
+              .filter(Optional::isPresent)
+              .map(Optional::get)
+              .findFirst();
+      if (!inputFile.isPresent()) return Collections.emptyList();
+      currentPath = inputFile.get();
     }
+    String path = currentPath;
+    try {
+      if (currentConverter == null)
+        currentConverter = converterFactory.newConverter(rowContext, path);
+      List<RowSourceRecord> records = currentConverter.convert(() -> fileSystem.createReader(path));
+      if (records.isEmpty()) {
+        // the reader must be closed before moving the file
+        closeConverter();
+        fileSystem.handleCompletedFile(path);
+      }
+      return records;
+    } catch (Exception e) {
+      log.error("failed to handle " + path, e);
+      closeConverter();
+      fileSystem.handleErrorFile(path);
+      return Collections.emptyList();
+    }
+  }
 
-    return Collections.emptyList();
+  private void closeConverter() {
+    Releasable.close(currentConverter);
+    currentConverter = null;
+    currentPath = null;
   }
 
   @Override
   protected void _stop() {
+    // the workers must be stopped before closing the file system
+    Releasable.close(processor);
+    closeConverter();
     Releasable.close(fileSystem);
   }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text.csv;
+
+import com.island.ohara.common.data.Cell;
+import com.island.ohara.common.data.Column;
+import com.island.ohara.common.data.DataType;
+import com.island.ohara.common.data.Row;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The plan to convert the csv fields to a row. It is computed once per file from the header and the
+ * schema. Each step of plan is bound to the index of field, the new name and the parser of data
+ * type. Hence, the conversion of a record is a single pass over the steps without any lookup.
+ */
+final class CsvConversionPlan {
+  private final String[] header;
+  /** the index of field in the record. It is null if there is no schema. */
+  private final int[] indexes;
+
+  private final String[] names;
+  private final List<Function<String, Object>> parsers;
+
+  /**
+   * @param header the header of csv file
+   * @param schema the schema. Empty schema means all fields are converted to string cells
+   */
+  CsvConversionPlan(String[] header, List<Column> schema) {
+    this.header = Objects.requireNonNull(header);
+    if (schema.isEmpty()) {
+      indexes = null;
+      names = null;
+      parsers = null;
+    } else {
+      Column[] columns =
+          schema.stream().sorted(Comparator.comparing(Column::order)).toArray(Column[]::new);
+      List<String> fields = Arrays.asList(header);
+      indexes = new int[columns.length];
+      names = new String[columns.length];
+      parsers = new ArrayList<>(columns.length);
+      for (int i = 0; i != columns.length; ++i) {
+        indexes[i] = fields.indexOf(columns[i].name());
+        if (indexes[i] < 0)
+          throw new IllegalArgumentException(
+              "the column:" + columns[i].name() + " does not exist in header:" + fields);
+        names[i] = columns[i].newName();
+        parsers.add(parser(columns[i].dataType()));
+      }
+    }
+  }
+
+  /**
+   * convert the fields of a csv record to a row.
+   *
+   * @param fields fields
+   * @return row
+   */
+  Row toRow(String[] fields) {
+    if (indexes == null) {
+      if (fields.length > header.length)
+        throw new IllegalArgumentException(
+            "the number of fields:" + fields.length + " is bigger than header:" + header.length);
+      Cell<?>[] cells = new Cell<?>[fields.length];
+      for (int i = 0; i != fields.length; ++i) cells[i] = Cell.of(header[i], fields[i]);
+      return Row.of(cells);
+    }
+    Cell<?>[] cells = new Cell<?>[indexes.length];
+    for (int i = 0; i != indexes.length; ++i) {
+      if (indexes[i] >= fields.length)
+        throw new IllegalArgumentException("the field:" + header[indexes[i]] + " is missed");
+      cells[i] = Cell.of(names[i], parsers.get(i).apply(fields[indexes[i]]));
+    }
+    return Row.of(cells);
+  }
+
+  /**
+   * @param type data type
+   * @return the parser converting string to specified type
+   */
+  static Function<String, Object> parser(DataType type) {
+    switch (type) {
+      case BOOLEAN:
+        return Boolean::valueOf;
+      case BYTE:
+        return Byte::valueOf;
+      case SHORT:
+        return Short::valueOf;
+      case INT:
+        return Integer::valueOf;
+      case LONG:
+        return Long::valueOf;
+      case FLOAT:
+        return Float::valueOf;
+      case DOUBLE:
+        return Double::valueOf;
+      case STRING:
+      case OBJECT:
+        return value -> value;
+      default:
+        throw new IllegalArgumentException("Unsupported type " + type);
+    }
+  }
+}
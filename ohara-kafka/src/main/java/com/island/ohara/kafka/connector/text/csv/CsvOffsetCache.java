@@ -18,11 +18,12 @@ package com.island.ohara.kafka.connector.text.csv;
 
 import com.island.ohara.kafka.connector.RowSourceContext;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/** This cache is thread-safe since the files may be processed by different threads. */
 public class CsvOffsetCache implements OffsetCache {
-  private final Map<String, Integer> cache = new HashMap<>();
+  private final Map<String, Integer> cache = new ConcurrentHashMap<>();
 
   public void update(RowSourceContext context, String path) {
     Map<String, Object> offset =
@@ -31,19 +32,12 @@ public class CsvOffsetCache implements OffsetCache {
   }
 
   public void update(String path, int index) {
-    if (!cache.containsKey(path)) {
-      cache.put(path, index);
-    }
-    int previous = cache.get(path);
-    if (index > previous) cache.put(path, index);
+    cache.merge(path, index, Math::max);
   }
 
   public boolean predicate(String path, int index) {
-    if (cache.containsKey(path)) {
-      int previous = cache.get(path);
-      return index > previous;
-    }
-    return true;
+    Integer previous = cache.get(path);
+    return previous == null || index > previous;
   }
 
   private int getOffsetValue(Map<String, Object> offset) {
@@ -19,25 +19,19 @@ package com.island.ohara.kafka.connector.text.csv;
 import com.island.ohara.common.annotations.VisibleForTesting;
 import com.island.ohara.common.data.*;
 import com.island.ohara.common.util.CommonUtils;
-import com.island.ohara.common.util.StreamUtils;
+import com.island.ohara.common.util.Releasable;
 import com.island.ohara.kafka.connector.RowSourceRecord;
 import com.island.ohara.kafka.connector.text.TextSourceConverter;
-import java.io.BufferedReader;
-import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 /**
  * A converter to be used to read data from a csv file, and convert to records of Kafka Connect
  * format
  */
 public class CsvSourceConverter implements TextSourceConverter {
-  @VisibleForTesting static final String CSV_REGEX = ",(?=([^\"]*\"[^\"]*\")*[^\"]*$)";
   public static final String CSV_PARTITION_KEY = "csv.file.path";
   public static final String CSV_OFFSET_KEY = "csv.file.line";
 
@@ -46,115 +40,48 @@ public class CsvSourceConverter implements TextSourceConverter {
   private final List<Column> schema;
   private final Map<String, String> partition;
   private final OffsetCache cache;
+  private final int batchSize;
+  private final char delimiter;
+  /** the tokenizer (and its reader) is kept open until the whole file is processed. */
+  private CsvTokenizer tokenizer = null;
+  /** the plan is created when the header is read. */
+  private CsvConversionPlan plan = null;
+  /** the index of last read record. The header is record 0. */
+  private int index = 0;
 
   @Override
   public List<RowSourceRecord> convert(Supplier<InputStreamReader> supplier) {
-    try (InputStreamReader reader = supplier.get()) {
-      Map<Integer, List<Cell<String>>> cellsAndIndex = toCells(reader);
-      Map<Integer, Row> rowsAndIndex = transform(cellsAndIndex);
-      List<RowSourceRecord> records = toRecords(rowsAndIndex);
-      // ok. all data are prepared. let's update the cache
-      rowsAndIndex.keySet().forEach(index -> cache.update(path, index));
-      return records;
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
-    }
-  }
-
-  /** read all lines from a reader, and then convert them to cells. */
-  @VisibleForTesting
-  Map<Integer, List<Cell<String>>> toCells(InputStreamReader input) {
-    Stream<String> lines = new BufferedReader(input).lines();
-    Map<Integer, String> lineAndIndex =
-        StreamUtils.zipWithIndex(lines)
-            .filter(
-                pair -> {
-                  int index = pair.left();
-                  if (index == 0) return true;
-                  return cache.predicate(path, index);
-                })
-            .collect(Collectors.toMap(Pair::left, Pair::right));
-
-    if (lineAndIndex.size() > 1) {
-      String[] header =
-          Arrays.stream(lineAndIndex.get(0).split(CSV_REGEX))
-              .map(String::trim)
-              .toArray(String[]::new);
-
-      return lineAndIndex.entrySet().stream()
-          .filter(e -> e.getKey() > 0)
-          .collect(
-              Collectors.toMap(
-                  Map.Entry::getKey,
-                  e -> {
-                    String line = e.getValue();
-                    String[] items = line.split(CSV_REGEX);
-                    return IntStream.range(0, items.length)
-                        .mapToObj(i -> Cell.of(header[i], items[i].trim()))
-                        .collect(Collectors.toList());
-                  }));
-    }
-
-    return Collections.emptyMap();
+    if (tokenizer == null) tokenizer = new CsvTokenizer(supplier.get(), delimiter);
+    Map<Integer, Row> rowsAndIndex = toRows(tokenizer);
+    List<RowSourceRecord> records = toRecords(rowsAndIndex);
+    // ok. all data are prepared. let's update the cache
+    rowsAndIndex.keySet().forEach(index -> cache.update(path, index));
+    return records;
   }
 
   /**
-   * transform the input cells to rows as stated by the columns. This method does the following
-   * works. 1) filter out the unused cell 2) replace the name by new one 3) convert the string to
-   * specified type
+   * read the next batch of records from a tokenizer, and then convert them to rows as stated by the
+   * columns. The records which have been processed are skipped and they are not counted in the
+   * batch size. Hence, an empty result means the end of input. Noted: the index is the number of
+   * csv records rather than the number of lines since a quoted field can contain line separators.
    */
   @VisibleForTesting
-  Map<Integer, Row> transform(Map<Integer, List<Cell<String>>> indexAndCells) {
-    return indexAndCells.entrySet().stream()
-        .collect(Collectors.toMap(Map.Entry::getKey, e -> transform(e.getValue())));
-  }
-
-  private Row transform(List<Cell<String>> cells) {
-    if (schema.isEmpty()) {
-      return Row.of(cells.stream().toArray(Cell[]::new));
+  Map<Integer, Row> toRows(CsvTokenizer input) {
+    if (plan == null) {
+      String[] header = input.next();
+      if (header == null) return Collections.emptyMap();
+      plan = new CsvConversionPlan(header, schema);
     }
-
-    return Row.of(
-        schema.stream()
-            .sorted(Comparator.comparing(Column::order))
-            .map(
-                column -> {
-                  String value = findCellByName(cells, column.name()).value();
-                  Object newValue = convertByType(value, column.dataType());
-                  return Cell.of(column.newName(), newValue);
-                })
-            .toArray(Cell[]::new));
-  }
-
-  @VisibleForTesting
-  Cell<String> findCellByName(List<Cell<String>> cells, String name) {
-    return cells.stream().filter(cell -> cell.name().equals(name)).findFirst().get();
-  }
-
-  @VisibleForTesting
-  Object convertByType(String value, DataType type) {
-    switch (type) {
-      case BOOLEAN:
-        return Boolean.valueOf(value);
-      case BYTE:
-        return Byte.valueOf(value);
-      case SHORT:
-        return Short.valueOf(value);
-      case INT:
-        return Integer.valueOf(value);
-      case LONG:
-        return Long.valueOf(value);
-      case FLOAT:
-        return Float.valueOf(value);
-      case DOUBLE:
-        return Double.valueOf(value);
-      case STRING:
-        return value;
-      case OBJECT:
-        return value;
-      default:
-        throw new IllegalArgumentException("Unsupported type " + type);
+    // keep the order of records
+    Map<Integer, Row> result = new LinkedHashMap<>();
+    while (result.size() < batchSize) {
+      String[] fields = input.next();
+      if (fields == null) break;
+      ++index;
+      // the processed records are not parsed
+      if (cache.predicate(path, index)) result.put(index, plan.toRow(fields));
     }
+    return result;
   }
 
   @VisibleForTesting
@@ -184,6 +111,12 @@ public class CsvSourceConverter implements TextSourceConverter {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public void close() {
+    Releasable.close(tokenizer);
+    tokenizer = null;
+  }
+
   public static class Builder
       implements com.island.ohara.common.pattern.Builder<CsvSourceConverter> {
     // Required parameters
@@ -193,6 +126,8 @@ public class CsvSourceConverter implements TextSourceConverter {
 
     // Optional parameters - initialized to default values
     private List<Column> schema = Collections.emptyList();
+    private int batchSize = 1000;
+    private char delimiter = ',';
 
     public Builder path(String val) {
       path = val;
@@ -215,6 +150,26 @@ public class CsvSourceConverter implements TextSourceConverter {
       return this;
     }
 
+    /**
+     * the max number of lines converted by a call of {@link CsvSourceConverter#convert(Supplier)}.
+     *
+     * @param val batch size
+     * @return this builder
+     */
+    @com.island.ohara.common.annotations.Optional("default is 1000")
+    public Builder batchSize(int val) {
+      batchSize = CommonUtils.requirePositiveInt(val);
+      return this;
+    }
+
+    @com.island.ohara.common.annotations.Optional("default is comma")
+    public Builder delimiter(char val) {
+      if (val == '"' || val == '\n' || val == '\r')
+        throw new IllegalArgumentException("the delimiter can't be quote or line separator");
+      delimiter = val;
+      return this;
+    }
+
     @Override
     public CsvSourceConverter build() {
       Objects.requireNonNull(path);
@@ -229,6 +184,8 @@ public class CsvSourceConverter implements TextSourceConverter {
     topics = builder.topics;
     schema = builder.schema;
     cache = builder.offsetCache;
+    batchSize = builder.batchSize;
+    delimiter = builder.delimiter;
     partition = Collections.singletonMap(CSV_PARTITION_KEY, builder.path);
   }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text.csv;
+
+import com.island.ohara.common.util.Releasable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A RFC 4180 tokenizer. It splits the csv records by the delimiter and the line separator (LF, CR
+ * or CRLF). The quoted field can contain the delimiter, the line separator and the escaped quote
+ * (""). The quotes of quoted field are removed. The spaces surrounding the unquoted field are
+ * trimmed.
+ *
+ * <p>The tokenizer reads the chars into a reusable buffer and assembles the fields by a reusable
+ * builder so it does not create any object except for the fields.
+ *
+ * <p>This class is not thread-safe.
+ */
+final class CsvTokenizer implements Releasable {
+  private static final char QUOTE = '"';
+  private static final char SPACE = ' ';
+  private static final char LF = '\n';
+  private static final char CR = '\r';
+  private static final int EOF = -1;
+
+  private final Reader reader;
+  private final char delimiter;
+  private final boolean trim;
+  private final char[] buffer;
+  private int position = 0;
+  private int limit = 0;
+  private final StringBuilder field = new StringBuilder();
+  private final List<String> fields = new ArrayList<>();
+
+  CsvTokenizer(Reader reader, char delimiter) {
+    this(reader, delimiter, 8192);
+  }
+
+  CsvTokenizer(Reader reader, char delimiter, int bufferSize) {
+    this.reader = Objects.requireNonNull(reader);
+    if (delimiter == QUOTE || delimiter == LF || delimiter == CR)
+      throw new IllegalArgumentException("the delimiter can't be quote or line separator");
+    this.delimiter = delimiter;
+    // the space is a part of field if it is used as delimiter
+    this.trim = delimiter != SPACE;
+    this.buffer = new char[bufferSize];
+  }
+
+  /**
+   * parse the next record.
+   *
+   * @return the fields of next record, or null if there is no more record
+   */
+  String[] next() {
+    int c = read();
+    if (c == EOF) return null;
+    fields.clear();
+    while (true) {
+      field.setLength(0);
+      if (trim) while (c == SPACE) c = read();
+      if (c == QUOTE) {
+        while (true) {
+          c = read();
+          // the unclosed quote is ended by EOF
+          if (c == EOF) break;
+          if (c == QUOTE) {
+            c = read();
+            if (c != QUOTE) break;
+          }
+          field.append((char) c);
+        }
+        // the chars between the closing quote and delimiter are ignored
+        while (c != EOF && c != delimiter && c != LF && c != CR) c = read();
+      } else {
+        int length = 0;
+        while (c != EOF && c != delimiter && c != LF && c != CR) {
+          field.append((char) c);
+          if (!trim || c != SPACE) length = field.length();
+          c = read();
+        }
+        field.setLength(length);
+      }
+      fields.add(field.toString());
+      if (c == delimiter) c = read();
+      else {
+        if (c == CR && peek() == LF) read();
+        return fields.toArray(new String[0]);
+      }
+    }
+  }
+
+  private int read() {
+    if (position >= limit && !fill()) return EOF;
+    return buffer[position++];
+  }
+
+  private int peek() {
+    if (position >= limit && !fill()) return EOF;
+    return buffer[position];
+  }
+
+  private boolean fill() {
+    try {
+      int count = reader.read(buffer, 0, buffer.length);
+      position = 0;
+      limit = Math.max(count, 0);
+      return count > 0;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      reader.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.island.ohara.common.annotations.VisibleForTesting;
+import com.island.ohara.common.data.Cell;
+import com.island.ohara.common.data.Column;
+import com.island.ohara.common.data.DataType;
+import com.island.ohara.common.data.Row;
+import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.common.util.Releasable;
+import com.island.ohara.kafka.connector.RowSourceRecord;
+import com.island.ohara.kafka.connector.text.TextSourceConverter;
+import com.island.ohara.kafka.connector.text.csv.CsvSourceConverter;
+import com.island.ohara.kafka.connector.text.csv.OffsetCache;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A converter to be used to read data from a JSON Lines file (one json object per line), and
+ * convert to records of Kafka Connect format. The file is parsed by the streaming parser of jackson
+ * so there is no tree model for each line. The fields are mapped to cells by the schema. All fields
+ * are converted to cells if there is no schema, and the nested objects and arrays are converted to
+ * json strings.
+ *
+ * <p>The offset is same to {@link CsvSourceConverter}. The partition is the file path and the
+ * offset is the index of line (starting from 1). Hence, the {@link OffsetCache} of csv can be
+ * shared.
+ */
+public class JsonLinesSourceConverter implements TextSourceConverter {
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  private final String path;
+  private final List<String> topics;
+  private final Map<String, String> partition;
+  private final OffsetCache cache;
+  private final int batchSize;
+  /** the columns sorted by order. It is null if there is no schema. */
+  private final Column[] columns;
+  /** the index of column in {@link #columns}. */
+  private final Map<String, Integer> slots;
+  /** the parser (and its reader) is kept open until the whole file is processed. */
+  private JsonParser parser = null;
+  /** the index of last read line. */
+  private int index = 0;
+
+  @Override
+  public List<RowSourceRecord> convert(Supplier<InputStreamReader> supplier) {
+    try {
+      if (parser == null) parser = FACTORY.createParser(supplier.get());
+      Map<Integer, Row> rowsAndIndex = toRows(parser);
+      List<RowSourceRecord> records = new ArrayList<>(rowsAndIndex.size() * topics.size());
+      rowsAndIndex.forEach(
+          (index, row) ->
+              topics.forEach(
+                  topic ->
+                      records.add(
+                          RowSourceRecord.builder()
+                              .sourcePartition(partition)
+                              .sourceOffset(
+                                  Collections.singletonMap(
+                                      CsvSourceConverter.CSV_OFFSET_KEY, index))
+                              .row(row)
+                              .topicName(topic)
+                              .build())));
+      // ok. all data are prepared. let's update the cache
+      rowsAndIndex.keySet().forEach(index -> cache.update(path, index));
+      return records;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * read the next batch of json objects from a parser, and then convert them to rows. The objects
+   * which have been processed are skipped and they are not counted in the batch size. Hence, an
+   * empty result means the end of input.
+   */
+  @VisibleForTesting
+  Map<Integer, Row> toRows(JsonParser parser) throws IOException {
+    // keep the order of records
+    Map<Integer, Row> result = new LinkedHashMap<>();
+    while (result.size() < batchSize) {
+      JsonToken token = parser.nextToken();
+      if (token == null) break;
+      ++index;
+      if (token != JsonToken.START_OBJECT)
+        throw new IllegalArgumentException("the line:" + index + " is not a json object");
+      // the processed objects are not converted
+      if (cache.predicate(path, index)) result.put(index, toRow(parser));
+      else parser.skipChildren();
+    }
+    return result;
+  }
+
+  private Row toRow(JsonParser parser) throws IOException {
+    if (columns == null) {
+      List<Cell<?>> cells = new ArrayList<>();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.getCurrentName();
+        Object value = value(parser, parser.nextToken());
+        if (value != null) cells.add(Cell.of(name, value));
+      }
+      return Row.of(cells.toArray(new Cell<?>[0]));
+    }
+    Object[] values = new Object[columns.length];
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      Integer slot = slots.get(parser.getCurrentName());
+      JsonToken token = parser.nextToken();
+      if (slot == null) parser.skipChildren();
+      else values[slot] = value(parser, token, columns[slot].dataType());
+    }
+    Cell<?>[] cells = new Cell<?>[columns.length];
+    for (int i = 0; i != columns.length; ++i) {
+      if (values[i] == null)
+        throw new IllegalArgumentException(
+            "the field:" + columns[i].name() + " is missed in line:" + index);
+      cells[i] = Cell.of(columns[i].newName(), values[i]);
+    }
+    return Row.of(cells);
+  }
+
+  /** @return the natural java value of current token. null if the token is json null */
+  private static Object value(JsonParser parser, JsonToken token) throws IOException {
+    switch (token) {
+      case VALUE_NULL:
+        return null;
+      case VALUE_TRUE:
+      case VALUE_FALSE:
+        return parser.getBooleanValue();
+      case VALUE_NUMBER_INT:
+        return parser.getNumberValue();
+      case VALUE_NUMBER_FLOAT:
+        return parser.getDoubleValue();
+      case START_OBJECT:
+      case START_ARRAY:
+        return toJson(parser);
+      default:
+        return parser.getText();
+    }
+  }
+
+  /** @return the value of current token in specified type. null if the token is json null */
+  private static Object value(JsonParser parser, JsonToken token, DataType type)
+      throws IOException {
+    if (token == JsonToken.VALUE_NULL) return null;
+    boolean number = token.isNumeric();
+    switch (type) {
+      case BOOLEAN:
+        return token.isBoolean() ? parser.getBooleanValue() : Boolean.valueOf(parser.getText());
+      case BYTE:
+        return number ? parser.getByteValue() : Byte.valueOf(parser.getText());
+      case SHORT:
+        return number ? parser.getShortValue() : Short.valueOf(parser.getText());
+      case INT:
+        return number ? parser.getIntValue() : Integer.valueOf(parser.getText());
+      case LONG:
+        return number ? parser.getLongValue() : Long.valueOf(parser.getText());
+      case FLOAT:
+        return number ? parser.getFloatValue() : Float.valueOf(parser.getText());
+      case DOUBLE:
+        return number ? parser.getDoubleValue() : Double.valueOf(parser.getText());
+      case STRING:
+        return token.isStructStart() ? toJson(parser) : parser.getText();
+      case OBJECT:
+        return value(parser, token);
+      default:
+        throw new IllegalArgumentException("Unsupported type " + type);
+    }
+  }
+
+  /** copy the current object or array to a json string. */
+  private static String toJson(JsonParser parser) throws IOException {
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = FACTORY.createGenerator(writer)) {
+      generator.copyCurrentStructure(parser);
+    }
+    return writer.toString();
+  }
+
+  @Override
+  public void close() {
+    Releasable.close(parser);
+    parser = null;
+  }
+
+  public static class Builder
+      implements com.island.ohara.common.pattern.Builder<JsonLinesSourceConverter> {
+    // Required parameters
+    private String path;
+    private List<String> topics;
+    private OffsetCache offsetCache;
+
+    // Optional parameters - initialized to default values
+    private List<Column> schema = Collections.emptyList();
+    private int batchSize = 1000;
+
+    public Builder path(String val) {
+      path = val;
+      return this;
+    }
+
+    public Builder topics(List<String> val) {
+      topics = val;
+      return this;
+    }
+
+    public Builder offsetCache(OffsetCache val) {
+      offsetCache = val;
+      return this;
+    }
+
+    @com.island.ohara.common.annotations.Optional("default is empty")
+    public Builder schema(List<Column> val) {
+      schema = Objects.requireNonNull(val);
+      return this;
+    }
+
+    /**
+     * the max number of lines converted by a call of {@link
+     * JsonLinesSourceConverter#convert(Supplier)}.
+     *
+     * @param val batch size
+     * @return this builder
+     */
+    @com.island.ohara.common.annotations.Optional("default is 1000")
+    public Builder batchSize(int val) {
+      batchSize = CommonUtils.requirePositiveInt(val);
+      return this;
+    }
+
+    @Override
+    public JsonLinesSourceConverter build() {
+      Objects.requireNonNull(path);
+      CommonUtils.requireNonEmpty(topics);
+      Objects.requireNonNull(offsetCache);
+      return new JsonLinesSourceConverter(this);
+    }
+  }
+
+  private JsonLinesSourceConverter(Builder builder) {
+    path = builder.path;
+    topics = builder.topics;
+    cache = builder.offsetCache;
+    batchSize = builder.batchSize;
+    partition = Collections.singletonMap(CsvSourceConverter.CSV_PARTITION_KEY, builder.path);
+    if (builder.schema.isEmpty()) {
+      columns = null;
+      slots = Collections.emptyMap();
+    } else {
+      columns =
+          builder.schema.stream()
+              .sorted(Comparator.comparing(Column::order))
+              .toArray(Column[]::new);
+      slots = new HashMap<>();
+      for (int i = 0; i != columns.length; ++i) slots.put(columns[i].name(), i);
+    }
+  }
+}
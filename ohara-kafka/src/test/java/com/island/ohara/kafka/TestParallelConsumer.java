@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka;
+
+import com.island.ohara.common.exception.OharaExecutionException;
+import com.island.ohara.common.rule.SmallTest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestParallelConsumer extends SmallTest {
+  private final String topicName = "topic";
+  private final TopicPartition p0 = new TopicPartition(topicName, 0);
+  private final TopicPartition p1 = new TopicPartition(topicName, 1);
+
+  private static MockConsumer<String, String> mockConsumer() {
+    return new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+  }
+
+  private void assign(MockConsumer<String, String> consumer) {
+    consumer.rebalance(Arrays.asList(p0, p1));
+    Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+    beginningOffsets.put(p0, 0L);
+    beginningOffsets.put(p1, 0L);
+    consumer.updateBeginningOffsets(beginningOffsets);
+  }
+
+  private void addRecords(MockConsumer<String, String> consumer, TopicPartition p, int count) {
+    for (int i = 0; i != count; ++i)
+      consumer.addRecord(
+          new ConsumerRecord<>(p.topic(), p.partition(), i, "k" + i, String.valueOf(i)));
+  }
+
+  @Test
+  public void testOrderPerPartition() {
+    MockConsumer<String, String> consumer = mockConsumer();
+    Map<Integer, List<Long>> processed = new ConcurrentHashMap<>();
+    try (ParallelConsumerImpl<String, String> parallelConsumer =
+        new ParallelConsumerImpl<>(
+            consumer,
+            Collections.singletonList(topicName),
+            3,
+            10,
+            record ->
+                processed
+                    .computeIfAbsent(
+                        record.partition(), p -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(record.offset()))) {
+      assign(consumer);
+      addRecords(consumer, p0, 50);
+      addRecords(consumer, p1, 30);
+      Assert.assertEquals(80, parallelConsumer.poll(Duration.ofMillis(100)));
+      parallelConsumer.commit();
+      Assert.assertEquals(50, processed.get(0).size());
+      Assert.assertEquals(30, processed.get(1).size());
+      for (int i = 0; i != 50; ++i) Assert.assertEquals(i, (long) processed.get(0).get(i));
+      for (int i = 0; i != 30; ++i) Assert.assertEquals(i, (long) processed.get(1).get(i));
+      Assert.assertEquals(50L, (long) parallelConsumer.committed().get(p0));
+      Assert.assertEquals(30L, (long) parallelConsumer.committed().get(p1));
+      Assert.assertEquals(50L, consumer.committed(p0).offset());
+      Assert.assertEquals(30L, consumer.committed(p1).offset());
+    }
+  }
+
+  @Test
+  public void testCommitOnlyProcessedWatermark() throws InterruptedException {
+    MockConsumer<String, String> consumer = mockConsumer();
+    CountDownLatch blocker = new CountDownLatch(1);
+    try (ParallelConsumerImpl<String, String> parallelConsumer =
+        new ParallelConsumerImpl<>(
+            consumer,
+            Collections.singletonList(topicName),
+            2,
+            100,
+            record -> {
+              // block the partition 0 after the third record
+              if (record.partition() == 0 && record.offset() == 3) {
+                try {
+                  blocker.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                  throw new RuntimeException(e);
+                }
+              }
+            })) {
+      assign(consumer);
+      addRecords(consumer, p0, 10);
+      Assert.assertEquals(10, parallelConsumer.poll(Duration.ofMillis(100)));
+      // offset 3 is still being processed
+      Assert.assertTrue(parallelConsumer.committed().getOrDefault(p0, -1L) <= 3L);
+      blocker.countDown();
+      parallelConsumer.commit();
+      Assert.assertEquals(10L, (long) parallelConsumer.committed().get(p0));
+    }
+  }
+
+  @Test
+  public void testFailedProcessor() {
+    MockConsumer<String, String> consumer = mockConsumer();
+    try (ParallelConsumerImpl<String, String> parallelConsumer =
+        new ParallelConsumerImpl<>(
+            consumer,
+            Collections.singletonList(topicName),
+            1,
+            100,
+            record -> {
+              if (record.offset() == 5) throw new IllegalArgumentException("fake");
+            })) {
+      assign(consumer);
+      addRecords(consumer, p0, 10);
+      try {
+        parallelConsumer.poll(Duration.ofMillis(100));
+      } catch (OharaExecutionException e) {
+        // the error is surfaced by the first poll if the worker is fast enough
+      }
+      parallelConsumer.commit();
+      // the records after the failed record are not committed
+      Assert.assertEquals(5L, (long) parallelConsumer.committed().get(p0));
+      assertException(
+          OharaExecutionException.class, () -> parallelConsumer.poll(Duration.ofMillis(100)));
+    }
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullProcessor() {
+    Consumer.<String, String>builder().parallel().processor(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeNumberOfWorkers() {
+    Consumer.<String, String>builder().parallel().numberOfWorkers(-1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeMaxInFlight() {
+    Consumer.<String, String>builder().parallel().maxInFlight(-1);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka;
+
+import com.island.ohara.common.rule.SmallTest;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestProducerTransaction extends SmallTest {
+
+  private static class FakeProducer implements Producer<String, String> {
+    private final AtomicInteger commitCount = new AtomicInteger(0);
+    private final AtomicInteger abortCount = new AtomicInteger(0);
+    private RuntimeException abortError = null;
+
+    @Override
+    public Sender<String, String> sender() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void beginTransaction() {}
+
+    @Override
+    public void commitTransaction() {
+      commitCount.incrementAndGet();
+    }
+
+    @Override
+    public void abortTransaction() {
+      abortCount.incrementAndGet();
+      if (abortError != null) throw abortError;
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  @Test
+  public void testCommit() {
+    FakeProducer producer = new FakeProducer();
+    producer.transaction(() -> {});
+    Assert.assertEquals(1, producer.commitCount.get());
+    Assert.assertEquals(0, producer.abortCount.get());
+  }
+
+  @Test
+  public void testAbort() {
+    FakeProducer producer = new FakeProducer();
+    IllegalStateException error = new IllegalStateException("failed");
+    try {
+      producer.transaction(
+          () -> {
+            throw error;
+          });
+      Assert.fail("the error should be rethrown");
+    } catch (IllegalStateException e) {
+      Assert.assertSame(error, e);
+    }
+    Assert.assertEquals(0, producer.commitCount.get());
+    Assert.assertEquals(1, producer.abortCount.get());
+  }
+
+  @Test
+  public void testFailedAbortIsSuppressed() {
+    FakeProducer producer = new FakeProducer();
+    producer.abortError = new IllegalStateException("abort failed");
+    IllegalArgumentException error = new IllegalArgumentException("failed");
+    try {
+      producer.transaction(
+          () -> {
+            throw error;
+          });
+      Assert.fail("the error should be rethrown");
+    } catch (IllegalArgumentException e) {
+      Assert.assertSame(error, e);
+      Assert.assertSame(producer.abortError, e.getSuppressed()[0]);
+    }
+  }
+
+  @Test
+  public void testFatalErrorIsNotAborted() {
+    FakeProducer producer = new FakeProducer();
+    ProducerFencedException error = new ProducerFencedException("fenced");
+    try {
+      producer.transaction(
+          () -> {
+            throw error;
+          });
+      Assert.fail("the error should be rethrown");
+    } catch (ProducerFencedException e) {
+      Assert.assertSame(error, e);
+    }
+    Assert.assertEquals(0, producer.abortCount.get());
+  }
+}
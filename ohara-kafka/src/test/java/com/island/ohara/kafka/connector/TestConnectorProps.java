@@ -20,9 +20,19 @@ import com.island.ohara.common.data.Cell;
 import com.island.ohara.common.data.Row;
 import com.island.ohara.common.rule.SmallTest;
 import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.kafka.connector.json.ConnectorDefUtils;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.junit.Assert;
 import org.junit.Test;
@@ -79,6 +89,45 @@ public class TestConnectorProps extends SmallTest {
     }
   }
 
+  @Test
+  public void testPipelinedSink() {
+    List<RowSinkRecord> written = new CopyOnWriteArrayList<>();
+    RowSinkTask task =
+        new DumbSinkTask() {
+          @Override
+          protected void _put(List<RowSinkRecord> records) {
+            written.addAll(records);
+          }
+        };
+    Map<String, String> settings = new HashMap<>();
+    settings.put("name", CommonUtils.randomString());
+    settings.put(ConnectorDefUtils.PIPELINE_QUEUE_SIZE_DEFINITION.key(), "2");
+    task.start(settings);
+    try {
+      Assert.assertNotNull(task.pipeline);
+      Row row = Row.of(Cell.of(CommonUtils.randomString(), CommonUtils.randomString()));
+      task.put(Collections.singletonList(new SinkRecord("topic", 0, null, row, null, null, 10)));
+      task.close(Collections.singletonList(new org.apache.kafka.common.TopicPartition("topic", 0)));
+      // close flushes the pipeline
+      Assert.assertEquals(1, written.size());
+      Assert.assertEquals(1, task.rowCounter.getValue());
+    } finally {
+      task.stop();
+      Assert.assertTrue(task.pipeline.isClosed());
+    }
+  }
+
+  @Test
+  public void noPipelineInSinkByDefault() {
+    RowSinkTask task = new DumbSinkTask();
+    task.start(Collections.singletonMap("name", CommonUtils.randomString()));
+    try {
+      Assert.assertNull(task.pipeline);
+    } finally {
+      task.stop();
+    }
+  }
+
   @Test
   public void testCounterInSource() {
     Row row = Row.of(Cell.of(CommonUtils.randomString(), CommonUtils.randomString()));
@@ -110,6 +159,199 @@ public class TestConnectorProps extends SmallTest {
     }
   }
 
+  @Test
+  public void testThrottleInSource() {
+    Row row = Row.of(Cell.of(CommonUtils.randomString(), CommonUtils.randomString()));
+    RowSourceTask task =
+        new DumbSourceTask() {
+          @Override
+          protected List<RowSourceRecord> _poll() {
+            return Collections.nCopies(
+                10,
+                RowSourceRecord.builder().row(row).topicName(CommonUtils.randomString()).build());
+          }
+        };
+    Map<String, String> settings = new HashMap<>();
+    settings.put("name", CommonUtils.randomString());
+    settings.put(ConnectorDefUtils.THROTTLE_ROWS_DEFINITION.key(), "100");
+    task.start(settings);
+    try {
+      Assert.assertNotNull(task.rowThrottle);
+      Assert.assertNull(task.sizeThrottle);
+      Assert.assertNotNull(task.throttleCounter);
+      // the bucket can hold 100 rows so the first 10 polls don't wait
+      for (int i = 0; i != 10; ++i) task.poll();
+      long start = CommonUtils.current();
+      task.poll();
+      Assert.assertTrue(CommonUtils.current() - start >= 50);
+      Assert.assertNotEquals(task.throttleCounter.getValue(), 0);
+    } finally {
+      task.stop();
+      Assert.assertTrue(task.throttleCounter.isClosed());
+    }
+  }
+
+  @Test
+  public void testCarryThrottleDebtToNextPoll() {
+    Row row = Row.of(Cell.of(CommonUtils.randomString(), CommonUtils.randomString()));
+    AtomicInteger count = new AtomicInteger(0);
+    RowSourceTask task =
+        new DumbSourceTask() {
+          @Override
+          protected List<RowSourceRecord> _poll() {
+            count.incrementAndGet();
+            return Collections.nCopies(
+                100,
+                RowSourceRecord.builder().row(row).topicName(CommonUtils.randomString()).build());
+          }
+        };
+    Map<String, String> settings = new HashMap<>();
+    settings.put("name", CommonUtils.randomString());
+    settings.put(ConnectorDefUtils.THROTTLE_ROWS_DEFINITION.key(), "10");
+    task.start(settings);
+    try {
+      // the debt of 90 rows needs 9 seconds but a poll waits for 1 second at most
+      long start = CommonUtils.current();
+      Assert.assertEquals(100, task.poll().size());
+      Assert.assertTrue(CommonUtils.current() - start < 5000);
+      // the debt is not paid back so the next poll doesn't take more records
+      Assert.assertNull(task.poll());
+      Assert.assertEquals(1, count.get());
+      Assert.assertEquals(2 * RowSourceTask.MAX_THROTTLE_WAIT, task.throttleCounter.getValue());
+    } finally {
+      task.stop();
+    }
+  }
+
+  @Test
+  public void stopBreaksThrottleWait() throws Exception {
+    Row row = Row.of(Cell.of(CommonUtils.randomString(), CommonUtils.randomString()));
+    RowSourceTask task =
+        new DumbSourceTask() {
+          @Override
+          protected List<RowSourceRecord> _poll() {
+            return Collections.nCopies(
+                100,
+                RowSourceRecord.builder().row(row).topicName(CommonUtils.randomString()).build());
+          }
+        };
+    Map<String, String> settings = new HashMap<>();
+    settings.put("name", CommonUtils.randomString());
+    settings.put(ConnectorDefUtils.THROTTLE_ROWS_DEFINITION.key(), "1");
+    task.start(settings);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      long start = CommonUtils.current();
+      Future<?> f =
+          executor.submit(
+              () -> {
+                TimeUnit.MILLISECONDS.sleep(100);
+                task.stop();
+                return null;
+              });
+      Assert.assertEquals(100, task.poll().size());
+      Assert.assertTrue(CommonUtils.current() - start < RowSourceTask.MAX_THROTTLE_WAIT);
+      f.get();
+      // the task is stopped so the debt doesn't block the poll
+      start = CommonUtils.current();
+      Assert.assertNull(task.poll());
+      Assert.assertTrue(CommonUtils.current() - start < RowSourceTask.MAX_THROTTLE_WAIT);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void noThrottleInSourceByDefault() {
+    RowSourceTask task = new DumbSourceTask();
+    task.start(Collections.singletonMap("name", CommonUtils.randomString()));
+    try {
+      Assert.assertNull(task.rowThrottle);
+      Assert.assertNull(task.sizeThrottle);
+      Assert.assertNull(task.throttleCounter);
+    } finally {
+      task.stop();
+    }
+  }
+
+  @Test
+  public void testIdleBackoffInSource() {
+    AtomicBoolean hasData = new AtomicBoolean(false);
+    RowSourceTask task =
+        new DumbSourceTask() {
+          @Override
+          protected List<RowSourceRecord> _poll() {
+            return hasData.get()
+                ? Collections.singletonList(
+                    RowSourceRecord.builder()
+                        .row(Row.of(Cell.of("a", "b")))
+                        .topicName(CommonUtils.randomString())
+                        .build())
+                : Collections.emptyList();
+          }
+        };
+    Map<String, String> settings = new HashMap<>();
+    settings.put("name", CommonUtils.randomString());
+    settings.put(ConnectorDefUtils.IDLE_BACKOFF_DEFINITION.key(), "100 milliseconds");
+    task.start(settings);
+    try {
+      Assert.assertEquals(100, task.maxIdleBackoff);
+      Assert.assertNull(task.poll());
+      Assert.assertEquals(10, task.idleBackoff);
+      Assert.assertNull(task.poll());
+      Assert.assertEquals(20, task.idleBackoff);
+      for (int i = 0; i != 5; ++i) task.poll();
+      Assert.assertEquals(100, task.idleBackoff);
+      hasData.set(true);
+      Assert.assertEquals(1, task.poll().size());
+      Assert.assertEquals(0, task.idleBackoff);
+    } finally {
+      task.stop();
+    }
+  }
+
+  @Test
+  public void noIdleBackoffInSourceByDefault() {
+    RowSourceTask task = new DumbSourceTask();
+    task.start(Collections.singletonMap("name", CommonUtils.randomString()));
+    try {
+      Assert.assertEquals(0, task.maxIdleBackoff);
+      Assert.assertNull(task.poll());
+      Assert.assertEquals(0, task.idleBackoff);
+    } finally {
+      task.stop();
+    }
+  }
+
+  @Test
+  public void testDisableIdleBackoffInSource() {
+    RowSourceTask task = new DumbSourceTask();
+    Map<String, String> settings = new HashMap<>();
+    settings.put("name", CommonUtils.randomString());
+    settings.put(ConnectorDefUtils.IDLE_BACKOFF_DEFINITION.key(), "0 seconds");
+    task.start(settings);
+    try {
+      Assert.assertNull(task.poll());
+      Assert.assertEquals(0, task.idleBackoff);
+    } finally {
+      task.stop();
+    }
+  }
+
+  @Test
+  public void stopBreaksIdleBackoff() {
+    RowSourceTask task = new DumbSourceTask();
+    Map<String, String> settings = new HashMap<>();
+    settings.put("name", CommonUtils.randomString());
+    settings.put(ConnectorDefUtils.IDLE_BACKOFF_DEFINITION.key(), "10 seconds");
+    task.start(settings);
+    task.idleBackoff = 10000;
+    task.stop();
+    long start = CommonUtils.current();
+    Assert.assertNull(task.poll());
+    Assert.assertTrue(CommonUtils.current() - start < 5000);
+  }
+
   @Test
   public void testStop() {
     RowSourceTask task = new DumbSourceTask();
@@ -16,13 +16,17 @@
 
 package com.island.ohara.kafka.connector;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import com.island.ohara.common.data.Cell;
 import com.island.ohara.common.data.Row;
+import com.island.ohara.common.data.Serializer;
 import com.island.ohara.common.rule.SmallTest;
 import com.island.ohara.common.util.CommonUtils;
 import com.island.ohara.kafka.TimestampType;
+import org.apache.kafka.connect.sink.SinkRecord;
 import org.junit.Test;
 
 public class TestRowSinkRecord extends SmallTest {
@@ -133,4 +137,54 @@ public class TestRowSinkRecord extends SmallTest {
     assertEquals(tsType, r.timestampType());
     assertEquals(offset, r.offset());
   }
+
+  @Test(expected = NullPointerException.class)
+  public void nullSerializedRow() {
+    RowSinkRecord.builder().serializedRow(null);
+  }
+
+  @Test
+  public void testSerializedRow() {
+    Row row = Row.of(Cell.of(methodName(), 123));
+    byte[] serializedRow = Serializer.ROW.to(row);
+    RowSinkRecord r =
+        RowSinkRecord.builder()
+            .topicName(methodName())
+            .serializedRow(serializedRow)
+            .timestamp(CommonUtils.current())
+            .partition(123)
+            .timestampType(TimestampType.NO_TIMESTAMP_TYPE)
+            .offset(123)
+            .build();
+    assertSame(serializedRow, r.serializedRow());
+    assertEquals(row, r.row());
+    // the decoded row is cached
+    assertSame(r.row(), r.row());
+  }
+
+  @Test
+  public void testSerializedRowFromRow() {
+    Row row = Row.of(Cell.of(methodName(), 123));
+    RowSinkRecord r =
+        RowSinkRecord.builder()
+            .topicName(methodName())
+            .row(row)
+            .timestamp(CommonUtils.current())
+            .partition(123)
+            .timestampType(TimestampType.NO_TIMESTAMP_TYPE)
+            .offset(123)
+            .build();
+    assertArrayEquals(Serializer.ROW.to(row), r.serializedRow());
+  }
+
+  @Test
+  public void testLazyDecoding() {
+    // the bytes are not a valid row so the decoding fails only if we touch the row
+    byte[] invalidRow = new byte[] {1, 2, 3};
+    RowSinkRecord r =
+        RowSinkRecord.of(new SinkRecord(methodName(), 1, null, invalidRow, null, null, 100));
+    assertSame(invalidRow, r.serializedRow());
+    assertEquals(100, r.offset());
+    assertException(Exception.class, r::row);
+  }
 }
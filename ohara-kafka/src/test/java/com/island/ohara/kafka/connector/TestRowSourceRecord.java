@@ -18,14 +18,17 @@ package com.island.ohara.kafka.connector;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import com.island.ohara.common.data.Cell;
 import com.island.ohara.common.data.Row;
+import com.island.ohara.common.data.Serializer;
 import com.island.ohara.common.rule.SmallTest;
 import com.island.ohara.common.util.CommonUtils;
 import java.util.Collections;
 import java.util.Map;
+import org.apache.kafka.connect.source.SourceRecord;
 import org.junit.Test;
 
 public class TestRowSourceRecord extends SmallTest {
@@ -119,4 +122,35 @@ public class TestRowSourceRecord extends SmallTest {
         .sourceOffset()
         .remove("a");
   }
+
+  @Test
+  public void testSerializedRowIsReused() {
+    RowSourceRecord r = RowSourceRecord.of(methodName(), Row.of(Cell.of(methodName(), 123)));
+    SourceRecord sourceRecord = r.toSourceRecord();
+    assertSame(r.serializedRow(), sourceRecord.key());
+    assertEquals(r.row(), Serializer.ROW.from(r.serializedRow()));
+  }
+
+  @Test
+  public void testConvertBackWithoutDeserialization() {
+    RowSourceRecord r = RowSourceRecord.of(methodName(), Row.of(Cell.of(methodName(), 123)));
+    assertSame(r, RowSourceRecord.of(r.toSourceRecord()));
+  }
+
+  @Test
+  public void testConvertBackFromKafkaRecord() {
+    RowSourceRecord r = RowSourceRecord.of(methodName(), Row.of(Cell.of(methodName(), 123)));
+    SourceRecord sourceRecord = r.toSourceRecord();
+    // the record re-created by kafka (for example, by transformation) doesn't carry the origin
+    SourceRecord copy =
+        sourceRecord.newRecord(
+            sourceRecord.topic(),
+            sourceRecord.kafkaPartition(),
+            sourceRecord.keySchema(),
+            sourceRecord.key(),
+            sourceRecord.valueSchema(),
+            sourceRecord.value(),
+            sourceRecord.timestamp());
+    assertEquals(r.row(), RowSourceRecord.of(copy).row());
+  }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector;
+
+import com.island.ohara.common.data.Cell;
+import com.island.ohara.common.data.Row;
+import com.island.ohara.common.rule.SmallTest;
+import com.island.ohara.kafka.TimestampType;
+import com.island.ohara.kafka.connector.json.ConnectorDefUtils;
+import com.island.ohara.kafka.connector.json.StringList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestRowTransformer extends SmallTest {
+  private final Row row =
+      Row.of(
+          Collections.singletonList("tag"),
+          Cell.of("name", "chia"),
+          Cell.of("age", 18),
+          Cell.of("score", "99.5"));
+
+  private static RowTransformer filter(String... filters) {
+    return new RowTransformer(
+        Arrays.asList(filters),
+        Collections.emptyList(),
+        Collections.emptyList(),
+        Collections.emptyList());
+  }
+
+  @Test
+  public void testEmpty() {
+    RowTransformer transformer =
+        RowTransformer.of(TaskSetting.of(Collections.singletonMap("name", "a")));
+    Assert.assertTrue(transformer.isEmpty());
+    Assert.assertSame(row, transformer.transform(row));
+  }
+
+  @Test
+  public void testNumericFilter() {
+    Assert.assertSame(row, filter("age>=18").transform(row));
+    Assert.assertSame(row, filter("age==18").transform(row));
+    Assert.assertSame(row, filter("age<18.5").transform(row));
+    Assert.assertNull(filter("age>18").transform(row));
+    Assert.assertNull(filter("age!=18").transform(row));
+    Assert.assertNull(filter("age<=17").transform(row));
+  }
+
+  @Test
+  public void testStringFilter() {
+    Assert.assertSame(row, filter("name == chia").transform(row));
+    Assert.assertNull(filter("name != chia").transform(row));
+    // all predicates must be matched
+    Assert.assertNull(filter("name == chia", "age > 20").transform(row));
+  }
+
+  @Test
+  public void testFilterOnNonexistentColumn() {
+    Assert.assertNull(filter("xxx==1").transform(row));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalFilter() {
+    filter("age");
+  }
+
+  @Test
+  public void testCastProjectAndRename() {
+    RowTransformer transformer =
+        new RowTransformer(
+            Collections.emptyList(),
+            Arrays.asList("age=string", "score=double"),
+            Arrays.asList("score", "age"),
+            Collections.singletonList("age=years"));
+    Row newRow = transformer.transform(row);
+    Assert.assertEquals(Arrays.asList("score", "years"), newRow.names());
+    Assert.assertEquals(99.5, newRow.cell("score").value());
+    Assert.assertEquals("18", newRow.cell("years").value());
+    Assert.assertEquals(row.tags(), newRow.tags());
+  }
+
+  @Test
+  public void testCastNumber() {
+    RowTransformer transformer =
+        new RowTransformer(
+            Collections.emptyList(),
+            Collections.singletonList("age=long"),
+            Collections.emptyList(),
+            Collections.emptyList());
+    Assert.assertEquals(18L, transformer.transform(row).cell("age").value());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedCast() {
+    new RowTransformer(
+        Collections.emptyList(),
+        Collections.singletonList("age=row"),
+        Collections.emptyList(),
+        Collections.emptyList());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalRename() {
+    new RowTransformer(
+        Collections.emptyList(),
+        Collections.emptyList(),
+        Collections.emptyList(),
+        Collections.singletonList("age"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testProjectNonexistentColumn() {
+    new RowTransformer(
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.singletonList("xxx"),
+            Collections.emptyList())
+        .transform(row);
+  }
+
+  @Test
+  public void testParseSettings() {
+    Map<String, String> settings = new HashMap<>();
+    settings.put(
+        ConnectorDefUtils.TRANSFORM_FILTER_DEFINITION.key(),
+        StringList.toKafkaString(Arrays.asList("age>10", "name==chia")));
+    settings.put(
+        ConnectorDefUtils.TRANSFORM_PROJECT_DEFINITION.key(),
+        StringList.toKafkaString(Collections.singletonList("name")));
+    RowTransformer transformer = RowTransformer.of(TaskSetting.of(settings));
+    Assert.assertFalse(transformer.isEmpty());
+    Assert.assertEquals(Collections.singletonList("name"), transformer.transform(row).names());
+  }
+
+  @Test
+  public void testTransformSource() {
+    List<RowSourceRecord> records =
+        filter("age>10")
+            .transformSource(
+                Arrays.asList(
+                    RowSourceRecord.builder()
+                        .topicName("topic")
+                        .row(row)
+                        .partition(1)
+                        .timestamp(100)
+                        .build(),
+                    RowSourceRecord.builder()
+                        .topicName("topic")
+                        .row(Row.of(Cell.of("age", 1)))
+                        .build()));
+    Assert.assertEquals(1, records.size());
+    Assert.assertEquals(row, records.get(0).row());
+
+    RowSourceRecord record =
+        new RowTransformer(
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.singletonList("name"),
+                Collections.emptyList())
+            .transformSource(
+                Collections.singletonList(
+                    RowSourceRecord.builder()
+                        .topicName("topic")
+                        .row(row)
+                        .partition(1)
+                        .timestamp(100)
+                        .sourceOffset(Collections.singletonMap("a", "b"))
+                        .build()))
+            .get(0);
+    Assert.assertEquals(1, record.row().size());
+    Assert.assertEquals(1, (int) record.partition().get());
+    Assert.assertEquals(100, (long) record.timestamp().get());
+    Assert.assertEquals("b", record.sourceOffset().get("a"));
+  }
+
+  @Test
+  public void testTransformSink() {
+    RowSinkRecord record =
+        new RowTransformer(
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.singletonList("name"),
+                Collections.emptyList())
+            .transformSink(
+                Collections.singletonList(
+                    RowSinkRecord.builder()
+                        .topicName("topic")
+                        .row(row)
+                        .partition(1)
+                        .offset(10)
+                        .timestamp(100)
+                        .timestampType(TimestampType.CREATE_TIME)
+                        .build()))
+            .get(0);
+    Assert.assertEquals(1, record.row().size());
+    Assert.assertEquals(1, record.partition());
+    Assert.assertEquals(10, record.offset());
+    Assert.assertEquals(100, record.timestamp());
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector;
+
+import com.island.ohara.common.data.Cell;
+import com.island.ohara.common.data.Row;
+import com.island.ohara.common.exception.OharaExecutionException;
+import com.island.ohara.common.rule.SmallTest;
+import com.island.ohara.kafka.TimestampType;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestSinkPipeline extends SmallTest {
+  private final TopicPartition partition = new TopicPartition("topic", 0);
+
+  private List<RowSinkRecord> records(long from, long to) {
+    return IntStream.range((int) from, (int) to)
+        .mapToObj(
+            i ->
+                RowSinkRecord.builder()
+                    .topicName(partition.topicName())
+                    .partition(partition.partition())
+                    .offset(i)
+                    .timestamp(i)
+                    .timestampType(TimestampType.CREATE_TIME)
+                    .row(Row.of(Cell.of("c", i)))
+                    .build())
+        .collect(Collectors.toList());
+  }
+
+  private Map<TopicPartition, TopicOffset> offsets(long offset) {
+    return Collections.singletonMap(partition, new TopicOffset("", offset));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroQueueSize() {
+    new SinkPipeline(0, records -> {});
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullWriter() {
+    new SinkPipeline(1, null);
+  }
+
+  @Test
+  public void testWrite() {
+    List<RowSinkRecord> written = new CopyOnWriteArrayList<>();
+    try (SinkPipeline pipeline = new SinkPipeline(2, written::addAll)) {
+      pipeline.put(records(0, 10));
+      pipeline.put(records(10, 20));
+      pipeline.flush();
+      Assert.assertEquals(20, written.size());
+      for (int i = 0; i != 20; ++i) Assert.assertEquals(i, written.get(i).offset());
+      Assert.assertEquals(20L, (long) pipeline.written().get(partition));
+      Assert.assertEquals(20L, (long) pipeline.committable(offsets(20)).get(partition).offset());
+    }
+  }
+
+  @Test
+  public void testCommitOnlyWrittenOffsets() throws InterruptedException {
+    CountDownLatch blocker = new CountDownLatch(1);
+    CountDownLatch writing = new CountDownLatch(1);
+    try (SinkPipeline pipeline =
+        new SinkPipeline(
+            2,
+            records -> {
+              if (records.get(0).offset() == 10) {
+                writing.countDown();
+                try {
+                  blocker.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                  throw new RuntimeException(e);
+                }
+              }
+            })) {
+      pipeline.put(records(0, 10));
+      pipeline.put(records(10, 20));
+      Assert.assertTrue(writing.await(10, TimeUnit.SECONDS));
+      // the second batch is not written yet
+      Assert.assertEquals(10L, (long) pipeline.committable(offsets(20)).get(partition).offset());
+      blocker.countDown();
+      pipeline.flush();
+      Assert.assertEquals(20L, (long) pipeline.committable(offsets(20)).get(partition).offset());
+    }
+  }
+
+  @Test
+  public void testNoWrittenPartition() {
+    try (SinkPipeline pipeline = new SinkPipeline(1, records -> {})) {
+      Assert.assertTrue(pipeline.committable(offsets(20)).isEmpty());
+      pipeline.put(records(0, 10));
+      pipeline.flush();
+      pipeline.remove(Collections.singletonList(partition));
+      Assert.assertTrue(pipeline.committable(offsets(20)).isEmpty());
+    }
+  }
+
+  @Test
+  public void testFailedWriter() {
+    try (SinkPipeline pipeline =
+        new SinkPipeline(
+            1,
+            records -> {
+              throw new IllegalArgumentException("fake");
+            })) {
+      pipeline.put(records(0, 10));
+      assertException(OharaExecutionException.class, pipeline::flush);
+      assertException(OharaExecutionException.class, () -> pipeline.put(records(10, 20)));
+      assertException(OharaExecutionException.class, () -> pipeline.committable(offsets(20)));
+      Assert.assertTrue(pipeline.written().isEmpty());
+    }
+  }
+
+  @Test
+  public void testCloseWritesQueuedRecords() {
+    List<RowSinkRecord> written = new CopyOnWriteArrayList<>();
+    SinkPipeline pipeline = new SinkPipeline(5, written::addAll);
+    pipeline.put(records(0, 10));
+    pipeline.put(records(10, 20));
+    pipeline.close();
+    Assert.assertEquals(20, written.size());
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector;
+
+import com.island.ohara.common.data.Cell;
+import com.island.ohara.common.data.Row;
+import com.island.ohara.common.data.Serializer;
+import com.island.ohara.common.rule.SmallTest;
+import com.island.ohara.kafka.TimestampType;
+import com.island.ohara.kafka.connector.json.ConnectorDefUtils;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestSourceRecordConverter extends SmallTest {
+  private final Row row0 = Row.of(Cell.of("a", 1), Cell.of("b", "b0"));
+  private final Row row1 = Row.of(Cell.of("a", 2), Cell.of("b", "b1"));
+  private final List<RowSourceRecord> records =
+      Arrays.asList(RowSourceRecord.of("topic", row0), RowSourceRecord.of("topic", row1));
+
+  private static SourceRecordConverter converter(Map<String, String> settings) {
+    Map<String, String> copy = new HashMap<>(settings);
+    copy.put(ConnectorDefUtils.CONNECTOR_NAME_DEFINITION.key(), "name");
+    return SourceRecordConverter.of(TaskSetting.of(copy));
+  }
+
+  @Test
+  public void testDefaultFormat() {
+    List<SourceRecord> sourceRecords = converter(Collections.emptyMap()).convert(records);
+    Assert.assertEquals(2, sourceRecords.size());
+    Assert.assertEquals(row0, Serializer.ROW.from((byte[]) sourceRecords.get(0).key()));
+    Assert.assertNull(sourceRecords.get(0).value());
+    Assert.assertEquals(row0, RowSourceRecord.of(sourceRecords.get(0)).row());
+  }
+
+  @Test
+  public void testValueFormat() {
+    List<SourceRecord> sourceRecords =
+        converter(Collections.singletonMap(ConnectorDefUtils.ROW_FORMAT_DEFINITION.key(), "value"))
+            .convert(records);
+    Assert.assertNull(sourceRecords.get(0).key());
+    Assert.assertEquals(row0, Serializer.ROW.from((byte[]) sourceRecords.get(0).value()));
+    Assert.assertEquals(row0, RowSourceRecord.of(sourceRecords.get(0)).row());
+  }
+
+  @Test
+  public void testKeyColumns() {
+    Map<String, String> settings = new HashMap<>();
+    settings.put(ConnectorDefUtils.ROW_FORMAT_DEFINITION.key(), "value");
+    settings.put(ConnectorDefUtils.ROW_KEY_COLUMNS_DEFINITION.key(), "b");
+    List<SourceRecord> sourceRecords = converter(settings).convert(records);
+    Assert.assertEquals(
+        Row.of(Cell.of("b", "b0")), Serializer.ROW.from((byte[]) sourceRecords.get(0).key()));
+    Assert.assertEquals(
+        Row.of(Cell.of("b", "b1")), Serializer.ROW.from((byte[]) sourceRecords.get(1).key()));
+    Assert.assertEquals(row1, Serializer.ROW.from((byte[]) sourceRecords.get(1).value()));
+
+    // the sink should read the row from value
+    SourceRecord r = sourceRecords.get(1);
+    RowSinkRecord sinkRecord =
+        RowSinkRecord.of(
+            new SinkRecord(
+                r.topic(),
+                0,
+                r.keySchema(),
+                r.key(),
+                r.valueSchema(),
+                r.value(),
+                10,
+                0L,
+                org.apache.kafka.common.record.TimestampType.CREATE_TIME));
+    Assert.assertEquals(row1, sinkRecord.row());
+    Assert.assertEquals(TimestampType.CREATE_TIME, sinkRecord.timestampType());
+  }
+
+  @Test
+  public void testStickyPartitioner() {
+    Map<String, String> settings = new HashMap<>();
+    settings.put(ConnectorDefUtils.ROW_FORMAT_DEFINITION.key(), "value");
+    settings.put(ConnectorDefUtils.ROW_PARTITIONER_DEFINITION.key(), "sticky");
+    SourceRecordConverter converter = converter(settings);
+    List<SourceRecord> batch0 = converter.convert(records);
+    List<SourceRecord> batch1 = converter.convert(records);
+    // all records in a batch have same key
+    Assert.assertArrayEquals((byte[]) batch0.get(0).key(), (byte[]) batch0.get(1).key());
+    Assert.assertArrayEquals((byte[]) batch1.get(0).key(), (byte[]) batch1.get(1).key());
+    Assert.assertFalse(Arrays.equals((byte[]) batch0.get(0).key(), (byte[]) batch1.get(0).key()));
+    Assert.assertEquals(row1, RowSourceRecord.of(batch1.get(1)).row());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void keyColumnsRequireValueFormat() {
+    converter(Collections.singletonMap(ConnectorDefUtils.ROW_KEY_COLUMNS_DEFINITION.key(), "a"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void stickyPartitionerRequiresValueFormat() {
+    converter(
+        Collections.singletonMap(ConnectorDefUtils.ROW_PARTITIONER_DEFINITION.key(), "sticky"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownFormat() {
+    converter(Collections.singletonMap(ConnectorDefUtils.ROW_FORMAT_DEFINITION.key(), "abc"));
+  }
+}
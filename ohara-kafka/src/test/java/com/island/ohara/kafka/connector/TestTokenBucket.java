@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector;
+
+import com.island.ohara.common.rule.SmallTest;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestTokenBucket extends SmallTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroRate() {
+    new TokenBucket(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativePermits() {
+    new TokenBucket(10).acquire(-1);
+  }
+
+  @Test
+  public void testBurst() {
+    AtomicLong time = new AtomicLong(0);
+    TokenBucket bucket = new TokenBucket(100, time::get);
+    Assert.assertEquals(0, bucket.acquire(60));
+    Assert.assertEquals(0, bucket.acquire(40));
+    // the bucket is empty now
+    Assert.assertEquals(10, bucket.acquire(1));
+  }
+
+  @Test
+  public void testRefill() {
+    AtomicLong time = new AtomicLong(0);
+    TokenBucket bucket = new TokenBucket(100, time::get);
+    Assert.assertEquals(0, bucket.acquire(100));
+    time.addAndGet(500);
+    Assert.assertEquals(0, bucket.acquire(50));
+    Assert.assertEquals(10, bucket.acquire(1));
+  }
+
+  @Test
+  public void testCapacity() {
+    AtomicLong time = new AtomicLong(0);
+    TokenBucket bucket = new TokenBucket(100, time::get);
+    // the idle time can't accumulate more tokens than the rate
+    time.addAndGet(10000);
+    Assert.assertEquals(0, bucket.acquire(100));
+    Assert.assertEquals(10, bucket.acquire(1));
+  }
+
+  @Test
+  public void testLargeBatch() {
+    AtomicLong time = new AtomicLong(0);
+    TokenBucket bucket = new TokenBucket(100, time::get);
+    // the batch is bigger than capacity so it has to wait for 2 seconds
+    Assert.assertEquals(2000, bucket.acquire(300));
+    time.addAndGet(2000);
+    Assert.assertEquals(0, bucket.acquire(0));
+    Assert.assertEquals(10, bucket.acquire(1));
+  }
+}
@@ -53,7 +53,7 @@ public abstract class WithMockStorage extends CsvSinkTestBase {
     return reader.lines().collect(Collectors.toList());
   }
 
-  static class MockStorage implements Storage {
+  protected static class MockStorage implements Storage {
     @Override
     public Iterator<Path> list(String dirPath) {
       try {
@@ -145,6 +145,11 @@ public abstract class WithMockStorage extends CsvSinkTestBase {
       }
     }
 
+    @Override
+    public boolean threadSafe() {
+      return true;
+    }
+
     @Override
     public void close() {
       // Do nothing
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.csv.sink;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.island.ohara.common.rule.SmallTest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xerial.snappy.SnappyFramedInputStream;
+
+public class TestCsvCompression extends SmallTest {
+  private static final String DATA = "a,b,c\n1,2,3\n4,5,6\n";
+
+  private static byte[] compress(CsvCompression compression) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (OutputStream out = compression.wrap(output)) {
+      out.write(DATA.getBytes(StandardCharsets.UTF_8));
+    }
+    return output.toByteArray();
+  }
+
+  private static String read(InputStream input) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    int count;
+    while ((count = input.read(buffer)) >= 0) output.write(buffer, 0, count);
+    input.close();
+    return new String(output.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testNone() throws IOException {
+    Assert.assertEquals(DATA, new String(compress(CsvCompression.NONE), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testGzip() throws IOException {
+    Assert.assertEquals(
+        DATA, read(new GZIPInputStream(new ByteArrayInputStream(compress(CsvCompression.GZIP)))));
+  }
+
+  @Test
+  public void testSnappy() throws IOException {
+    Assert.assertEquals(
+        DATA,
+        read(
+            new SnappyFramedInputStream(
+                new ByteArrayInputStream(compress(CsvCompression.SNAPPY)))));
+  }
+
+  @Test
+  public void testLz4() throws IOException {
+    Assert.assertEquals(
+        DATA,
+        read(new LZ4FrameInputStream(new ByteArrayInputStream(compress(CsvCompression.LZ4)))));
+  }
+
+  @Test
+  public void testZstd() throws IOException {
+    Assert.assertEquals(
+        DATA, read(new ZstdInputStream(new ByteArrayInputStream(compress(CsvCompression.ZSTD)))));
+  }
+
+  @Test
+  public void testOf() {
+    Assert.assertEquals(CsvCompression.GZIP, CsvCompression.of("gzip"));
+    Assert.assertEquals(CsvCompression.GZIP, CsvCompression.of("GZIP"));
+    Assert.assertEquals(CsvCompression.NONE, CsvCompression.of("none"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedCompression() {
+    CsvCompression.of("bzip2");
+  }
+
+  @Test
+  public void testExtension() {
+    Assert.assertEquals(".csv", new CsvRecordWriterProvider(null).getExtension());
+    Assert.assertEquals(
+        ".csv.gz", new CsvRecordWriterProvider(null, CsvCompression.GZIP).getExtension());
+  }
+}
@@ -21,8 +21,14 @@ import com.island.ohara.kafka.connector.RowSinkRecord;
 import com.island.ohara.kafka.connector.TopicPartition;
 import com.island.ohara.kafka.connector.csv.CsvConnector;
 import com.island.ohara.kafka.connector.csv.WithMockStorage;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -31,6 +37,8 @@ public class TestCsvDataWriter extends WithMockStorage {
   private final File topicsDir = createTemporaryFolder();
   private final String extension = ".csv";
 
+  private final Set<Thread> storageThreads = ConcurrentHashMap.newKeySet();
+
   private CsvDataWriter dataWriter;
 
   @Override
@@ -111,6 +119,90 @@ public class TestCsvDataWriter extends WithMockStorage {
     dataWriter.close();
   }
 
+  @Test
+  public void testWritePartitionsConcurrently() {
+    localProps.put(CsvConnector.FLUSH_SIZE_CONFIG, "3");
+    localProps.put(CsvConnector.WRITER_THREADS_CONFIG, "2");
+    setUp();
+
+    Set<TopicPartition> partitions =
+        new HashSet<>(Arrays.asList(TOPIC_PARTITION, TOPIC_PARTITION2));
+    List<RowSinkRecord> sinkRecords = createRecords(7, 0, partitions);
+    dataWriter.write(sinkRecords);
+    Map<TopicPartition, Long> committedOffsets = dataWriter.getCommittedOffsetsAndReset();
+    Assert.assertEquals(2, committedOffsets.size());
+    Assert.assertEquals(6, committedOffsets.get(TOPIC_PARTITION).intValue());
+    Assert.assertEquals(6, committedOffsets.get(TOPIC_PARTITION2).intValue());
+
+    // only the partition having new records moves its offset
+    dataWriter.write(createRecords(2, 7));
+    committedOffsets = dataWriter.getCommittedOffsetsAndReset();
+    Assert.assertEquals(1, committedOffsets.size());
+    Assert.assertEquals(9, committedOffsets.get(TOPIC_PARTITION).intValue());
+    dataWriter.close();
+
+    for (TopicPartition tp : partitions) {
+      List<RowSinkRecord> records = new ArrayList<>();
+      sinkRecords.stream().filter(r -> r.partition() == tp.partition()).forEach(records::add);
+      verify(records, new long[] {0, 3, 6}, Collections.singleton(tp));
+    }
+  }
+
+  @Test
+  public void testIgnoreCommitThreadsIfStorageIsNotThreadSafe() {
+    localProps.put(CsvConnector.FLUSH_SIZE_CONFIG, "3");
+    localProps.put(CsvConnector.COMMIT_THREADS_CONFIG, "2");
+    setUp();
+    useThreadUnsafeStorage();
+    List<RowSinkRecord> sinkRecords = createRecords(7);
+
+    dataWriter.write(sinkRecords);
+    Assert.assertEquals(
+        6, dataWriter.getCommittedOffsetsAndReset().get(TOPIC_PARTITION).intValue());
+    dataWriter.close();
+
+    verify(sinkRecords, new long[] {0, 3, 6});
+    Assert.assertEquals(Collections.singleton(Thread.currentThread()), storageThreads);
+  }
+
+  @Test
+  public void testIgnoreWriterThreadsIfStorageIsNotThreadSafe() {
+    localProps.put(CsvConnector.FLUSH_SIZE_CONFIG, "3");
+    localProps.put(CsvConnector.WRITER_THREADS_CONFIG, "2");
+    setUp();
+    useThreadUnsafeStorage();
+
+    dataWriter.write(
+        createRecords(7, 0, new HashSet<>(Arrays.asList(TOPIC_PARTITION, TOPIC_PARTITION2))));
+    Map<TopicPartition, Long> committedOffsets = dataWriter.getCommittedOffsetsAndReset();
+    Assert.assertEquals(6, committedOffsets.get(TOPIC_PARTITION).intValue());
+    Assert.assertEquals(6, committedOffsets.get(TOPIC_PARTITION2).intValue());
+    dataWriter.close();
+
+    Assert.assertEquals(Collections.singleton(Thread.currentThread()), storageThreads);
+  }
+
+  @Test
+  public void testWriteCompressedRecords() throws Exception {
+    localProps.put(CsvConnector.FLUSH_SIZE_CONFIG, "3");
+    localProps.put(CsvConnector.FILE_COMPRESSION_CONFIG, "gzip");
+    setUp();
+    List<RowSinkRecord> sinkRecords = createRecords(3);
+
+    dataWriter.write(sinkRecords);
+    dataWriter.close();
+
+    String filePath =
+        FileUtils.committedFileName(
+            config.topicsDir(), getDirectory(TOPIC_PARTITION), TOPIC_PARTITION, 0, ".csv.gz");
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(new GZIPInputStream(storage.open(filePath))))) {
+      List<String> data = reader.lines().collect(Collectors.toList());
+      Assert.assertEquals(3, data.size());
+      verifyContents(sinkRecords, 0, data);
+    }
+  }
+
   @Test
   public void testAssignment() {
     setUp();
@@ -129,6 +221,30 @@ public class TestCsvDataWriter extends WithMockStorage {
     Assert.assertEquals(0, dataWriter.getTopicPartitionWriters().size());
   }
 
+  /** replace the storage by a storage which is not thread-safe and records the caller threads. */
+  private void useThreadUnsafeStorage() {
+    storage =
+        new MockStorage() {
+          @Override
+          public OutputStream create(String path) {
+            storageThreads.add(Thread.currentThread());
+            return super.create(path);
+          }
+
+          @Override
+          public boolean move(String sourcePath, String targetPath) {
+            storageThreads.add(Thread.currentThread());
+            return super.move(sourcePath, targetPath);
+          }
+
+          @Override
+          public boolean threadSafe() {
+            return false;
+          }
+        };
+    dataWriter = new CsvDataWriter(config, context, storage);
+  }
+
   protected void verify(List<RowSinkRecord> sinkRecords, long[] validOffsets) {
     verify(sinkRecords, validOffsets, Collections.singleton(TOPIC_PARTITION));
   }
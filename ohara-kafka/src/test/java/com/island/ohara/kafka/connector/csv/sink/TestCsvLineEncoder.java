@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.csv.sink;
+
+import com.island.ohara.common.data.Cell;
+import com.island.ohara.common.data.Column;
+import com.island.ohara.common.data.DataType;
+import com.island.ohara.common.data.Row;
+import com.island.ohara.common.rule.SmallTest;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestCsvLineEncoder extends SmallTest {
+  private final List<Column> schema =
+      Arrays.asList(
+          Column.builder().name("c").newName("cc").dataType(DataType.STRING).order(3).build(),
+          Column.builder().name("a").dataType(DataType.INT).order(1).build(),
+          Column.builder().name("b").dataType(DataType.STRING).order(2).build());
+
+  private static String line(CsvLineEncoder encoder, Row row) throws IOException {
+    StringWriter writer = new StringWriter();
+    encoder.write(row, writer);
+    return writer.toString();
+  }
+
+  private static String header(CsvLineEncoder encoder, Row row) throws IOException {
+    StringWriter writer = new StringWriter();
+    encoder.writeHeader(row, writer);
+    return writer.toString();
+  }
+
+  @Test
+  public void testWithSchema() throws IOException {
+    CsvLineEncoder encoder = new CsvLineEncoder(schema);
+    Row row = Row.of(Cell.of("b", "x"), Cell.of("c", "y"), Cell.of("a", 1), Cell.of("d", "z"));
+    Assert.assertEquals("a,b,cc", header(encoder, row));
+    Assert.assertEquals("1,x,y", line(encoder, row));
+    // the cells in the same order of columns
+    Assert.assertEquals(
+        "2,x,y", line(encoder, Row.of(Cell.of("a", 2), Cell.of("b", "x"), Cell.of("c", "y"))));
+  }
+
+  @Test
+  public void testMissedCell() throws IOException {
+    CsvLineEncoder encoder = new CsvLineEncoder(schema);
+    Row row = Row.of(Cell.of("c", "y"));
+    Assert.assertTrue(encoder.canEncode(row));
+    Assert.assertEquals(",,y", line(encoder, row));
+    row = Row.of(Cell.of("d", "y"));
+    Assert.assertFalse(encoder.canEncode(row));
+    StringWriter writer = new StringWriter();
+    Assert.assertFalse(encoder.write(row, writer));
+    Assert.assertEquals("", writer.toString());
+  }
+
+  @Test
+  public void testWithoutSchema() throws IOException {
+    CsvLineEncoder encoder = new CsvLineEncoder(Collections.emptyList());
+    Row row = Row.of(Cell.of("b", "x"), Cell.of("a", 1));
+    Assert.assertEquals("b,a", header(encoder, row));
+    Assert.assertEquals("x,1", line(encoder, row));
+    Assert.assertFalse(encoder.canEncode(Row.EMPTY));
+    Assert.assertEquals("", line(new CsvLineEncoder(null), Row.EMPTY));
+  }
+
+  @Test
+  public void testQuote() throws IOException {
+    CsvLineEncoder encoder = new CsvLineEncoder(Collections.emptyList());
+    Row row =
+        Row.of(
+            Cell.of("a", "x,y"),
+            Cell.of("b", "say \"hi\""),
+            Cell.of("c", "line0\nline1"),
+            Cell.of("d", "\r"),
+            Cell.of("e", "plain"));
+    Assert.assertEquals(
+        "\"x,y\",\"say \"\"hi\"\"\",\"line0\nline1\",\"\r\",plain", line(encoder, row));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBytesColumn() {
+    new CsvLineEncoder(
+        Collections.singletonList(
+            Column.builder().name("a").dataType(DataType.BYTES).order(1).build()));
+  }
+}
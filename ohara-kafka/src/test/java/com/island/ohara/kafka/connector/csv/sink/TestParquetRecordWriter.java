@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.csv.sink;
+
+import com.island.ohara.common.data.Cell;
+import com.island.ohara.common.data.Column;
+import com.island.ohara.common.data.DataType;
+import com.island.ohara.common.data.Row;
+import com.island.ohara.kafka.connector.RowSinkRecord;
+import com.island.ohara.kafka.connector.csv.WithMockStorage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestParquetRecordWriter extends WithMockStorage {
+  private final File folder = createTemporaryFolder();
+
+  private CsvSinkConfig config(List<Column> schema) {
+    return CsvSinkConfig.builder()
+        .topicsDir(folder.getPath())
+        .schema(schema)
+        .compression(CsvCompression.SNAPPY)
+        .build();
+  }
+
+  private ParquetReader<Group> reader(String file) throws IOException {
+    return ParquetReader.builder(new GroupReadSupport(), new Path(file)).build();
+  }
+
+  @Test
+  public void testWrite() throws IOException {
+    setUp();
+    List<Column> schema =
+        Arrays.asList(
+            Column.builder().name("key").dataType(DataType.STRING).order(0).build(),
+            Column.builder().name("int").newName("number").dataType(DataType.INT).order(1).build(),
+            Column.builder().name("double").dataType(DataType.DOUBLE).order(2).build());
+    String file = new File(folder, "testWrite.parquet").getPath();
+    ParquetRecordWriter writer = new ParquetRecordWriter(config(schema), file, storage);
+    List<RowSinkRecord> records = createRecords(5);
+    records.forEach(writer::write);
+    writer.commit();
+
+    try (ParquetReader<Group> reader = reader(file)) {
+      for (int i = 0; i != records.size(); ++i) {
+        Group group = reader.read();
+        Assert.assertEquals("#" + i, group.getString("key", 0));
+        Assert.assertEquals(12, group.getInteger("number", 0));
+        Assert.assertEquals(12.2D, group.getDouble("double", 0), 0);
+        Assert.assertEquals(3, group.getType().getFieldCount());
+      }
+      Assert.assertNull(reader.read());
+    }
+  }
+
+  @Test
+  public void testWriteWithoutSchema() throws IOException {
+    setUp();
+    String file = new File(folder, "testWriteWithoutSchema.parquet").getPath();
+    ParquetRecordWriter writer = new ParquetRecordWriter(config(null), file, storage);
+    List<RowSinkRecord> records = createRecords(3);
+    records.forEach(writer::write);
+    writer.commit();
+
+    try (ParquetReader<Group> reader = reader(file)) {
+      for (int i = 0; i != records.size(); ++i) {
+        Group group = reader.read();
+        // all fields are strings if there is no schema
+        Assert.assertEquals("#" + i, group.getString("key", 0));
+        Assert.assertEquals("12", group.getString("int", 0));
+        Assert.assertEquals("true", group.getString("boolean", 0));
+      }
+      Assert.assertNull(reader.read());
+    }
+  }
+
+  @Test
+  public void testSkipInvalidRow() throws IOException {
+    setUp();
+    List<Column> schema =
+        Arrays.asList(
+            Column.builder().name("key").dataType(DataType.STRING).order(0).build(),
+            Column.builder().name("int").dataType(DataType.INT).order(1).build());
+    String file = new File(folder, "testSkipInvalidRow.parquet").getPath();
+    ParquetRecordWriter writer = new ParquetRecordWriter(config(schema), file, storage);
+    writer.write(createRecord(createRow("#0"), 0));
+    try {
+      writer.write(createRecord(Row.of(Cell.of("key", "#1"), Cell.of("int", "not a number")), 1));
+      Assert.fail("the invalid row should be rejected");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    // the invalid row does not corrupt the file
+    writer.write(createRecord(createRow("#2"), 2));
+    writer.commit();
+
+    try (ParquetReader<Group> reader = reader(file)) {
+      Assert.assertEquals("#0", reader.read().getString("key", 0));
+      Assert.assertEquals("#2", reader.read().getString("key", 0));
+      Assert.assertNull(reader.read());
+    }
+  }
+
+  @Test
+  public void testNothingToCommit() {
+    setUp();
+    String file = new File(folder, "testNothingToCommit.parquet").getPath();
+    ParquetRecordWriter writer = new ParquetRecordWriter(config(null), file, storage);
+    Assert.assertEquals(0, writer.size());
+    writer.commit();
+    Assert.assertFalse(storage.exists(file));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedCompression() {
+    new ParquetRecordWriterProvider(storage, CsvCompression.ZSTD);
+  }
+
+  @Test
+  public void testExtension() {
+    Assert.assertEquals(
+        ".parquet", new ParquetRecordWriterProvider(storage, CsvCompression.NONE).getExtension());
+  }
+
+  @Test
+  public void testRowGroupSize() {
+    CsvSinkConfig.Builder builder = CsvSinkConfig.builder().topicsDir(folder.getPath());
+    Assert.assertEquals(
+        CsvSinkConfig.PARQUET_ROW_GROUP_SIZE_DEFAULT,
+        ParquetRecordWriter.rowGroupSize(builder.build()));
+    Assert.assertEquals(
+        1024, ParquetRecordWriter.rowGroupSize(builder.parquetRowGroupSize(1024).build()));
+    // the file is committed before the row group is full
+    Assert.assertEquals(
+        100, ParquetRecordWriter.rowGroupSize(builder.rotateSizeBytes(100).build()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalRowGroupSize() {
+    CsvSinkConfig.builder().parquetRowGroupSize(0);
+  }
+}
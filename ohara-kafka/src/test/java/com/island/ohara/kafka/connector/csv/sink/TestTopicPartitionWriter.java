@@ -16,6 +16,8 @@
 
 package com.island.ohara.kafka.connector.csv.sink;
 
+import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.common.util.Releasable;
 import com.island.ohara.common.util.StreamUtils;
 import com.island.ohara.kafka.connector.RowSinkRecord;
 import com.island.ohara.kafka.connector.csv.CsvConnector;
@@ -117,6 +119,56 @@ public class TestTopicPartitionWriter extends WithMockStorage {
     Assert.assertEquals(7, writer.getCommittedOffset().intValue());
   }
 
+  @Test
+  public void testWriteOnBytesRotate() {
+    localProps.put(CsvConnector.FLUSH_SIZE_CONFIG, "99999");
+    // each record is bigger than 1 byte
+    localProps.put(CsvConnector.ROTATE_SIZE_BYTES_CONFIG, "1");
+
+    setUp();
+
+    List<RowSinkRecord> records = createRecords(7);
+    for (RowSinkRecord record : records) {
+      writer.buffer(record);
+    }
+
+    writer.write();
+
+    Assert.assertEquals(0, writer.getRecordCount());
+    Assert.assertEquals(7, writer.getCommittedOffset().intValue());
+  }
+
+  @Test
+  public void testBackgroundCommit() {
+    localProps.put(CsvConnector.FLUSH_SIZE_CONFIG, "3");
+
+    setUp();
+
+    FileCommitter committer = new FileCommitter(2);
+    try {
+      writer =
+          new TopicPartitionWriter(
+              TOPIC_PARTITION, new CsvRecordWriterProvider(storage), config, context, committer);
+      List<RowSinkRecord> records = createRecords(7);
+      for (RowSinkRecord record : records) {
+        writer.buffer(record);
+      }
+
+      writer.write();
+      Assert.assertEquals(1, writer.getRecordCount());
+
+      long deadline = CommonUtils.current() + 10 * 1000;
+      while (writer.getCommittedOffset() == null || writer.getCommittedOffset() != 6) {
+        if (CommonUtils.current() > deadline) Assert.fail("the files are not committed");
+      }
+      writer.close();
+
+      verifyFilenames("test-topic-12-000000000.csv", "test-topic-12-000000003.csv");
+    } finally {
+      Releasable.close(committer);
+    }
+  }
+
   @Test
   public void testCommitFilename() {
     localProps.put(CsvConnector.FLUSH_SIZE_CONFIG, "3");
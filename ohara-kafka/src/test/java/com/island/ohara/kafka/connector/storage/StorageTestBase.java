@@ -162,6 +162,77 @@ public abstract class StorageTestBase extends WithTestUtils {
     Assert.assertTrue(storage.exists(file2));
   }
 
+  @Test
+  public void testOpenWithOffset() throws IOException {
+    String file = randomFile();
+    String text = randomText();
+    try (OutputStream outputStream = storage.create(file)) {
+      outputStream.write(text.getBytes());
+    }
+
+    try (InputStream inputStream = storage.open(file, 3)) {
+      Assert.assertEquals(
+          text.substring(3),
+          new BufferedReader(new InputStreamReader(inputStream))
+              .lines()
+              .collect(Collectors.joining(System.lineSeparator())));
+    }
+
+    try (InputStream inputStream = storage.open(file, text.length())) {
+      Assert.assertEquals(-1, inputStream.read());
+    }
+
+    try {
+      storage.open(file, text.length() + 1).close();
+      Assert.fail("the offset out of file should be rejected");
+    } catch (OharaException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testMultipart() throws IOException {
+    String file = randomFile();
+    MultipartWriter writer;
+    try {
+      writer = storage.createMultipart(file);
+    } catch (UnsupportedOperationException e) {
+      // multipart is an optional operation
+      return;
+    }
+    try {
+      // the parts are not required to be written in order
+      for (int index : new int[] {2, 0, 1}) {
+        try (OutputStream outputStream = writer.part(index)) {
+          outputStream.write(String.valueOf(index).getBytes());
+        }
+      }
+      Assert.assertFalse(storage.exists(file));
+      writer.complete();
+    } finally {
+      writer.close();
+    }
+    Assert.assertEquals("012", readLine(file));
+    // the parts are deleted
+    Assert.assertEquals(1, size(storage.list(rootFolder)));
+  }
+
+  @Test
+  public void testAbortMultipart() throws IOException {
+    String file = randomFile();
+    MultipartWriter writer;
+    try {
+      writer = storage.createMultipart(file);
+    } catch (UnsupportedOperationException e) {
+      // multipart is an optional operation
+      return;
+    }
+    writer.part(0).close();
+    writer.close();
+    Assert.assertFalse(storage.exists(file));
+    Assert.assertEquals(0, size(storage.list(rootFolder)));
+  }
+
   protected String randomFolder() {
     return CommonUtils.path(rootFolder, CommonUtils.randomString(10), CommonUtils.randomString(10));
   }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.storage;
+
+import com.island.ohara.common.util.CommonUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestLocalStorage extends StorageTestBase {
+  @Override
+  protected Storage createStorage() {
+    // a small buffer is used to test the writes bigger than buffer
+    return new LocalStorage(16);
+  }
+
+  @Override
+  protected Path getRootFolder() {
+    return Paths.get(CommonUtils.createTempFolder(CommonUtils.randomString(5)).getPath());
+  }
+
+  @Test
+  public void testWriteBiggerThanBuffer() throws IOException {
+    String file = randomFile();
+    byte[] data = new byte[100];
+    for (int i = 0; i != data.length; ++i) data[i] = (byte) i;
+    try (OutputStream output = getStorage().create(file)) {
+      output.write(data, 0, 10);
+      output.write(data, 10, 50);
+      output.write(data[60]);
+      output.write(data, 61, 39);
+    }
+    byte[] result = new byte[data.length];
+    try (InputStream input = getStorage().open(file)) {
+      int length = 0;
+      int count;
+      while ((count = input.read(result, length, result.length - length)) > 0) length += count;
+      Assert.assertEquals(data.length, length);
+      Assert.assertEquals(-1, input.read());
+    }
+    Assert.assertTrue(Arrays.equals(data, result));
+  }
+
+  @Test
+  public void testWriteAfterClose() throws IOException {
+    OutputStream output = getStorage().create(randomFile());
+    output.close();
+    try {
+      output.write(1);
+      Assert.fail("the closed stream should reject the write");
+    } catch (IOException e) {
+      // expected
+    }
+    try {
+      output.write(new byte[10]);
+      Assert.fail("the closed stream should reject the write");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testCreateParentFolders() throws IOException {
+    String file = CommonUtils.path(randomFolder(), "test.txt");
+    getStorage().create(file).close();
+    Assert.assertTrue(getStorage().exists(file));
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.storage;
+
+import com.island.ohara.common.exception.OharaException;
+import com.island.ohara.common.rule.SmallTest;
+import com.island.ohara.common.util.CommonUtils;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestStagedMultipartWriter extends SmallTest {
+  private final File folder = CommonUtils.createTempFolder(CommonUtils.randomString(5));
+  private final String path = new File(folder, "target").getPath();
+
+  @After
+  public void tearDown() {
+    CommonUtils.deleteFiles(folder);
+  }
+
+  private static void write(OutputStream output, String text) throws IOException {
+    try (OutputStream o = output) {
+      o.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void testDeleteTemporaryIfMoveFails() throws IOException {
+    Storage storage =
+        new LocalStorage() {
+          @Override
+          public boolean move(String sourcePath, String targetPath) {
+            throw new OharaException("failed to move " + sourcePath);
+          }
+        };
+    StagedMultipartWriter writer = new StagedMultipartWriter(storage, path);
+    write(writer.part(0), "a");
+    write(writer.part(1), "b");
+    try {
+      writer.complete();
+      Assert.fail("the failed move should be rethrown");
+    } catch (OharaException e) {
+      // expected
+    }
+    // only the parts are left, and they are deleted by close
+    Assert.assertEquals(2, folder.list().length);
+    writer.close();
+    Assert.assertEquals(0, folder.list().length);
+  }
+
+  @Test
+  public void testRecreateFailedPart() throws IOException {
+    AtomicBoolean fail = new AtomicBoolean(true);
+    Storage storage =
+        new LocalStorage() {
+          @Override
+          public OutputStream create(String path) {
+            if (fail.getAndSet(false)) throw new OharaException("failed to create " + path);
+            return super.create(path);
+          }
+        };
+    StagedMultipartWriter writer = new StagedMultipartWriter(storage, path);
+    try {
+      writer.part(0);
+      Assert.fail("the failed creation should be rethrown");
+    } catch (OharaException e) {
+      // expected
+    }
+    // the failed part is not registered so it can be created again
+    write(writer.part(0), "a");
+    write(writer.part(1), "b");
+    writer.complete();
+    Assert.assertEquals(
+        "ab", new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8));
+    Assert.assertEquals(1, folder.list().length);
+    writer.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicatePart() throws IOException {
+    try (StagedMultipartWriter writer = new StagedMultipartWriter(new LocalStorage(), path)) {
+      write(writer.part(0), "a");
+      writer.part(0);
+    }
+  }
+}
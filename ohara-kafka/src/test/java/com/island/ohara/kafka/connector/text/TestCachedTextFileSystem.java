@@ -0,0 +1,230 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import com.island.ohara.common.rule.SmallTest;
+import java.io.InputStreamReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestCachedTextFileSystem extends SmallTest {
+
+  private static class CountingFileSystem implements TextFileSystem {
+    private final List<String> files = new ArrayList<>();
+    /** the size of files. The size is unknown if the file is not in this map. */
+    private final Map<String, Long> sizes = new HashMap<>();
+
+    private final AtomicInteger listCount = new AtomicInteger(0);
+    private final AtomicBoolean broken = new AtomicBoolean(false);
+
+    @Override
+    public Collection<String> listInputFiles() {
+      listCount.incrementAndGet();
+      if (broken.get()) throw new IllegalStateException("the file system is broken");
+      return new ArrayList<>(files);
+    }
+
+    @Override
+    public Collection<FileInfo> listInputFileInfos() {
+      return listInputFiles().stream()
+          .map(
+              path ->
+                  sizes.containsKey(path)
+                      ? FileInfo.of(path, sizes.get(path), 0)
+                      : FileInfo.of(path))
+          .collect(Collectors.toList());
+    }
+
+    @Override
+    public InputStreamReader createReader(String path) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void handleErrorFile(String path) {
+      files.remove(path);
+    }
+
+    @Override
+    public void handleCompletedFile(String path) {
+      files.remove(path);
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  private final AtomicLong now = new AtomicLong(0);
+  private final CountingFileSystem fileSystem = new CountingFileSystem();
+  private final CachedTextFileSystem cached =
+      new CachedTextFileSystem(fileSystem, Duration.ofSeconds(10), now::get);
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroTtl() {
+    new CachedTextFileSystem(fileSystem, Duration.ZERO);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullFileSystem() {
+    new CachedTextFileSystem(null, Duration.ofSeconds(1));
+  }
+
+  @Test
+  public void testCache() {
+    fileSystem.files.addAll(Arrays.asList("a", "b", "c"));
+    Assert.assertEquals(Arrays.asList("a", "b", "c"), cached.listInputFiles());
+    Assert.assertEquals(1, fileSystem.listCount.get());
+    // the new file is invisible before the cache is expired
+    fileSystem.files.add("d");
+    Assert.assertEquals(Arrays.asList("a", "b", "c"), cached.listInputFiles());
+    Assert.assertEquals(1, fileSystem.listCount.get());
+
+    cached.handleCompletedFile("a");
+    cached.handleErrorFile("b");
+    Assert.assertEquals(Arrays.asList("c", "d"), fileSystem.files);
+    Assert.assertEquals(Arrays.asList("c"), cached.listInputFiles());
+    Assert.assertEquals(1, fileSystem.listCount.get());
+  }
+
+  @Test
+  public void testListAgainAfterDraining() {
+    fileSystem.files.addAll(Arrays.asList("a", "b"));
+    cached.listInputFiles();
+    fileSystem.files.add("c");
+    cached.handleCompletedFile("a");
+    cached.handleCompletedFile("b");
+    Assert.assertEquals(Arrays.asList("c"), cached.listInputFiles());
+    Assert.assertEquals(2, fileSystem.listCount.get());
+    // empty input folder is always listed
+    cached.handleCompletedFile("c");
+    Assert.assertTrue(cached.listInputFiles().isEmpty());
+    Assert.assertTrue(cached.listInputFiles().isEmpty());
+    Assert.assertEquals(4, fileSystem.listCount.get());
+  }
+
+  @Test
+  public void testListAgainAfterExpiring() {
+    fileSystem.files.addAll(Arrays.asList("b", "c"));
+    cached.listInputFiles();
+    // the pending files keep their position and the new files are appended
+    fileSystem.files.add(0, "a");
+    fileSystem.files.remove("c");
+    now.set(10 * 1000);
+    Assert.assertEquals(Arrays.asList("b", "a"), cached.listInputFiles());
+    Assert.assertEquals(2, fileSystem.listCount.get());
+  }
+
+  @Test
+  public void testChangedFileIsMovedToTail() {
+    fileSystem.files.addAll(Arrays.asList("a", "b", "c"));
+    fileSystem.sizes.put("a", 10L);
+    fileSystem.sizes.put("b", 10L);
+    cached.listInputFiles();
+    // "a" is still being written
+    fileSystem.sizes.put("a", 20L);
+    now.set(10 * 1000);
+    Assert.assertEquals(Arrays.asList("b", "c", "a"), cached.listInputFiles());
+    Assert.assertEquals(
+        FileInfo.of("a", 20L, 0), new ArrayList<>(cached.listInputFileInfos()).get(2));
+    // the unchanged files keep their position
+    now.set(20 * 1000);
+    Assert.assertEquals(Arrays.asList("b", "c", "a"), cached.listInputFiles());
+    Assert.assertEquals(3, fileSystem.listCount.get());
+  }
+
+  @Test
+  public void testKeepPendingFilesIfListingFails() {
+    fileSystem.files.addAll(Arrays.asList("a", "b"));
+    cached.listInputFiles();
+    fileSystem.broken.set(true);
+    now.set(10 * 1000);
+    Assert.assertEquals(Arrays.asList("a", "b"), cached.listInputFiles());
+    // the listing is retried since the cache is still expired
+    Assert.assertEquals(Arrays.asList("a", "b"), cached.listInputFiles());
+    Assert.assertEquals(3, fileSystem.listCount.get());
+    fileSystem.broken.set(false);
+    fileSystem.files.add("c");
+    Assert.assertEquals(Arrays.asList("a", "b", "c"), cached.listInputFiles());
+    Assert.assertEquals(4, fileSystem.listCount.get());
+  }
+
+  @Test
+  public void testDefaultFileInfos() {
+    TextFileSystem fs =
+        new TextFileSystem() {
+          @Override
+          public Collection<String> listInputFiles() {
+            return Arrays.asList("a", "b");
+          }
+
+          @Override
+          public InputStreamReader createReader(String path) {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public void handleErrorFile(String path) {}
+
+          @Override
+          public void handleCompletedFile(String path) {}
+
+          @Override
+          public void close() {}
+        };
+    // the size and time are unknown
+    Assert.assertEquals(
+        Arrays.asList(
+            FileInfo.of("a", FileInfo.UNKNOWN, FileInfo.UNKNOWN),
+            FileInfo.of("b", FileInfo.UNKNOWN, FileInfo.UNKNOWN)),
+        fs.listInputFileInfos());
+    Assert.assertNotEquals(FileInfo.of("a"), FileInfo.of("a", 1, FileInfo.UNKNOWN));
+  }
+
+  @Test
+  public void testClaim() {
+    CountingFileSystem claimingFileSystem =
+        new CountingFileSystem() {
+          @Override
+          public Optional<String> claim(String path) {
+            // the file "b" is claimed by another task
+            return path.equals("b") ? Optional.empty() : Optional.of(path.equals("a") ? "a" : "x");
+          }
+        };
+    CachedTextFileSystem cached =
+        new CachedTextFileSystem(claimingFileSystem, Duration.ofSeconds(10), now::get);
+    claimingFileSystem.files.addAll(Arrays.asList("a", "b", "c"));
+    cached.listInputFiles();
+    Assert.assertEquals(Optional.of("a"), cached.claim("a"));
+    Assert.assertEquals(Optional.empty(), cached.claim("b"));
+    Assert.assertEquals(Optional.of("x"), cached.claim("c"));
+    // the file claimed in place is still pending
+    Assert.assertEquals(Arrays.asList("a"), cached.listInputFiles());
+    Assert.assertEquals(1, claimingFileSystem.listCount.get());
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import com.island.ohara.common.rule.SmallTest;
+import com.island.ohara.common.util.CommonUtils;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestLocalTextFileSystem extends SmallTest {
+  private final File root = CommonUtils.createTempFolder("local");
+  private final Path input = root.toPath().resolve("input");
+  private final Path completed = root.toPath().resolve("completed");
+  private final Path error = root.toPath().resolve("error");
+
+  private LocalTextFileSystem fileSystem(boolean keepCompletedFiles) throws IOException {
+    Files.createDirectories(input);
+    LocalTextFileSystem.Builder builder =
+        LocalTextFileSystem.builder().inputFolder(input.toString()).errorFolder(error.toString());
+    if (keepCompletedFiles) builder.completedFolder(completed.toString());
+    return builder.build();
+  }
+
+  private String write(String name, String content) throws IOException {
+    Path path = input.resolve(name);
+    Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    return path.toString();
+  }
+
+  @After
+  public void tearDown() {
+    CommonUtils.deleteFiles(root);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nonexistentInputFolder() {
+    LocalTextFileSystem.builder()
+        .inputFolder(input.toString())
+        .errorFolder(error.toString())
+        .build();
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullErrorFolder() {
+    LocalTextFileSystem.builder().inputFolder(input.toString()).build();
+  }
+
+  @Test
+  public void testScanExistentFiles() throws IOException {
+    Files.createDirectories(input);
+    String b = write("b", "b");
+    String a = write("a", "a");
+    Files.createDirectories(input.resolve("folder"));
+    try (LocalTextFileSystem fileSystem = fileSystem(false)) {
+      Assert.assertEquals(Arrays.asList(a, b), fileSystem.listInputFiles());
+    }
+  }
+
+  @Test
+  public void testWatchNewFiles() throws IOException {
+    try (LocalTextFileSystem fileSystem = fileSystem(false)) {
+      Assert.assertTrue(fileSystem.listInputFiles().isEmpty());
+      String a = write("a", "a");
+      CommonUtils.await(
+          () -> fileSystem.listInputFiles().equals(Collections.singletonList(a)),
+          Duration.ofSeconds(30));
+      Files.delete(Paths.get(a));
+      CommonUtils.await(() -> fileSystem.listInputFiles().isEmpty(), Duration.ofSeconds(30));
+    }
+  }
+
+  @Test
+  public void testFilter() throws IOException {
+    Files.createDirectories(input);
+    String a = write("a", "a");
+    write("b", "b");
+    try (LocalTextFileSystem fileSystem =
+        LocalTextFileSystem.builder()
+            .inputFolder(input.toString())
+            .errorFolder(error.toString())
+            .filter(path -> path.endsWith("a"))
+            .build()) {
+      Assert.assertEquals(Collections.singletonList(a), fileSystem.listInputFiles());
+    }
+  }
+
+  @Test
+  public void testCreateReader() throws IOException {
+    try (LocalTextFileSystem fileSystem = fileSystem(false)) {
+      String path = write("a", "line0\nline1\n中文");
+      try (BufferedReader reader = new BufferedReader(fileSystem.createReader(path))) {
+        Assert.assertEquals(
+            Arrays.asList("line0", "line1", "中文"), reader.lines().collect(Collectors.toList()));
+      }
+    }
+  }
+
+  @Test
+  public void testCreateReaderWithCorruptedFile() throws IOException {
+    try (LocalTextFileSystem fileSystem = fileSystem(false)) {
+      String path = write("a.gz", "this is not gzip");
+      try {
+        fileSystem.createReader(path);
+        Assert.fail("the corrupted file should be rejected");
+      } catch (UncheckedIOException e) {
+        // expected
+      }
+      fileSystem.handleErrorFile(path);
+      Assert.assertTrue(Files.exists(error.resolve("a.gz")));
+    }
+  }
+
+  @Test
+  public void testHandleFiles() throws IOException {
+    try (LocalTextFileSystem fileSystem = fileSystem(true)) {
+      String a = write("a", "a");
+      String b = write("b", "b");
+      fileSystem.handleCompletedFile(a);
+      fileSystem.handleErrorFile(b);
+      Assert.assertTrue(Files.exists(completed.resolve("a")));
+      Assert.assertTrue(Files.exists(error.resolve("b")));
+      // the duplicate file is renamed
+      write("a", "a");
+      fileSystem.handleCompletedFile(a);
+      Assert.assertEquals(2, completed.toFile().list().length);
+      Assert.assertEquals(0, input.toFile().list().length);
+    }
+  }
+
+  @Test
+  public void testDeleteCompletedFiles() throws IOException {
+    try (LocalTextFileSystem fileSystem = fileSystem(false)) {
+      String a = write("a", "a");
+      fileSystem.handleCompletedFile(a);
+      Assert.assertFalse(Files.exists(Paths.get(a)));
+      Assert.assertFalse(Files.exists(completed));
+    }
+  }
+}
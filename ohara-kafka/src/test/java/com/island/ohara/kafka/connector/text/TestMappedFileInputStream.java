@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import com.island.ohara.common.rule.SmallTest;
+import com.island.ohara.common.util.CommonUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestMappedFileInputStream extends SmallTest {
+
+  private static Path file(byte[] data) throws IOException {
+    Path path = CommonUtils.createTempFolder("mapped").toPath().resolve("data");
+    Files.write(path, data);
+    return path;
+  }
+
+  private static byte[] data(int size) {
+    byte[] data = new byte[size];
+    for (int i = 0; i != size; ++i) data[i] = (byte) i;
+    return data;
+  }
+
+  private static byte[] readAll(InputStream input, int bufferSize) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[bufferSize];
+    int count;
+    while ((count = input.read(buffer)) != -1) output.write(buffer, 0, count);
+    return output.toByteArray();
+  }
+
+  @Test
+  public void testReadAcrossRegions() throws IOException {
+    byte[] data = data(1000);
+    try (InputStream input = new MappedFileInputStream(file(data), 64)) {
+      Assert.assertArrayEquals(data, readAll(input, 100));
+      Assert.assertEquals(-1, input.read());
+    }
+  }
+
+  @Test
+  public void testReadByteByByte() throws IOException {
+    byte[] data = data(300);
+    try (InputStream input = new MappedFileInputStream(file(data), 7)) {
+      for (byte b : data) Assert.assertEquals(b & 0xFF, input.read());
+      Assert.assertEquals(-1, input.read());
+    }
+  }
+
+  @Test
+  public void testEmptyFile() throws IOException {
+    try (InputStream input = new MappedFileInputStream(file(new byte[0]))) {
+      Assert.assertEquals(-1, input.read());
+      Assert.assertEquals(-1, input.read(new byte[10]));
+    }
+  }
+
+  @Test
+  public void testSkip() throws IOException {
+    byte[] data = data(1000);
+    try (InputStream input = new MappedFileInputStream(file(data), 64)) {
+      Assert.assertEquals(0, input.read());
+      // skip inside the region
+      Assert.assertEquals(9, input.skip(9));
+      Assert.assertEquals(10, input.read());
+      // skip across the regions
+      Assert.assertEquals(200, input.skip(200));
+      Assert.assertEquals(211, input.read());
+      // skip over the end
+      Assert.assertEquals(788, input.skip(10000));
+      Assert.assertEquals(-1, input.read());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroRegionSize() throws IOException {
+    new MappedFileInputStream(file(data(10)), 0).close();
+  }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import com.island.ohara.common.data.Cell;
+import com.island.ohara.common.data.Row;
+import com.island.ohara.common.rule.SmallTest;
+import com.island.ohara.common.util.CommonUtils;
+import com.island.ohara.kafka.connector.RowSourceRecord;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestParallelFileProcessor extends SmallTest {
+
+  private static class MemoryFileSystem implements TextFileSystem {
+    private final Map<String, String> files;
+    private final List<String> completed = new CopyOnWriteArrayList<>();
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    private MemoryFileSystem(Map<String, String> files) {
+      this.files = files;
+    }
+
+    @Override
+    public Collection<String> listInputFiles() {
+      return files.keySet().stream().sorted().collect(Collectors.toList());
+    }
+
+    @Override
+    public InputStreamReader createReader(String path) {
+      String content = files.get(path);
+      if (content == null) throw new IllegalArgumentException(path + " does not exist");
+      return new InputStreamReader(
+          new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+          StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void handleErrorFile(String path) {
+      files.remove(path);
+      errors.add(path);
+    }
+
+    @Override
+    public void handleCompletedFile(String path) {
+      files.remove(path);
+      completed.add(path);
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  /** convert a line to a record per call. The line "error" causes an exception. */
+  private static class LineConverter implements TextSourceConverter {
+    private final String path;
+    private BufferedReader reader = null;
+
+    private LineConverter(String path) {
+      this.path = path;
+    }
+
+    @Override
+    public List<RowSourceRecord> convert(Supplier<InputStreamReader> supplier) {
+      try {
+        if (reader == null) reader = new BufferedReader(supplier.get());
+        String line = reader.readLine();
+        if (line == null) return Collections.emptyList();
+        if (line.equals("error")) throw new IllegalArgumentException("fake");
+        return Collections.singletonList(
+            RowSourceRecord.builder()
+                .sourcePartition(Collections.singletonMap("path", path))
+                .sourceOffset(Collections.singletonMap("line", line))
+                .topicName("topic")
+                .row(Row.of(Cell.of("path", path), Cell.of("line", line)))
+                .build());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        if (reader != null) reader.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private static String lines(int count) {
+    return IntStream.range(0, count).mapToObj(String::valueOf).collect(Collectors.joining("\n"));
+  }
+
+  private static ParallelFileProcessor processor(MemoryFileSystem fileSystem, int workers) {
+    return new ParallelFileProcessor(
+        fileSystem,
+        IntStream.range(0, workers).mapToObj(i -> fileSystem).collect(Collectors.toList()),
+        LineConverter::new);
+  }
+
+  private static List<RowSourceRecord> pollAll(
+      MemoryFileSystem fileSystem, ParallelFileProcessor processor) {
+    List<RowSourceRecord> records = new ArrayList<>();
+    long deadline = CommonUtils.current() + Duration.ofSeconds(30).toMillis();
+    while (!fileSystem.files.isEmpty()) {
+      if (CommonUtils.current() > deadline) throw new AssertionError("timeout");
+      records.addAll(processor.poll());
+    }
+    return records;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void emptyWorkers() {
+    new ParallelFileProcessor(
+        new MemoryFileSystem(new ConcurrentHashMap<>()),
+        Collections.emptyList(),
+        LineConverter::new);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullConverterFactory() {
+    MemoryFileSystem fileSystem = new MemoryFileSystem(new ConcurrentHashMap<>());
+    new ParallelFileProcessor(fileSystem, Collections.singletonList(fileSystem), null);
+  }
+
+  @Test
+  public void testProcessManyFiles() {
+    Map<String, String> files = new ConcurrentHashMap<>();
+    IntStream.range(0, 10).forEach(i -> files.put("file" + i, lines(20)));
+    MemoryFileSystem fileSystem = new MemoryFileSystem(files);
+    try (ParallelFileProcessor processor = processor(fileSystem, 3)) {
+      List<RowSourceRecord> records = pollAll(fileSystem, processor);
+      Assert.assertEquals(200, records.size());
+      Assert.assertEquals(10, fileSystem.completed.size());
+      Assert.assertTrue(fileSystem.errors.isEmpty());
+      // the records of a file are kept in order
+      Map<Object, List<Object>> lines =
+          records.stream()
+              .collect(
+                  Collectors.groupingBy(
+                      r -> (Object) r.row().cell("path").value(),
+                      Collectors.mapping(
+                          r -> (Object) r.row().cell("line").value(), Collectors.toList())));
+      Assert.assertEquals(10, lines.size());
+      lines
+          .values()
+          .forEach(
+              ls ->
+                  Assert.assertEquals(
+                      IntStream.range(0, 20).mapToObj(String::valueOf).collect(Collectors.toList()),
+                      ls));
+    }
+  }
+
+  @Test
+  public void testErrorFile() {
+    Map<String, String> files = new ConcurrentHashMap<>();
+    files.put("a", lines(5));
+    files.put("b", String.join("\n", Arrays.asList("0", "error", "2")));
+    files.put("c", lines(5));
+    MemoryFileSystem fileSystem = new MemoryFileSystem(files);
+    try (ParallelFileProcessor processor = processor(fileSystem, 2)) {
+      List<RowSourceRecord> records = pollAll(fileSystem, processor);
+      // the records before the error are returned
+      Assert.assertEquals(11, records.size());
+      Assert.assertEquals(Collections.singletonList("b"), fileSystem.errors);
+      Assert.assertEquals(2, fileSystem.completed.size());
+    }
+  }
+
+  @Test
+  public void testFailedToCreateConverter() {
+    Map<String, String> files = new ConcurrentHashMap<>();
+    files.put("a", lines(5));
+    files.put("b", lines(5));
+    MemoryFileSystem fileSystem = new MemoryFileSystem(files);
+    try (ParallelFileProcessor processor =
+        new ParallelFileProcessor(
+            fileSystem,
+            Collections.singletonList(fileSystem),
+            path -> {
+              if (path.equals("a")) throw new IllegalArgumentException("fake");
+              return new LineConverter(path);
+            })) {
+      List<RowSourceRecord> records = pollAll(fileSystem, processor);
+      Assert.assertEquals(5, records.size());
+      Assert.assertEquals(Collections.singletonList("a"), fileSystem.errors);
+      Assert.assertEquals(Collections.singletonList("b"), fileSystem.completed);
+    }
+  }
+
+  @Test
+  public void testClaimFiles() {
+    Map<String, String> files = new ConcurrentHashMap<>();
+    files.put("a", lines(5));
+    files.put("b", lines(5));
+    files.put("c", lines(5));
+    List<String> claimed = new CopyOnWriteArrayList<>();
+    MemoryFileSystem fileSystem =
+        new MemoryFileSystem(files) {
+          @Override
+          public Optional<String> claim(String path) {
+            // the file "b" is claimed by another task
+            if (path.equals("b")) {
+              files.remove(path);
+              return Optional.empty();
+            }
+            String newPath = "claimed-" + path;
+            files.put(newPath, files.remove(path));
+            claimed.add(newPath);
+            return Optional.of(newPath);
+          }
+        };
+    try (ParallelFileProcessor processor = processor(fileSystem, 2)) {
+      List<RowSourceRecord> records = pollAll(fileSystem, processor);
+      Assert.assertEquals(10, records.size());
+      Assert.assertEquals(Arrays.asList("claimed-a", "claimed-c"), claimed);
+      // the files are completed by workers in any order
+      Assert.assertEquals(new HashSet<>(claimed), new HashSet<>(fileSystem.completed));
+      records.forEach(
+          r -> Assert.assertTrue(claimed.contains(r.row().cell("path").value().toString())));
+    }
+  }
+
+  @Test
+  public void testCloseWithRunningWorkers() {
+    Map<String, String> files = new ConcurrentHashMap<>();
+    IntStream.range(0, 4).forEach(i -> files.put("file" + i, lines(100)));
+    MemoryFileSystem fileSystem = new MemoryFileSystem(files);
+    ParallelFileProcessor processor = processor(fileSystem, 2);
+    processor.poll();
+    processor.close();
+    // no file is moved since the workers are stopped before completing the files
+    Assert.assertTrue(fileSystem.completed.isEmpty());
+    Assert.assertEquals(4, files.size());
+  }
+}
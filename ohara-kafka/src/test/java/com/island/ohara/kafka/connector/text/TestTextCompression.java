@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.island.ohara.common.rule.SmallTest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestTextCompression extends SmallTest {
+  private static final byte[] DATA =
+      "a,b,c\n1,2,3\n4,5,6\n7,8,9\n".getBytes(StandardCharsets.UTF_8);
+
+  private static byte[] compress(TextCompression compression, byte[] data) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    OutputStream output;
+    switch (compression) {
+      case GZIP:
+        output = new GZIPOutputStream(buffer);
+        break;
+      case ZSTD:
+        output = new ZstdOutputStream(buffer);
+        break;
+      case LZ4:
+        output = new LZ4FrameOutputStream(buffer);
+        break;
+      default:
+        output = buffer;
+    }
+    output.write(data);
+    output.close();
+    return buffer.toByteArray();
+  }
+
+  private static byte[] readAll(InputStream input) throws IOException {
+    try (InputStream i = input) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[16];
+      int count;
+      while ((count = i.read(buffer)) != -1) output.write(buffer, 0, count);
+      return output.toByteArray();
+    }
+  }
+
+  @Test
+  public void testDetectByExtension() {
+    Assert.assertEquals(TextCompression.GZIP, TextCompression.of("/a/b.csv.gz"));
+    Assert.assertEquals(TextCompression.ZSTD, TextCompression.of("/a/b.csv.zst"));
+    Assert.assertEquals(TextCompression.LZ4, TextCompression.of("/a/b.csv.lz4"));
+    Assert.assertEquals(TextCompression.NONE, TextCompression.of("/a/b.csv"));
+  }
+
+  @Test
+  public void testDecompressByExtension() throws IOException {
+    Assert.assertArrayEquals(
+        DATA,
+        readAll(
+            TextCompression.decompress(
+                "a.csv.gz", new ByteArrayInputStream(compress(TextCompression.GZIP, DATA)))));
+    Assert.assertArrayEquals(
+        DATA,
+        readAll(
+            TextCompression.decompress(
+                "a.csv.zst", new ByteArrayInputStream(compress(TextCompression.ZSTD, DATA)))));
+    Assert.assertArrayEquals(
+        DATA,
+        readAll(
+            TextCompression.decompress(
+                "a.csv.lz4", new ByteArrayInputStream(compress(TextCompression.LZ4, DATA)))));
+  }
+
+  @Test
+  public void testDecompressByMagic() throws IOException {
+    for (TextCompression compression : TextCompression.values())
+      Assert.assertArrayEquals(
+          DATA,
+          readAll(
+              TextCompression.decompress(
+                  "a.csv", new ByteArrayInputStream(compress(compression, DATA)))));
+  }
+
+  @Test
+  public void testShortPlainFile() throws IOException {
+    byte[] data = "a".getBytes(StandardCharsets.UTF_8);
+    Assert.assertArrayEquals(
+        data, readAll(TextCompression.decompress("a.csv", new ByteArrayInputStream(data))));
+    Assert.assertArrayEquals(
+        new byte[0],
+        readAll(TextCompression.decompress("a.csv", new ByteArrayInputStream(new byte[0]))));
+  }
+
+  @Test(expected = IOException.class)
+  public void testCorruptedFile() throws IOException {
+    TextCompression.decompress("a.csv.gz", new ByteArrayInputStream(DATA));
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text;
+
+import com.google.common.collect.ImmutableMap;
+import com.island.ohara.common.rule.SmallTest;
+import com.island.ohara.kafka.connector.TaskSetting;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestTextConnector extends SmallTest {
+
+  private static TaskSetting settings(String key, String value) {
+    Map<String, String> settings = ImmutableMap.of(key, value);
+    return TaskSetting.of(settings);
+  }
+
+  @Test
+  public void testDefaultSettings() {
+    TextConnector.checkSourceSettings(TaskSetting.of(Collections.emptyMap()));
+    Assert.assertEquals(
+        TextSourceConverterFactory.TextType.CSV,
+        TextConnector.textType(TaskSetting.of(Collections.emptyMap())));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroWorkersIsIllegal() {
+    TextConnector.checkSourceSettings(settings(TextConnector.WORKERS_CONFIG, "0"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroListingTtlIsIllegal() {
+    TextConnector.checkSourceSettings(settings(TextConnector.LISTING_TTL_CONFIG, "0 seconds"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownTypeIsIllegal() {
+    TextConnector.checkSourceSettings(settings(TextConnector.TYPE_CONFIG, "xml"));
+  }
+
+  @Test
+  public void testCaseInsensitiveType() {
+    Assert.assertEquals(
+        TextSourceConverterFactory.TextType.JSON_LINES,
+        TextConnector.textType(settings(TextConnector.TYPE_CONFIG, "json_lines")));
+  }
+
+  @Test
+  public void testDefinitions() {
+    Assert.assertEquals(
+        String.valueOf(TextConnector.WORKERS_DEFAULT),
+        TextConnector.WORKERS_DEFINITION.defaultValue());
+    Assert.assertNull(TextConnector.LISTING_TTL_DEFINITION.defaultValue());
+    Assert.assertFalse(TextConnector.LISTING_TTL_DEFINITION.required());
+    Assert.assertEquals(TextConnector.TYPE_DEFAULT, TextConnector.TYPE_DEFINITION.defaultValue());
+    Assert.assertTrue(TextConnector.TYPE_DEFINITION.documentation().contains("json_lines"));
+    Assert.assertEquals(3, TextConnector.SOURCE_DEFINITIONS_DEFAULT.size());
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text.csv;
+
+import com.island.ohara.common.data.Column;
+import com.island.ohara.common.data.DataType;
+import com.island.ohara.common.data.Row;
+import com.island.ohara.common.rule.SmallTest;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestCsvConversionPlan extends SmallTest {
+  private final String[] header = new String[] {"a", "b", "c"};
+
+  @Test
+  public void testParser() {
+    Assert.assertTrue(CsvConversionPlan.parser(DataType.BOOLEAN).apply("true") instanceof Boolean);
+    Assert.assertTrue(CsvConversionPlan.parser(DataType.BYTE).apply("127") instanceof Byte);
+    Assert.assertTrue(CsvConversionPlan.parser(DataType.SHORT).apply("1") instanceof Short);
+    Assert.assertTrue(CsvConversionPlan.parser(DataType.INT).apply("2") instanceof Integer);
+    Assert.assertTrue(CsvConversionPlan.parser(DataType.LONG).apply("3") instanceof Long);
+    Assert.assertTrue(CsvConversionPlan.parser(DataType.FLOAT).apply("4") instanceof Float);
+    Assert.assertTrue(CsvConversionPlan.parser(DataType.DOUBLE).apply("5") instanceof Double);
+    Assert.assertTrue(CsvConversionPlan.parser(DataType.STRING).apply("str") instanceof String);
+    Assert.assertTrue(CsvConversionPlan.parser(DataType.OBJECT).apply("obj") instanceof String);
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void testParser_ThrowNumberFormatException() {
+    CsvConversionPlan.parser(DataType.BYTE).apply("128");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParser_ThrowIllegalArgumentException() {
+    CsvConversionPlan.parser(DataType.ROW);
+  }
+
+  @Test
+  public void testWithoutSchema() {
+    Row row = new CsvConversionPlan(header, Collections.emptyList()).toRow(new String[] {"1", "2"});
+    Assert.assertEquals(Arrays.asList("a", "b"), row.names());
+    Assert.assertEquals("2", row.cell("b").value());
+  }
+
+  @Test
+  public void testTooManyFieldsWithoutSchema() {
+    CsvConversionPlan plan = new CsvConversionPlan(header, Collections.emptyList());
+    assertException(
+        IllegalArgumentException.class, () -> plan.toRow(new String[] {"1", "2", "3", "4"}));
+  }
+
+  @Test
+  public void testWithSchema() {
+    CsvConversionPlan plan =
+        new CsvConversionPlan(
+            header,
+            Arrays.asList(
+                Column.builder().name("c").newName("cc").dataType(DataType.INT).order(0).build(),
+                Column.builder().name("a").dataType(DataType.LONG).order(1).build()));
+    Row row = plan.toRow(new String[] {"1", "2", "3"});
+    // the cells are sorted by the order of columns
+    Assert.assertEquals(Arrays.asList("cc", "a"), row.names());
+    Assert.assertEquals(3, row.cell("cc").value());
+    Assert.assertEquals(1L, row.cell("a").value());
+  }
+
+  @Test
+  public void testMissedField() {
+    CsvConversionPlan plan =
+        new CsvConversionPlan(
+            header,
+            Collections.singletonList(
+                Column.builder().name("c").dataType(DataType.STRING).order(0).build()));
+    assertException(IllegalArgumentException.class, () -> plan.toRow(new String[] {"1"}));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownColumn() {
+    new CsvConversionPlan(
+        header,
+        Collections.singletonList(
+            Column.builder().name("d").dataType(DataType.STRING).order(0).build()));
+  }
+}
@@ -115,31 +115,34 @@ public class TestCsvSourceConverter extends SmallTest {
     return data;
   }
 
+  private Map<Integer, Row> toRows(CsvSourceConverter converter) {
+    try (CsvTokenizer tokenizer = new CsvTokenizer(createReaderSupplier.get(), ',')) {
+      return converter.toRows(tokenizer);
+    }
+  }
+
   @Test
-  public void testTransform() {
+  public void testToRows() {
     converter = createConverter();
     data = setupInputData();
-    System.out.println(data);
-    Map<Integer, Row> transformedData = converter.transform(data);
-    System.out.println(transformedData);
-    Assert.assertEquals(mapToRow(data), converter.transform(data));
+    Assert.assertEquals(mapToRow(data), toRows(converter));
   }
 
   @Test
-  public void testTransform_WithFullSchema() {
+  public void testToRows_WithFullSchema() {
     converter = createConverter(schema);
     data = setupInputData();
-    Map<Integer, Row> transformedData = converter.transform(data);
+    Map<Integer, Row> transformedData = toRows(converter);
     Assert.assertEquals(data.size(), transformedData.size());
     Assert.assertEquals(mapToRow(data), transformedData);
   }
 
   @Test
-  public void testTransform_WithSingleColumn() {
+  public void testToRows_WithSingleColumn() {
     Column column = Column.builder().name("cf1").dataType(DataType.STRING).order(0).build();
     converter = createConverter(Arrays.asList(column));
     data = setupInputData();
-    Map<Integer, Row> transformedData = converter.transform(data);
+    Map<Integer, Row> transformedData = toRows(converter);
     Assert.assertEquals(data.size(), transformedData.size());
     transformedData
         .values()
@@ -150,6 +153,16 @@ public class TestCsvSourceConverter extends SmallTest {
             });
   }
 
+  @Test
+  public void testToRows_WithUnknownColumn() {
+    converter =
+        createConverter(
+            Collections.singletonList(
+                Column.builder().name("xxx").dataType(DataType.STRING).order(0).build()));
+    setupInputData();
+    assertException(IllegalArgumentException.class, () -> toRows(converter));
+  }
+
   private Map<Integer, Row> mapToRow(Map<Integer, List<Cell<String>>> data) {
     return data.entrySet().stream()
         .collect(
@@ -157,42 +170,6 @@ public class TestCsvSourceConverter extends SmallTest {
                 e -> e.getKey(), e -> Row.of(e.getValue().stream().toArray(Cell[]::new))));
   }
 
-  @Test
-  public void testFindCellByName() {
-    converter = createConverter();
-    data = setupInputData();
-    List<Cell<String>> cells = data.get(3);
-    Cell<String> cell = converter.findCellByName(cells, "cf3");
-    Assert.assertEquals("cf3", cell.name());
-    Assert.assertEquals("c", cell.value());
-  }
-
-  @Test
-  public void testConvertByType() {
-    converter = createConverter();
-    Assert.assertTrue(converter.convertByType("true", DataType.BOOLEAN) instanceof Boolean);
-    Assert.assertTrue(converter.convertByType("127", DataType.BYTE) instanceof Byte);
-    Assert.assertTrue(converter.convertByType("1", DataType.SHORT) instanceof Short);
-    Assert.assertTrue(converter.convertByType("2", DataType.INT) instanceof Integer);
-    Assert.assertTrue(converter.convertByType("3", DataType.LONG) instanceof Long);
-    Assert.assertTrue(converter.convertByType("4", DataType.FLOAT) instanceof Float);
-    Assert.assertTrue(converter.convertByType("5", DataType.DOUBLE) instanceof Double);
-    Assert.assertTrue(converter.convertByType("str", DataType.STRING) instanceof String);
-    Assert.assertTrue(converter.convertByType("obj", DataType.OBJECT) instanceof Object);
-  }
-
-  @Test(expected = NumberFormatException.class)
-  public void testConvertByType_ThrowNumberFormatException() {
-    converter = createConverter();
-    converter.convertByType("128", DataType.BYTE);
-  }
-
-  @Test(expected = IllegalArgumentException.class)
-  public void testConvertByType_ThrowIllegalArgumentException() {
-    converter = createConverter();
-    converter.convertByType("row", DataType.ROW);
-  }
-
   @Test
   public void testToRecords_BySingleRow() {
     converter = createConverter();
@@ -225,14 +202,6 @@ public class TestCsvSourceConverter extends SmallTest {
     Assert.assertEquals(topicNames.size() * rows.size(), records.size());
   }
 
-  @Test
-  public void testToCells() throws IOException {
-    converter = createConverter();
-    data = setupInputData();
-    InputStreamReader reader = createReaderSupplier.get();
-    Assert.assertEquals(data, converter.toCells(reader));
-  }
-
   @Test
   public void testConvert() {
     converter = createConverter();
@@ -270,18 +239,49 @@ public class TestCsvSourceConverter extends SmallTest {
   }
 
   @Test
-  public void testRegex() {
-    String[] splits = "1,\"2,3,4\",5".split(CsvSourceConverter.CSV_REGEX);
-    Assert.assertEquals(3, splits.length);
-    Assert.assertEquals("1", splits[0]);
-    Assert.assertEquals("\"2,3,4\"", splits[1]);
-    Assert.assertEquals("5", splits[2]);
-
-    String[] splits2 = "1,3,5".split(CsvSourceConverter.CSV_REGEX);
-    Assert.assertEquals(3, splits.length);
-    Assert.assertEquals("1", splits2[0]);
-    Assert.assertEquals("3", splits2[1]);
-    Assert.assertEquals("5", splits2[2]);
+  public void testQuotedFieldsAcrossLines() throws IOException {
+    try (FileWriter writer = new FileWriter(tempFile)) {
+      writer.write("cf1,cf2\n1,\"a,\nb\"\n2,\"say \"\"hi\"\"\"\n");
+    }
+    converter = createConverter();
+    List<RowSourceRecord> records = converter.convert(createReaderSupplier);
+    Assert.assertEquals(topicNames.size() * 2, records.size());
+    Assert.assertEquals("a,\nb", records.get(0).row().cell("cf2").value());
+    Assert.assertEquals("say \"hi\"", records.get(topicNames.size()).row().cell("cf2").value());
+    Assert.assertEquals(
+        Collections.singletonMap(CsvSourceConverter.CSV_OFFSET_KEY, 2),
+        records.get(topicNames.size()).sourceOffset());
+  }
+
+  @Test
+  public void testDelimiter() throws IOException {
+    try (FileWriter writer = new FileWriter(tempFile)) {
+      writer.write("cf1;cf2\n1;2\n");
+    }
+    converter =
+        new CsvSourceConverter.Builder()
+            .path(path)
+            .topics(topicNames)
+            .offsetCache(new FakeOffsetCache())
+            .delimiter(';')
+            .build();
+    List<RowSourceRecord> records = converter.convert(createReaderSupplier);
+    Assert.assertEquals(topicNames.size(), records.size());
+    Assert.assertEquals("2", records.get(0).row().cell("cf2").value());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalDelimiter() {
+    new CsvSourceConverter.Builder().delimiter('"');
+  }
+
+  @Test
+  public void testTooManyFields() throws IOException {
+    try (FileWriter writer = new FileWriter(tempFile)) {
+      writer.write("cf1\n1,2\n");
+    }
+    converter = createConverter();
+    assertException(IllegalArgumentException.class, () -> converter.convert(createReaderSupplier));
   }
 
   class FakeOffsetCache implements OffsetCache {
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text.csv;
+
+import com.island.ohara.common.rule.SmallTest;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestCsvTokenizer extends SmallTest {
+
+  private static List<String[]> parse(String input, char delimiter, int bufferSize) {
+    List<String[]> records = new ArrayList<>();
+    try (CsvTokenizer tokenizer =
+        new CsvTokenizer(new StringReader(input), delimiter, bufferSize)) {
+      String[] record;
+      while ((record = tokenizer.next()) != null) records.add(record);
+    }
+    return records;
+  }
+
+  private static List<String[]> parse(String input) {
+    return parse(input, ',', 8192);
+  }
+
+  @Test
+  public void testSimple() {
+    List<String[]> records = parse("1,3,5\n2,4,6\n");
+    Assert.assertEquals(2, records.size());
+    Assert.assertArrayEquals(new String[] {"1", "3", "5"}, records.get(0));
+    Assert.assertArrayEquals(new String[] {"2", "4", "6"}, records.get(1));
+  }
+
+  @Test
+  public void testQuotedDelimiter() {
+    List<String[]> records = parse("1,\"2,3,4\",5");
+    Assert.assertEquals(1, records.size());
+    Assert.assertArrayEquals(new String[] {"1", "2,3,4", "5"}, records.get(0));
+  }
+
+  @Test
+  public void testQuotedLineSeparator() {
+    List<String[]> records = parse("\"a\r\nb\",c\r\nd,e");
+    Assert.assertEquals(2, records.size());
+    Assert.assertArrayEquals(new String[] {"a\r\nb", "c"}, records.get(0));
+    Assert.assertArrayEquals(new String[] {"d", "e"}, records.get(1));
+  }
+
+  @Test
+  public void testEscapedQuote() {
+    Assert.assertArrayEquals(new String[] {"a\"b", "\""}, parse("\"a\"\"b\",\"\"\"\"").get(0));
+  }
+
+  @Test
+  public void testTrim() {
+    Assert.assertArrayEquals(
+        new String[] {"a", "b c", " d "}, parse("  a , b c ,  \" d \"  ").get(0));
+  }
+
+  @Test
+  public void testEmptyFields() {
+    Assert.assertArrayEquals(new String[] {"", "", ""}, parse(",,\n").get(0));
+    // the empty line is a record having single empty field
+    List<String[]> records = parse("a\n\nb");
+    Assert.assertEquals(3, records.size());
+    Assert.assertArrayEquals(new String[] {""}, records.get(1));
+  }
+
+  @Test
+  public void testLineSeparators() {
+    List<String[]> records = parse("a\rb\r\nc\nd");
+    Assert.assertEquals(4, records.size());
+    Assert.assertArrayEquals(new String[] {"d"}, records.get(3));
+  }
+
+  @Test
+  public void testDelimiter() {
+    Assert.assertArrayEquals(new String[] {"a", "b,c"}, parse("a\tb,c", '\t', 8192).get(0));
+    Assert.assertArrayEquals(new String[] {"a", "", "b"}, parse("a  b", ' ', 8192).get(0));
+  }
+
+  @Test
+  public void testSmallBuffer() {
+    List<String[]> records = parse("123,\"4\"\"56\"\r\n789,0\r\n", ',', 1);
+    Assert.assertEquals(2, records.size());
+    Assert.assertArrayEquals(new String[] {"123", "4\"56"}, records.get(0));
+    Assert.assertArrayEquals(new String[] {"789", "0"}, records.get(1));
+  }
+
+  @Test
+  public void testEmptyInput() {
+    Assert.assertTrue(parse("").isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testQuoteDelimiter() {
+    new CsvTokenizer(new StringReader(""), '"');
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 is-land
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.island.ohara.kafka.connector.text.json;
+
+import com.island.ohara.common.data.Column;
+import com.island.ohara.common.data.DataType;
+import com.island.ohara.common.data.Row;
+import com.island.ohara.common.rule.SmallTest;
+import com.island.ohara.kafka.connector.RowSourceRecord;
+import com.island.ohara.kafka.connector.text.csv.CsvOffsetCache;
+import com.island.ohara.kafka.connector.text.csv.CsvSourceConverter;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestJsonLinesSourceConverter extends SmallTest {
+  private static final String PATH = "a.json";
+  private final CsvOffsetCache cache = new CsvOffsetCache();
+
+  private static Supplier<InputStreamReader> reader(String... lines) {
+    return () ->
+        new InputStreamReader(
+            new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)),
+            StandardCharsets.UTF_8);
+  }
+
+  private JsonLinesSourceConverter converter(List<Column> schema, int batchSize) {
+    return new JsonLinesSourceConverter.Builder()
+        .path(PATH)
+        .topics(Collections.singletonList("topic"))
+        .offsetCache(cache)
+        .schema(schema)
+        .batchSize(batchSize)
+        .build();
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void nullPath() {
+    new JsonLinesSourceConverter.Builder()
+        .topics(Collections.singletonList("topic"))
+        .offsetCache(cache)
+        .build();
+  }
+
+  @Test
+  public void testWithoutSchema() {
+    try (JsonLinesSourceConverter converter = converter(Collections.emptyList(), 10)) {
+      List<RowSourceRecord> records =
+          converter.convert(
+              reader(
+                  "{\"a\":\"x\",\"b\":1,\"c\":1.5,\"d\":true,\"e\":null,\"f\":{\"g\":[1,2]}}",
+                  "",
+                  "{\"a\":\"y\"}"));
+      Assert.assertEquals(2, records.size());
+      Row row = records.get(0).row();
+      Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "f"), row.names());
+      Assert.assertEquals("x", row.cell("a").value());
+      Assert.assertEquals(1, row.cell("b").value());
+      Assert.assertEquals(1.5, row.cell("c").value());
+      Assert.assertEquals(true, row.cell("d").value());
+      Assert.assertEquals("{\"g\":[1,2]}", row.cell("f").value());
+      Assert.assertEquals("y", records.get(1).row().cell("a").value());
+      Assert.assertEquals(
+          Collections.singletonMap(CsvSourceConverter.CSV_PARTITION_KEY, PATH),
+          records.get(0).sourcePartition());
+      Assert.assertEquals(
+          Collections.singletonMap(CsvSourceConverter.CSV_OFFSET_KEY, 2),
+          records.get(1).sourceOffset());
+      Assert.assertTrue(converter.convert(reader()).isEmpty());
+    }
+  }
+
+  @Test
+  public void testWithSchema() {
+    List<Column> schema =
+        Arrays.asList(
+            Column.builder().name("b").newName("bb").dataType(DataType.LONG).order(2).build(),
+            Column.builder().name("a").dataType(DataType.INT).order(1).build(),
+            Column.builder().name("c").dataType(DataType.STRING).order(3).build());
+    try (JsonLinesSourceConverter converter = converter(schema, 10)) {
+      List<RowSourceRecord> records =
+          converter.convert(
+              reader(
+                  "{\"c\":[1],\"x\":{\"y\":1},\"b\":\"20\",\"a\":10}",
+                  "{\"a\":\"1\",\"b\":2,\"c\":3}"));
+      Assert.assertEquals(2, records.size());
+      Row row = records.get(0).row();
+      Assert.assertEquals(Arrays.asList("a", "bb", "c"), row.names());
+      Assert.assertEquals(10, row.cell("a").value());
+      Assert.assertEquals(20L, row.cell("bb").value());
+      Assert.assertEquals("[1]", row.cell("c").value());
+      row = records.get(1).row();
+      Assert.assertEquals(1, row.cell("a").value());
+      Assert.assertEquals(2L, row.cell("bb").value());
+      Assert.assertEquals("3", row.cell("c").value());
+    }
+  }
+
+  @Test
+  public void testMissedField() {
+    List<Column> schema =
+        Collections.singletonList(
+            Column.builder().name("a").dataType(DataType.STRING).order(1).build());
+    try (JsonLinesSourceConverter converter = converter(schema, 10)) {
+      assertException(
+          IllegalArgumentException.class, () -> converter.convert(reader("{\"b\":\"x\"}")));
+    }
+  }
+
+  @Test
+  public void testNonObjectLine() {
+    try (JsonLinesSourceConverter converter = converter(Collections.emptyList(), 10)) {
+      assertException(IllegalArgumentException.class, () -> converter.convert(reader("[1,2]")));
+    }
+  }
+
+  @Test
+  public void testBatchAndOffset() {
+    String[] lines = new String[5];
+    for (int i = 0; i != lines.length; ++i) lines[i] = "{\"a\":" + i + "}";
+    // the first two lines are processed
+    cache.update(PATH, 2);
+    try (JsonLinesSourceConverter converter = converter(Collections.emptyList(), 2)) {
+      Supplier<InputStreamReader> reader = reader(lines);
+      List<RowSourceRecord> records = converter.convert(reader);
+      Assert.assertEquals(2, records.size());
+      Assert.assertEquals(2, records.get(0).row().cell("a").value());
+      Assert.assertEquals(3, records.get(1).row().cell("a").value());
+      records = converter.convert(reader);
+      Assert.assertEquals(1, records.size());
+      Assert.assertEquals(4, records.get(0).row().cell("a").value());
+      Assert.assertTrue(converter.convert(reader).isEmpty());
+      Assert.assertFalse(cache.predicate(PATH, 5));
+    }
+  }
+}
@@ -22,6 +22,7 @@ object versions {
   val kafkaV = "2.2.1"
   val slf4jV = "1.7.25"
   val hadoopV = "2.7.0"
+  val parquetV = "1.10.1"
   val commonsNetV = "3.6"
   val commonsLangV = "3.7"
   val commonsIoV = "2.4"
@@ -40,6 +41,7 @@ object libs {
   // Hadoop
   lazy val hadoopCommon = "org.apache.hadoop" % "hadoop-common" % hadoopV
   lazy val hadoopHdfs = "org.apache.hadoop" % "hadoop-hdfs" % hadoopV
+  lazy val parquetHadoop = "org.apache.parquet" % "parquet-hadoop" % parquetV
 
   // Akka
   lazy val akkaActor = "com.typesafe.akka" %% "akka-actor" % akkaV